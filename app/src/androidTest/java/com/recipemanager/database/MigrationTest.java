@@ -0,0 +1,184 @@
+package com.recipemanager.database;
+
+import android.database.Cursor;
+
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Every schema upgrade keeps the user's favorites
+ * Each step is checked on its own, then 1 → 6 in one go; MigrationTestHelper
+ * compares the migrated tables with the exported schemas (app/schemas)
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationTest {
+
+    private static final String TEST_DB = "migration-test";
+
+    // Formatted ingredients as the app stored them before version 6
+    private static final String CARBONARA_INGREDIENTS =
+            "• 320g - Spaghetti\n• 1 - 2 tbs - Olive Oil\n• Black  Pepper\n•   \n• 4 - Egg Yolks";
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(), RecipeDatabase.class);
+
+    @Test
+    public void migrate1To2() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 1);
+        insertFavorite(db, "52982", "Spaghetti Carbonara", CARBONARA_INGREDIENTS);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 2, true, RecipeDatabase.MIGRATION_1_2);
+        assertFavoriteKept(db);
+        db.execSQL("INSERT INTO catalog_recipes (id, name, first_letter, content_hash, synced_at) "
+                + "VALUES ('1', 'Apple Pie', 'a', 7, 0)");
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM catalog_recipes WHERE first_letter = 'a'"));
+    }
+
+    @Test
+    public void migrate2To3() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 2);
+        insertFavorite(db, "52982", "Spaghetti Carbonara", CARBONARA_INGREDIENTS);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 3, true, RecipeDatabase.MIGRATION_2_3);
+        assertFavoriteKept(db);
+        db.execSQL("INSERT INTO taxonomy (type, name, position, version, fetched_at) "
+                + "VALUES ('category', 'Beef', 0, 1, 0)");
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM taxonomy"));
+    }
+
+    @Test
+    public void migrate3To4IndexesExistingFavorites() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 3);
+        insertFavorite(db, "52982", "Spaghetti Carbonara", CARBONARA_INGREDIENTS);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 4, true, RecipeDatabase.MIGRATION_3_4);
+        assertFavoriteKept(db);
+        // Saved before the index existed, found through it now
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM favorite_recipes_fts WHERE favorite_recipes_fts MATCH 'spag*'"));
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM favorite_recipes_fts WHERE favorite_recipes_fts MATCH 'yolks'"));
+
+        // The sync triggers keep it up to date
+        db.execSQL("UPDATE favorite_recipes SET name = 'Pasta alla Gricia' WHERE id = '52982'");
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM favorite_recipes_fts WHERE favorite_recipes_fts MATCH 'name:spaghetti'"));
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM favorite_recipes_fts WHERE favorite_recipes_fts MATCH 'name:gricia'"));
+    }
+
+    @Test
+    public void migrate4To5() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 4);
+        insertFavorite(db, "52982", "Spaghetti Carbonara", CARBONARA_INGREDIENTS);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 5, true, RecipeDatabase.MIGRATION_4_5);
+        assertFavoriteKept(db);
+        assertEquals(3, count(db, "SELECT COUNT(*) FROM sqlite_master "
+                + "WHERE type = 'index' AND tbl_name = 'favorite_recipes' AND name LIKE 'index_%'"));
+    }
+
+    @Test
+    public void migrate5To6BackfillsIngredients() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 5);
+        insertFavorite(db, "52982", "Spaghetti Carbonara", CARBONARA_INGREDIENTS);
+        insertFavorite(db, "52771", "Spicy Arrabiata Penne", "• 1 pound - penne rigate\n• 1/4 cup - Olive Oil");
+        insertFavorite(db, "52772", "Teriyaki Chicken", null);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 6, true, RecipeDatabase.MIGRATION_5_6);
+        assertFavoriteKept(db);
+        assertCarbonaraIngredients(db);
+
+        // Same name in two recipes: one dictionary entry
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM ingredients WHERE name = 'Olive Oil'"));
+        assertEquals(2, count(db, "SELECT COUNT(*) FROM recipe_ingredients ri "
+                + "JOIN ingredients i ON i.id = ri.ingredient_id WHERE i.name_key = 'olive oil'"));
+        // No ingredients text, no rows
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM recipe_ingredients WHERE recipe_id = '52772'"));
+    }
+
+    @Test
+    public void migrate1To6KeepsFavorites() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 1);
+        insertFavorite(db, "52982", "Spaghetti Carbonara", CARBONARA_INGREDIENTS);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 6, true, RecipeDatabase.ALL_MIGRATIONS);
+        assertFavoriteKept(db);
+        assertCarbonaraIngredients(db);
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM favorite_recipes_fts WHERE favorite_recipes_fts MATCH 'carbon*'"));
+
+        // Deleting the favorite takes its ingredient rows along
+        db.execSQL("PRAGMA foreign_keys = ON");
+        db.execSQL("DELETE FROM favorite_recipes WHERE id = '52982'");
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM recipe_ingredients"));
+    }
+
+    private static void insertFavorite(SupportSQLiteDatabase db, String id, String name, String ingredients) {
+        db.execSQL("INSERT INTO favorite_recipes (id, name, image_url, category, area, instructions, "
+                        + "ingredients, video_url, user_notes, rating, date_added) "
+                        + "VALUES (?, ?, ?, 'Pasta', 'Italian', 'Boil the pasta.', ?, NULL, 'Less salt', 4.5, 1700000000000)",
+                new Object[]{id, name, "https://www.themealdb.com/images/" + id + ".jpg", ingredients});
+    }
+
+    private static void assertFavoriteKept(SupportSQLiteDatabase db) {
+        try (Cursor cursor = db.query("SELECT name, ingredients, user_notes, rating, date_added "
+                + "FROM favorite_recipes WHERE id = '52982'")) {
+            assertTrue(cursor.moveToFirst());
+            assertEquals("Spaghetti Carbonara", cursor.getString(0));
+            assertEquals(CARBONARA_INGREDIENTS, cursor.getString(1));
+            assertEquals("Less salt", cursor.getString(2));
+            assertEquals(4.5f, cursor.getFloat(3), 0f);
+            assertEquals(1700000000000L, cursor.getLong(4));
+        }
+    }
+
+    /**
+     * "• measure - name" lines split on the last " - "; blank lines skipped
+     */
+    private static void assertCarbonaraIngredients(SupportSQLiteDatabase db) {
+        try (Cursor cursor = db.query("SELECT ri.position, i.name, i.name_key, ri.measure "
+                + "FROM recipe_ingredients ri JOIN ingredients i ON i.id = ri.ingredient_id "
+                + "WHERE ri.recipe_id = '52982' ORDER BY ri.position")) {
+            assertEquals(4, cursor.getCount());
+
+            assertRow(cursor, 0, "Spaghetti", "spaghetti", "320g");
+            assertRow(cursor, 1, "Olive Oil", "olive oil", "1 - 2 tbs");
+            assertRow(cursor, 2, "Black  Pepper", "black pepper", null);
+            assertRow(cursor, 3, "Egg Yolks", "egg yolks", "4");
+        }
+    }
+
+    private static void assertRow(Cursor cursor, int position, String name, String nameKey, String measure) {
+        assertTrue(cursor.moveToNext());
+        assertEquals(position, cursor.getInt(0));
+        assertEquals(name, cursor.getString(1));
+        assertEquals(nameKey, cursor.getString(2));
+        if (measure == null) {
+            assertNull(cursor.getString(3));
+        } else {
+            assertEquals(measure, cursor.getString(3));
+        }
+    }
+
+    private static int count(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            cursor.moveToFirst();
+            return cursor.getInt(0);
+        }
+    }
+}
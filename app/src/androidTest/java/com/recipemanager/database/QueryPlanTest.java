@@ -0,0 +1,134 @@
+package com.recipemanager.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * EXPLAIN QUERY PLAN on the device's SQLite for the list and lookup queries:
+ * each one must use its index, and the list queries must not sort in a temp B-tree
+ * The SQL is the DAOs' own (the constants their @Query annotations use);
+ * SQLite numbers :named parameters in order, so they bind by position here
+ */
+@RunWith(AndroidJUnit4.class)
+public class QueryPlanTest {
+
+    private RecipeDatabase database;
+    private SupportSQLiteDatabase db;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, RecipeDatabase.class).build();
+        db = database.getOpenHelper().getWritableDatabase();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void allFavoritesWalkTheDateIndex() {
+        List<String> plan = plan(RecipeDao.ALL_CARDS_QUERY);
+        assertUses(plan, "index_favorite_recipes_date_added");
+        assertNoSort(plan);
+    }
+
+    @Test
+    public void categoryListUsesCategoryDateIndex() {
+        List<String> plan = plan(RecipeDao.CATEGORY_CARDS_QUERY, "Beef");
+        assertUses(plan, "index_favorite_recipes_category_date_added");
+        assertNoSort(plan);
+    }
+
+    @Test
+    public void topRatedListUsesRatingDateIndex() {
+        List<String> plan = plan(RecipeDao.TOP_RATED_CARDS_QUERY, 4f);
+        assertUses(plan, "index_favorite_recipes_rating_date_added");
+        assertNoSort(plan);
+    }
+
+    @Test
+    public void ingredientListGoesThroughBothIndexes() {
+        List<String> plan = plan(RecipeDao.INGREDIENT_CARDS_QUERY, "butter");
+        assertUses(plan, "index_ingredients_name_key");
+        assertUses(plan, "index_recipe_ingredients_ingredient_id_recipe_id");
+        assertNoFullScan(plan);
+    }
+
+    @Test
+    public void ingredientLinesUseTheRecipeKey() {
+        List<String> plan = plan(IngredientDao.INGREDIENT_LINES_QUERY, "52772");
+        assertNoFullScan(plan);
+        assertNoSort(plan);
+    }
+
+    @Test
+    public void fullTextSearchUsesTheFtsIndex() {
+        List<String> plan = plan(RecipeDao.FULL_TEXT_QUERY, "chick*", 200);
+        assertUses(plan, "VIRTUAL TABLE INDEX");
+        assertNoFullScan(plan);
+    }
+
+    @Test
+    public void catalogLetterUsesFirstLetterIndex() {
+        List<String> plan = plan(CatalogDao.HASHES_BY_LETTER_QUERY, "a");
+        assertUses(plan, "index_catalog_recipes_first_letter");
+    }
+
+    /**
+     * "detail" column of each EXPLAIN QUERY PLAN row
+     */
+    private List<String> plan(String sql, Object... args) {
+        List<String> details = new ArrayList<>();
+        try (Cursor cursor = db.query("EXPLAIN QUERY PLAN " + sql, args)) {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                details.add(cursor.getString(detail));
+            }
+        }
+        return details;
+    }
+
+    private static void assertUses(List<String> plan, String index) {
+        for (String step : plan) {
+            if (step.contains(index)) {
+                return;
+            }
+        }
+        throw new AssertionError("expected " + index + " in " + plan);
+    }
+
+    private static void assertNoSort(List<String> plan) {
+        for (String step : plan) {
+            assertFalse("sorts: " + plan, step.contains("TEMP B-TREE FOR ORDER BY"));
+        }
+    }
+
+    /**
+     * No table read row by row (older SQLite says "SCAN TABLE x", newer "SCAN x")
+     */
+    private static void assertNoFullScan(List<String> plan) {
+        for (String step : plan) {
+            boolean scan = step.startsWith("SCAN") && !step.contains("INDEX") && !step.contains("CONSTANT ROW");
+            assertFalse("full scan: " + plan, scan);
+        }
+        assertTrue(plan.size() > 0);
+    }
+}
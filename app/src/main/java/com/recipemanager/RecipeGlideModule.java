@@ -0,0 +1,37 @@
+package com.recipemanager;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.integration.okhttp3.OkHttpUrlLoader;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.module.AppGlideModule;
+import com.recipemanager.api.RetrofitClient;
+
+import java.io.InputStream;
+
+/**
+ * Glide configuration
+ * Makes Glide download images with the app's shared OkHttpClient instead of
+ * its own HTTP stack, so images and API calls share connections to TheMealDB
+ */
+@GlideModule
+public class RecipeGlideModule extends AppGlideModule {
+
+    @Override
+    public void registerComponents(@NonNull Context context, @NonNull Glide glide,
+                                   @NonNull Registry registry) {
+        registry.replace(GlideUrl.class, InputStream.class,
+                new OkHttpUrlLoader.Factory(RetrofitClient.getHttpClient()));
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        // No old-style Glide modules in the manifest - skip the lookup
+        return false;
+    }
+}
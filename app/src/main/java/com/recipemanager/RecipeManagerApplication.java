@@ -0,0 +1,41 @@
+package com.recipemanager;
+
+import android.app.Application;
+
+import com.recipemanager.api.RetrofitClient;
+import com.recipemanager.database.RecipeDatabase;
+import com.recipemanager.repository.FavoriteIdSet;
+import com.recipemanager.repository.NotesWriteBuffer;
+
+/**
+ * Application class - runs once when the app process starts
+ * Sets up the shared network stack and database before any screen needs them
+ */
+public class RecipeManagerApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        // Enable the HTTP disk cache before the first API call
+        RetrofitClient.init(this);
+
+        // Resolve DNS + open the TLS connection now, so the first search is faster
+        RetrofitClient.prewarm();
+
+        // Open the database (and run pending migrations) off the main thread
+        RecipeDatabase.prewarm(this);
+
+        // Load the favorite IDs once, so result cards can show their star right away
+        FavoriteIdSet.getInstance(this);
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+
+        // The app went to the background or is low on memory: the process may be
+        // killed soon, write the buffered notes/rating edits now
+        NotesWriteBuffer.getInstance(this).flush();
+    }
+}
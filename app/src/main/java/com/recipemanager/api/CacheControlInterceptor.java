@@ -0,0 +1,64 @@
+package com.recipemanager.api;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that rewrites the Cache-Control header of API responses
+ * TheMealDB doesn't send useful caching headers, so we decide per endpoint
+ * how long a response can be reused from the disk cache
+ *
+ * - lookup.php / categories.php / list.php → long TTL (rarely change)
+ * - search.php / filter.php    → short TTL (lists can change more often)
+ * - random.php                 → never cached (must be different every time)
+ */
+public class CacheControlInterceptor implements Interceptor {
+
+    // Time-to-live values in seconds
+    static final int LONG_MAX_AGE = 24 * 60 * 60;   // 1 day
+    static final int SHORT_MAX_AGE = 5 * 60;        // 5 minutes
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+
+        // Only cache successful GET responses
+        if (!response.isSuccessful() || !"GET".equals(request.method())) {
+            return response;
+        }
+
+        int maxAge = maxAgeFor(request);
+        String cacheControl = maxAge > 0 ? "public, max-age=" + maxAge : "no-store";
+
+        // Replace whatever the server sent with our own policy
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", cacheControl)
+                .build();
+    }
+
+    /**
+     * Get the cache lifetime (in seconds) for a request based on its endpoint
+     * Returns 0 if the response should not be cached at all
+     */
+    static int maxAgeFor(Request request) {
+        switch (NetworkMetrics.endpointOf(request.url())) {
+            case "lookup.php":
+            case "categories.php":
+            case "list.php":
+                return LONG_MAX_AGE;
+            case "search.php":
+            case "filter.php":
+                return SHORT_MAX_AGE;
+            default:
+                return 0;
+        }
+    }
+}
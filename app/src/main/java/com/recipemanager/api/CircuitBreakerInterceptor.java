@@ -0,0 +1,171 @@
+package com.recipemanager.api;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Application interceptor with one circuit breaker per endpoint
+ * After breakerFailureThreshold failures in a row (I/O errors or 5xx), the
+ * endpoint's circuit "opens": requests fail immediately with
+ * CircuitOpenException instead of waiting for timeouts.
+ * OfflineCacheInterceptor (added before this one) turns that exception into
+ * a stale cached response when there is one.
+ *
+ * After breakerOpenMs one test request is let through (half-open):
+ * success closes the circuit, failure opens it again
+ */
+public class CircuitBreakerInterceptor implements Interceptor {
+
+    private static final String TAG = "CircuitBreaker";
+
+    /**
+     * State of one endpoint's circuit
+     */
+    public enum State {
+        CLOSED,     // Healthy - requests go through
+        OPEN,       // Unhealthy - requests are refused
+        HALF_OPEN   // Testing - one request is allowed through
+    }
+
+    /**
+     * Thrown instead of calling an endpoint whose circuit is open
+     */
+    public static class CircuitOpenException extends IOException {
+        CircuitOpenException(String endpoint) {
+            super("Circuit open for " + endpoint);
+        }
+    }
+
+    private final ResilienceConfig config;
+
+    // Circuit per endpoint (guarded by "this")
+    private final Map<String, Circuit> circuits = new HashMap<>();
+
+    public CircuitBreakerInterceptor(ResilienceConfig config) {
+        this.config = config;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+
+        // Cache-only requests never touch the network - always allowed
+        if (request.cacheControl().onlyIfCached()) {
+            return chain.proceed(request);
+        }
+
+        String endpoint = NetworkMetrics.endpointOf(request.url());
+        if (!tryAcquire(endpoint)) {
+            NetworkMetrics.getInstance().getEndpoint(endpoint).recordCircuitRejection();
+            throw new CircuitOpenException(endpoint);
+        }
+
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            // Cancelled by the app - says nothing about the endpoint's health
+            if (chain.call().isCanceled()) {
+                release(endpoint);
+            } else {
+                onResult(endpoint, false);
+            }
+            throw e;
+        }
+
+        onResult(endpoint, response.code() < 500);
+        return response;
+    }
+
+    /**
+     * Current state of an endpoint's circuit (e.g. "lookup.php")
+     */
+    public synchronized State getState(String endpoint) {
+        Circuit circuit = circuits.get(endpoint);
+        return circuit != null ? circuit.currentState(config.breakerOpenMs) : State.CLOSED;
+    }
+
+    /**
+     * Check if a request may go to the network now
+     */
+    private synchronized boolean tryAcquire(String endpoint) {
+        Circuit circuit = circuit(endpoint);
+        switch (circuit.currentState(config.breakerOpenMs)) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                // Only one test request at a time
+                if (circuit.probeInFlight) {
+                    return false;
+                }
+                circuit.probeInFlight = true;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Give back a test request slot without judging the endpoint
+     */
+    private synchronized void release(String endpoint) {
+        circuit(endpoint).probeInFlight = false;
+    }
+
+    private synchronized void onResult(String endpoint, boolean success) {
+        Circuit circuit = circuit(endpoint);
+        circuit.probeInFlight = false;
+
+        if (success) {
+            if (circuit.openedAt != 0) {
+                Log.d(TAG, endpoint + " recovered - circuit closed");
+            }
+            circuit.consecutiveFailures = 0;
+            circuit.openedAt = 0;
+            return;
+        }
+
+        circuit.consecutiveFailures++;
+        boolean wasTesting = circuit.currentState(config.breakerOpenMs) == State.HALF_OPEN;
+        if (wasTesting || circuit.consecutiveFailures >= config.breakerFailureThreshold) {
+            circuit.openedAt = SystemClock.uptimeMillis();
+            Log.d(TAG, endpoint + " unhealthy - circuit open for " + config.breakerOpenMs + " ms");
+        }
+    }
+
+    private Circuit circuit(String endpoint) {
+        Circuit circuit = circuits.get(endpoint);
+        if (circuit == null) {
+            circuit = new Circuit();
+            circuits.put(endpoint, circuit);
+        }
+        return circuit;
+    }
+
+    /**
+     * Failure count and open time of one endpoint
+     */
+    private static class Circuit {
+        int consecutiveFailures = 0;
+        long openedAt = 0;          // 0 = closed
+        boolean probeInFlight = false;
+
+        State currentState(long openMs) {
+            if (openedAt == 0) {
+                return State.CLOSED;
+            }
+            return SystemClock.uptimeMillis() - openedAt >= openMs ? State.HALF_OPEN : State.OPEN;
+        }
+    }
+}
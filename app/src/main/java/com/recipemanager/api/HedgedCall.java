@@ -0,0 +1,206 @@
+package com.recipemanager.api;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Retrofit Call that sends a backup ("hedged") request if the first one is slow
+ * If no answer arrived after hedgeDelayMs, the same request is sent again;
+ * whichever answers first wins and the other is cancelled.
+ * Cuts the slow tail of lookup.php without doubling the traffic
+ * (most requests finish before the delay)
+ *
+ * Only enqueue() hedges - execute() just runs the first request
+ * The hedge is only sent if the endpoint's HedgeBudget has one left at that moment
+ */
+public class HedgedCall<T> implements Call<T> {
+
+    /**
+     * Creates a fresh Retrofit call for each attempt
+     */
+    public interface CallFactory<T> {
+        Call<T> create();
+    }
+
+    // Hedge timers run on the main thread, like Retrofit's callbacks
+    private static final Handler handler = new Handler(Looper.getMainLooper());
+
+    private final CallFactory<T> factory;
+    private final long hedgeDelayMs;
+    private final NetworkMetrics.EndpointStats stats;
+    private final HedgingPolicy.HedgeBudget budget;
+
+    private final Call<T> primary;
+    private Call<T> hedge;
+    private Runnable pendingHedge;
+
+    private boolean executed = false;
+    private boolean canceled = false;
+    private boolean finished = false;
+    private int failedAttempts = 0;
+
+    HedgedCall(CallFactory<T> factory, long hedgeDelayMs, NetworkMetrics.EndpointStats stats,
+               HedgingPolicy.HedgeBudget budget) {
+        this.factory = factory;
+        this.hedgeDelayMs = hedgeDelayMs;
+        this.stats = stats;
+        this.budget = budget;
+        this.primary = factory.create();
+        budget.recordRequest();
+    }
+
+    @Override
+    public synchronized void enqueue(@NonNull Callback<T> callback) {
+        if (executed) {
+            throw new IllegalStateException("Already executed.");
+        }
+        executed = true;
+
+        primary.enqueue(new AttemptCallback(callback, false));
+
+        pendingHedge = () -> startHedge(callback);
+        handler.postDelayed(pendingHedge, hedgeDelayMs);
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        synchronized (this) {
+            if (executed) {
+                throw new IllegalStateException("Already executed.");
+            }
+            executed = true;
+        }
+        return primary.execute();
+    }
+
+    @Override
+    public synchronized boolean isExecuted() {
+        return executed;
+    }
+
+    @Override
+    public synchronized void cancel() {
+        canceled = true;
+        cancelPendingHedge();
+        primary.cancel();
+        if (hedge != null) {
+            hedge.cancel();
+        }
+    }
+
+    @Override
+    public synchronized boolean isCanceled() {
+        return canceled;
+    }
+
+    @NonNull
+    @Override
+    public Call<T> clone() {
+        return new HedgedCall<>(factory, hedgeDelayMs, stats, budget);
+    }
+
+    @NonNull
+    @Override
+    public Request request() {
+        return primary.request();
+    }
+
+    @NonNull
+    @Override
+    public Timeout timeout() {
+        return primary.timeout();
+    }
+
+    /**
+     * First request is slow - send the same request again, if the budget allows
+     */
+    private synchronized void startHedge(Callback<T> callback) {
+        pendingHedge = null;
+        if (finished || canceled || !budget.trySpend()) {
+            return;
+        }
+        hedge = factory.create();
+        stats.recordHedgeSent();
+        hedge.enqueue(new AttemptCallback(callback, true));
+    }
+
+    private void cancelPendingHedge() {
+        if (pendingHedge != null) {
+            handler.removeCallbacks(pendingHedge);
+            pendingHedge = null;
+        }
+    }
+
+    /**
+     * Count a failed attempt - true if no other attempt is still running
+     */
+    private synchronized boolean lastAttemptFailed() {
+        failedAttempts++;
+        int started = hedge != null ? 2 : 1;
+        return canceled || failedAttempts >= started;
+    }
+
+    /**
+     * Mark the call as finished by one attempt
+     * Returns false if the other attempt already finished it
+     */
+    private synchronized boolean finish(boolean fromHedge) {
+        if (finished) {
+            return false;
+        }
+        finished = true;
+        cancelPendingHedge();
+
+        // Cancel the loser
+        Call<T> other = fromHedge ? primary : hedge;
+        if (other != null) {
+            other.cancel();
+        }
+        if (fromHedge) {
+            stats.recordHedgeWon();
+        }
+        return true;
+    }
+
+    /**
+     * Forwards the first answer (from either attempt) to the caller
+     */
+    private class AttemptCallback implements Callback<T> {
+
+        private final Callback<T> callback;
+        private final boolean fromHedge;
+
+        AttemptCallback(Callback<T> callback, boolean fromHedge) {
+            this.callback = callback;
+            this.fromHedge = fromHedge;
+        }
+
+        @Override
+        public void onResponse(@NonNull Call<T> call, @NonNull Response<T> response) {
+            if (finish(fromHedge)) {
+                callback.onResponse(HedgedCall.this, response);
+            }
+        }
+
+        @Override
+        public void onFailure(@NonNull Call<T> call, @NonNull Throwable t) {
+            // The other attempt may still succeed - wait for it
+            if (!lastAttemptFailed()) {
+                return;
+            }
+            if (finish(fromHedge)) {
+                callback.onFailure(HedgedCall.this, t);
+            }
+        }
+    }
+}
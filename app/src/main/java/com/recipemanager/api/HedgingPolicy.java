@@ -0,0 +1,95 @@
+package com.recipemanager.api;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import retrofit2.Call;
+
+/**
+ * Decides when a request gets a backup (hedged) request - see HedgedCall
+ * - The delay is the endpoint's observed p95 network latency, so only the
+ *   slowest ~5% of requests are hedged (disk cache hits are not counted -
+ *   lookup.php is cached for a day and would pull the p95 down)
+ * - Nothing is hedged until minHedgeSamples network latencies were recorded
+ * - At most hedgeBudgetRatio backup requests per request made, per endpoint
+ *   (the budget is spent when a hedge is actually sent, see HedgeBudget)
+ */
+public class HedgingPolicy {
+
+    private final ResilienceConfig config;
+
+    // Hedge budget of each endpoint
+    private final Map<String, HedgeBudget> budgets = new HashMap<>();
+
+    public HedgingPolicy(ResilienceConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Create a call for an endpoint, hedged if the policy allows it
+     * Whether the hedge is actually sent is decided when the delay runs out
+     */
+    public <T> Call<T> newCall(String endpoint, HedgedCall.CallFactory<T> factory) {
+        NetworkMetrics.EndpointStats stats = NetworkMetrics.getInstance().getEndpoint(endpoint);
+        long delayMs = hedgeDelayMs(stats);
+        if (delayMs <= 0) {
+            return factory.create();
+        }
+        return new HedgedCall<>(factory, delayMs, stats, budgetFor(endpoint));
+    }
+
+    /**
+     * How long to wait before hedging, or 0 if we can't hedge yet
+     */
+    long hedgeDelayMs(NetworkMetrics.EndpointStats stats) {
+        Histogram network = stats.getNetwork();
+        if (!config.hedgingEnabled || network.getCount() < config.minHedgeSamples) {
+            return 0;
+        }
+        return Math.max(config.minHedgeDelayMs, network.getPercentile(0.95));
+    }
+
+    synchronized HedgeBudget budgetFor(String endpoint) {
+        HedgeBudget budget = budgets.get(endpoint);
+        if (budget == null) {
+            budget = new HedgeBudget(config.hedgeBudgetRatio);
+            budgets.put(endpoint, budget);
+        }
+        return budget;
+    }
+
+    /**
+     * Hedge budget of one endpoint: each hedgeable request made adds
+     * `ratio` of a hedge, each hedge sent spends one
+     * A burst of slow requests can't all hedge - only the ones that find
+     * budget left when their delay runs out
+     */
+    static class HedgeBudget {
+
+        private final double ratio;
+        private long requests = 0;
+        private long hedgesSent = 0;
+
+        HedgeBudget(double ratio) {
+            this.ratio = ratio;
+        }
+
+        /**
+         * A hedgeable request was made (HedgedCall created)
+         */
+        synchronized void recordRequest() {
+            requests++;
+        }
+
+        /**
+         * Take one hedge from the budget - false if it's used up
+         */
+        synchronized boolean trySpend() {
+            if (hedgesSent >= ratio * requests) {
+                return false;
+            }
+            hedgesSent++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.recipemanager.api;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram with fixed bucket bounds
+ * Recording a value is lock-free (one atomic increment per counter),
+ * so it's cheap enough to run on every HTTP call
+ *
+ * Percentiles are approximate: they return the upper bound of the bucket
+ * the percentile falls in
+ */
+public class Histogram {
+
+    // Bucket bounds for durations in milliseconds
+    static final long[] LATENCY_BOUNDS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    // Bucket bounds for body sizes in bytes
+    static final long[] SIZE_BOUNDS_BYTES = {256, 1024, 4096, 16384, 65536, 262144, 1048576};
+
+    // Upper bound (inclusive) of each bucket - the last bucket is "above the last bound"
+    private final long[] bounds;
+    private final AtomicLongArray buckets;
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public Histogram(long[] bounds) {
+        this.bounds = bounds;
+        this.buckets = new AtomicLongArray(bounds.length + 1);
+    }
+
+    /**
+     * Add one value to the histogram (negative values are ignored)
+     */
+    public void record(long value) {
+        if (value < 0) {
+            return;
+        }
+
+        int bucket = 0;
+        while (bucket < bounds.length && value > bounds[bucket]) {
+            bucket++;
+        }
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        sum.addAndGet(value);
+
+        long currentMax;
+        do {
+            currentMax = max.get();
+        } while (value > currentMax && !max.compareAndSet(currentMax, value));
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = count.get();
+        return n > 0 ? (double) sum.get() / n : 0;
+    }
+
+    /**
+     * Approximate percentile (e.g. 0.95 for p95), or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+
+        long target = (long) Math.ceil(percentile * n);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= target) {
+                // Values above the last bound: the max is the best estimate we have
+                return i < bounds.length ? Math.min(bounds[i], max.get()) : max.get();
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * One-line summary, e.g. "n=12 mean=84.0 p50=100 p95=250 max=231"
+     */
+    public String summary() {
+        return String.format(Locale.ROOT, "n=%d mean=%.1f p50=%d p95=%d max=%d",
+                getCount(), getMean(), getPercentile(0.50), getPercentile(0.95), getMax());
+    }
+
+    /**
+     * Forget every recorded value
+     */
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+}
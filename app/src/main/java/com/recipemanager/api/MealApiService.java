@@ -1,9 +1,12 @@
 package com.recipemanager.api;
 
+import com.recipemanager.model.CategoryResponse;
 import com.recipemanager.model.MealResponse;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 /**
  * Retrofit interface defining all API endpoints from TheMealDB
@@ -20,6 +23,14 @@ public interface MealApiService {
     @GET("search.php")
     Call<MealResponse> searchRecipes(@Query("s") String searchQuery);
 
+    /**
+     * List all recipes whose name starts with a letter
+     * Example: searchByFirstLetter("a") → .../search.php?f=a
+     * Used by the catalog sync to download the whole catalog letter by letter
+     */
+    @GET("search.php")
+    Call<MealResponse> searchByFirstLetter(@Query("f") String letter);
+
     /**
      * Filter recipes by category
      * Example: filterByCategory("Seafood") → .../filter.php?c=Seafood
@@ -28,6 +39,31 @@ public interface MealApiService {
     @GET("filter.php")
     Call<MealResponse> filterByCategory(@Query("c") String category);
 
+    /**
+     * Filter recipes by area (cuisine)
+     * Example: filterByArea("Italian") → .../filter.php?a=Italian
+     * Returns id, name and image only
+     */
+    @GET("filter.php")
+    Call<MealResponse> filterByArea(@Query("a") String area);
+
+    /**
+     * Filter recipes by main ingredient (one ingredient per call)
+     * Example: filterByIngredient("chicken_breast") → .../filter.php?i=chicken_breast
+     * Returns id, name and image only
+     */
+    @GET("filter.php")
+    Call<MealResponse> filterByIngredient(@Query("i") String ingredient);
+
+    /**
+     * Same as filterByCategory, but returns the raw (unbuffered) response body
+     * Used with MealStreamParser to show the first recipes before the whole list is downloaded
+     * Must be executed off the main thread (the body is read while it downloads)
+     */
+    @Streaming
+    @GET("filter.php")
+    Call<ResponseBody> filterByCategoryStream(@Query("c") String category);
+
     /**
      * Get full recipe details by ID
      * Example: getRecipeById("52772") → .../lookup.php?i=52772
@@ -50,5 +86,13 @@ public interface MealApiService {
      * Used to populate category filter chips
      */
     @GET("categories.php")
-    Call<MealResponse> getCategories();
+    Call<CategoryResponse> getCategories();
+
+    /**
+     * List all areas (cuisines)
+     * Endpoint: .../list.php?a=list → { "meals": [ { "strArea": "American" }, ... ] }
+     * Each "meal" only has its area set
+     */
+    @GET("list.php?a=list")
+    Call<MealResponse> listAreas();
 }
@@ -0,0 +1,96 @@
+package com.recipemanager.api;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.recipemanager.model.Recipe;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.ResponseBody;
+
+/**
+ * Parses a { "meals": [ ... ] } response one recipe at a time while it downloads
+ * Instead of waiting for the whole list, the listener gets the recipes parsed
+ * so far in growing chunks (6, then 12, 24, 48, 48...)
+ * → the first cards show up quickly no matter how big the category is
+ */
+public class MealStreamParser {
+
+    // First chunk is small so the screen fills quickly, later chunks are bigger
+    private static final int FIRST_CHUNK_SIZE = 6;
+    private static final int MAX_CHUNK_SIZE = 48;
+
+    // Adapter that turns one JSON object into a Recipe
+    private final TypeAdapter<Recipe> recipeAdapter;
+
+    /**
+     * Called each time a new chunk of recipes has been parsed
+     */
+    public interface ChunkListener {
+        /**
+         * @param recipesSoFar snapshot of every recipe parsed so far (safe to keep)
+         */
+        void onChunk(List<Recipe> recipesSoFar);
+    }
+
+    public MealStreamParser(Gson gson) {
+        this.recipeAdapter = gson.getAdapter(Recipe.class);
+    }
+
+    /**
+     * Read the whole response, reporting progress to the listener
+     * Runs on the calling thread (must not be the main thread)
+     *
+     * @return every recipe in the response, or null if the API returned no meals
+     */
+    public List<Recipe> parse(ResponseBody body, ChunkListener listener) throws IOException {
+        List<Recipe> meals = null;
+
+        try (JsonReader reader = new JsonReader(body.charStream())) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("meals".equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    meals = readMeals(reader, listener);
+                } else {
+                    // "meals": null or any field we don't know about
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+
+        return meals != null && !meals.isEmpty() ? meals : null;
+    }
+
+    /**
+     * Read the "meals" array element by element
+     */
+    private List<Recipe> readMeals(JsonReader reader, ChunkListener listener) throws IOException {
+        List<Recipe> meals = new ArrayList<>();
+        int chunkSize = FIRST_CHUNK_SIZE;
+        int nextPublishAt = FIRST_CHUNK_SIZE;
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            Recipe recipe = recipeAdapter.read(reader);
+            if (recipe != null) {
+                meals.add(recipe);
+            }
+
+            // Publish a snapshot once this chunk is complete
+            if (meals.size() >= nextPublishAt) {
+                listener.onChunk(new ArrayList<>(meals));
+                chunkSize = Math.min(chunkSize * 2, MAX_CHUNK_SIZE);
+                nextPublishAt += chunkSize;
+            }
+        }
+        reader.endArray();
+
+        return meals;
+    }
+}
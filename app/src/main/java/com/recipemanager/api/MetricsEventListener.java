@@ -0,0 +1,104 @@
+package com.recipemanager.api;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+
+/**
+ * OkHttp EventListener that times the phases of each HTTP call
+ * (DNS, connect, TLS, time-to-first-byte) and the body size,
+ * and records them in NetworkMetrics
+ *
+ * One listener is created per call (see FACTORY), so the start times
+ * below never mix between calls
+ * Phases that didn't happen (e.g. DNS + connect on a reused connection)
+ * are simply not recorded
+ */
+public class MetricsEventListener extends EventListener {
+
+    // Creates a new listener for every call
+    public static final EventListener.Factory FACTORY = call -> new MetricsEventListener(
+            NetworkMetrics.getInstance().getEndpoint(NetworkMetrics.endpointOf(call.request().url())));
+
+    private final NetworkMetrics.EndpointStats stats;
+
+    // Start time of each phase (uptime millis)
+    private long dnsStart;
+    private long connectStart;
+    private long tlsStart;
+    private long requestStart;
+
+    MetricsEventListener(NetworkMetrics.EndpointStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+        dnsStart = now();
+    }
+
+    @Override
+    public void dnsEnd(@NonNull Call call, @NonNull String domainName,
+                       @NonNull List<InetAddress> inetAddressList) {
+        stats.getDns().record(now() - dnsStart);
+    }
+
+    @Override
+    public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                             @NonNull Proxy proxy) {
+        connectStart = now();
+    }
+
+    @Override
+    public void secureConnectStart(@NonNull Call call) {
+        tlsStart = now();
+    }
+
+    @Override
+    public void secureConnectEnd(@NonNull Call call, @Nullable Handshake handshake) {
+        stats.getTls().record(now() - tlsStart);
+    }
+
+    @Override
+    public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                           @NonNull Proxy proxy, @Nullable Protocol protocol) {
+        // Includes the TLS handshake
+        stats.getConnect().record(now() - connectStart);
+    }
+
+    @Override
+    public void requestHeadersStart(@NonNull Call call) {
+        requestStart = now();
+    }
+
+    @Override
+    public void responseHeadersStart(@NonNull Call call) {
+        stats.getTimeToFirstByte().record(now() - requestStart);
+    }
+
+    @Override
+    public void responseBodyEnd(@NonNull Call call, long byteCount) {
+        stats.getBodyBytes().record(byteCount);
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+        stats.recordIoFailure();
+    }
+
+    private static long now() {
+        return SystemClock.uptimeMillis();
+    }
+}
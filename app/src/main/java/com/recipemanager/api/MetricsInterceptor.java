@@ -0,0 +1,54 @@
+package com.recipemanager.api;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Application interceptor that records, per endpoint, how long each API call
+ * took as seen by the app, where the response came from (disk cache,
+ * revalidated cache, network) and HTTP error codes
+ * Added first, so the time includes the cache and offline fallback
+ *
+ * Replaces BODY logging in release builds: nothing is buffered or printed,
+ * the figures go to NetworkMetrics
+ */
+public class MetricsInterceptor implements Interceptor {
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        NetworkMetrics.EndpointStats stats =
+                NetworkMetrics.getInstance().getEndpoint(NetworkMetrics.endpointOf(request.url()));
+
+        long start = SystemClock.uptimeMillis();
+        Response response = chain.proceed(request);  // I/O failures are counted by MetricsEventListener
+        long elapsed = SystemClock.uptimeMillis() - start;
+        stats.getTotal().record(elapsed);
+        if (response.networkResponse() != null) {
+            stats.getNetwork().record(elapsed);
+        }
+
+        // Neither set = offline with nothing cached (504, counted as an HTTP error below)
+        if (response.networkResponse() != null && response.cacheResponse() != null) {
+            stats.recordConditionalHit();
+        } else if (response.networkResponse() != null) {
+            stats.recordNetworkResponse();
+        } else if (response.cacheResponse() != null) {
+            stats.recordCacheHit();
+        }
+
+        if (!response.isSuccessful()) {
+            stats.recordHttpError();
+        }
+
+        return response;
+    }
+}
@@ -0,0 +1,288 @@
+package com.recipemanager.api;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.HttpUrl;
+
+/**
+ * In-process registry of network timings, grouped by endpoint (search.php, lookup.php...)
+ * Filled by MetricsEventListener (connection phases) and MetricsInterceptor
+ * (total latency, cache status, HTTP errors)
+ *
+ * Query it with getEndpoint() / getEndpointNames(), or dump() everything to Logcat
+ */
+public class NetworkMetrics {
+
+    private static final String TAG = "NetworkMetrics";
+
+    // Singleton instance
+    private static NetworkMetrics instance;
+
+    // Stats per endpoint (created on first use)
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Get the shared registry
+     */
+    public static synchronized NetworkMetrics getInstance() {
+        if (instance == null) {
+            instance = new NetworkMetrics();
+        }
+        return instance;
+    }
+
+    /**
+     * Get (or create) the stats for an endpoint
+     */
+    public EndpointStats getEndpoint(String endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        if (stats == null) {
+            EndpointStats created = new EndpointStats(endpoint);
+            stats = endpoints.putIfAbsent(endpoint, created);
+            if (stats == null) {
+                stats = created;
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Names of all endpoints that have recorded something, sorted
+     */
+    public List<String> getEndpointNames() {
+        List<String> names = new ArrayList<>(endpoints.keySet());
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * Human-readable report of every endpoint
+     */
+    public String dump() {
+        StringBuilder report = new StringBuilder("Network metrics\n");
+        for (String name : getEndpointNames()) {
+            report.append(endpoints.get(name).summary());
+        }
+        return report.toString();
+    }
+
+    /**
+     * Write the report to Logcat
+     */
+    public void logDump() {
+        Log.d(TAG, dump());
+    }
+
+    /**
+     * Forget everything recorded so far
+     */
+    public void reset() {
+        endpoints.clear();
+    }
+
+    /**
+     * Endpoint name of a URL = last path segment ("lookup.php")
+     */
+    public static String endpointOf(HttpUrl url) {
+        List<String> segments = url.pathSegments();
+        return segments.isEmpty() ? "" : segments.get(segments.size() - 1);
+    }
+
+    /**
+     * All figures recorded for one endpoint
+     * Durations are in milliseconds, sizes in bytes
+     */
+    public static class EndpointStats {
+
+        private final String endpoint;
+
+        // Connection phases (only recorded when the phase actually happened)
+        private final Histogram dns = new Histogram(Histogram.LATENCY_BOUNDS_MS);
+        private final Histogram connect = new Histogram(Histogram.LATENCY_BOUNDS_MS);
+        private final Histogram tls = new Histogram(Histogram.LATENCY_BOUNDS_MS);
+
+        // Request sent → first response byte
+        private final Histogram timeToFirstByte = new Histogram(Histogram.LATENCY_BOUNDS_MS);
+
+        // Whole call, as seen by the app
+        private final Histogram total = new Histogram(Histogram.LATENCY_BOUNDS_MS);
+
+        // Whole call, only when it reached the server (no disk cache hits)
+        private final Histogram network = new Histogram(Histogram.LATENCY_BOUNDS_MS);
+
+        private final Histogram bodyBytes = new Histogram(Histogram.SIZE_BOUNDS_BYTES);
+
+        // Where responses came from
+        private final AtomicLong cacheHits = new AtomicLong();
+        private final AtomicLong conditionalHits = new AtomicLong();
+        private final AtomicLong networkResponses = new AtomicLong();
+
+        // I/O failures (timeouts, no connection...) and HTTP error codes
+        private final AtomicLong ioFailures = new AtomicLong();
+        private final AtomicLong httpErrors = new AtomicLong();
+
+        // Resilience layer (retries, circuit breaker, hedged requests)
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong circuitRejections = new AtomicLong();
+        private final AtomicLong hedgesSent = new AtomicLong();
+        private final AtomicLong hedgesWon = new AtomicLong();
+
+        EndpointStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public Histogram getDns() {
+            return dns;
+        }
+
+        public Histogram getConnect() {
+            return connect;
+        }
+
+        public Histogram getTls() {
+            return tls;
+        }
+
+        public Histogram getTimeToFirstByte() {
+            return timeToFirstByte;
+        }
+
+        public Histogram getTotal() {
+            return total;
+        }
+
+        /**
+         * Latency of calls that went to the server (fresh or revalidated)
+         * Cache hits answer in a few ms and would drag the percentiles down
+         */
+        public Histogram getNetwork() {
+            return network;
+        }
+
+        public Histogram getBodyBytes() {
+            return bodyBytes;
+        }
+
+        /**
+         * Responses served from the disk cache without touching the network
+         */
+        public long getCacheHits() {
+            return cacheHits.get();
+        }
+
+        /**
+         * Cached responses revalidated with the server (304)
+         */
+        public long getConditionalHits() {
+            return conditionalHits.get();
+        }
+
+        /**
+         * Responses downloaded from the server
+         */
+        public long getNetworkResponses() {
+            return networkResponses.get();
+        }
+
+        public long getIoFailures() {
+            return ioFailures.get();
+        }
+
+        public long getHttpErrors() {
+            return httpErrors.get();
+        }
+
+        /**
+         * Extra attempts made after a failed one
+         */
+        public long getRetries() {
+            return retries.get();
+        }
+
+        /**
+         * Requests refused without trying the network because the circuit was open
+         */
+        public long getCircuitRejections() {
+            return circuitRejections.get();
+        }
+
+        /**
+         * Backup requests sent because the first one was slow
+         */
+        public long getHedgesSent() {
+            return hedgesSent.get();
+        }
+
+        /**
+         * Backup requests that answered before the original
+         */
+        public long getHedgesWon() {
+            return hedgesWon.get();
+        }
+
+        void recordCacheHit() {
+            cacheHits.incrementAndGet();
+        }
+
+        void recordConditionalHit() {
+            conditionalHits.incrementAndGet();
+        }
+
+        void recordNetworkResponse() {
+            networkResponses.incrementAndGet();
+        }
+
+        void recordIoFailure() {
+            ioFailures.incrementAndGet();
+        }
+
+        void recordHttpError() {
+            httpErrors.incrementAndGet();
+        }
+
+        void recordRetry() {
+            retries.incrementAndGet();
+        }
+
+        void recordCircuitRejection() {
+            circuitRejections.incrementAndGet();
+        }
+
+        void recordHedgeSent() {
+            hedgesSent.incrementAndGet();
+        }
+
+        void recordHedgeWon() {
+            hedgesWon.incrementAndGet();
+        }
+
+        String summary() {
+            return endpoint + "\n"
+                    + "  total " + total.summary() + "\n"
+                    + "  net   " + network.summary() + "\n"
+                    + "  dns   " + dns.summary() + "\n"
+                    + "  conn  " + connect.summary() + "\n"
+                    + "  tls   " + tls.summary() + "\n"
+                    + "  ttfb  " + timeToFirstByte.summary() + "\n"
+                    + "  bytes " + bodyBytes.summary() + "\n"
+                    + "  cache hit=" + cacheHits.get()
+                    + " conditional=" + conditionalHits.get()
+                    + " network=" + networkResponses.get() + "\n"
+                    + "  failures io=" + ioFailures.get() + " http=" + httpErrors.get() + "\n"
+                    + "  resilience retries=" + retries.get()
+                    + " rejected=" + circuitRejections.get()
+                    + " hedges=" + hedgesSent.get() + " won=" + hedgesWon.get() + "\n";
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.recipemanager.api;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.recipemanager.utils.NetworkUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Application interceptor that serves stale cached responses when offline
+ * - No connection → go straight to the disk cache (even if the entry expired)
+ * - Network error → fall back to the disk cache instead of failing
+ * If nothing is cached, OkHttp returns a 504 and the normal error path runs
+ */
+public class OfflineCacheInterceptor implements Interceptor {
+
+    // How old a cached response can be and still be shown offline
+    private static final int MAX_STALE_DAYS = 7;
+
+    // Forces OkHttp to answer from the cache only, accepting stale entries
+    private static final CacheControl OFFLINE_CACHE_CONTROL = new CacheControl.Builder()
+            .onlyIfCached()
+            .maxStale(MAX_STALE_DAYS, TimeUnit.DAYS)
+            .build();
+
+    // App context used to check the network state
+    private final Context context;
+
+    public OfflineCacheInterceptor(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+
+        // Offline: don't even try the network (saves waiting for the timeout)
+        if (!NetworkUtils.isNetworkAvailable(context)) {
+            return chain.proceed(offlineRequest(request));
+        }
+
+        try {
+            return chain.proceed(request);
+        } catch (IOException e) {
+            // Flaky network: try to answer from the cache before giving up
+            Response cached = chain.proceed(offlineRequest(request));
+            if (cached.isSuccessful()) {
+                return cached;
+            }
+            cached.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Copy of the request that only accepts (possibly stale) cached responses
+     */
+    private static Request offlineRequest(Request request) {
+        return request.newBuilder()
+                .cacheControl(OFFLINE_CACHE_CONTROL)
+                .build();
+    }
+}
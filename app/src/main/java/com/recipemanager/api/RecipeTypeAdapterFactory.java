@@ -0,0 +1,220 @@
+package com.recipemanager.api;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.recipemanager.model.MealResponse;
+import com.recipemanager.model.Recipe;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written Gson adapters for Recipe and MealResponse
+ * By default Gson uses reflection: it inspects every field the first time
+ * (slow cold start) and sets each field reflectively on every parse
+ * These adapters read the JSON keys directly into the model instead
+ *
+ * strIngredient1..20 / strMeasure1..20 go straight into Recipe's arrays
+ * Unknown keys (strTags, strSource, dateModified...) are skipped
+ */
+public class RecipeTypeAdapterFactory implements TypeAdapterFactory {
+
+    // JSON key prefixes for the numbered ingredient fields
+    private static final String INGREDIENT_PREFIX = "strIngredient";
+    private static final String MEASURE_PREFIX = "strMeasure";
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (rawType == Recipe.class) {
+            return (TypeAdapter<T>) new RecipeAdapter().nullSafe();
+        }
+        if (rawType == MealResponse.class) {
+            return (TypeAdapter<T>) new MealResponseAdapter(gson.getAdapter(Recipe.class)).nullSafe();
+        }
+        return null;
+    }
+
+    /**
+     * Reads/writes a single recipe object
+     */
+    private static class RecipeAdapter extends TypeAdapter<Recipe> {
+
+        @Override
+        public Recipe read(JsonReader in) throws IOException {
+            Recipe recipe = new Recipe();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "idMeal":
+                        recipe.setId(readString(in));
+                        break;
+                    case "strMeal":
+                        recipe.setName(readString(in));
+                        break;
+                    case "strCategory":
+                        recipe.setCategory(readString(in));
+                        break;
+                    case "strArea":
+                        recipe.setArea(readString(in));
+                        break;
+                    case "strInstructions":
+                        recipe.setInstructions(readString(in));
+                        break;
+                    case "strMealThumb":
+                        recipe.setImageUrl(readString(in));
+                        break;
+                    case "strYoutube":
+                        recipe.setVideoUrl(readString(in));
+                        break;
+                    default:
+                        readNumberedField(in, name, recipe);
+                        break;
+                }
+            }
+            in.endObject();
+
+            return recipe;
+        }
+
+        @Override
+        public void write(JsonWriter out, Recipe recipe) throws IOException {
+            out.beginObject();
+            out.name("idMeal").value(recipe.getId());
+            out.name("strMeal").value(recipe.getName());
+            out.name("strCategory").value(recipe.getCategory());
+            out.name("strArea").value(recipe.getArea());
+            out.name("strInstructions").value(recipe.getInstructions());
+            out.name("strMealThumb").value(recipe.getImageUrl());
+            out.name("strYoutube").value(recipe.getVideoUrl());
+            for (int i = 0; i < Recipe.MAX_INGREDIENTS; i++) {
+                out.name(INGREDIENT_PREFIX + (i + 1)).value(recipe.getIngredient(i));
+            }
+            for (int i = 0; i < Recipe.MAX_INGREDIENTS; i++) {
+                out.name(MEASURE_PREFIX + (i + 1)).value(recipe.getMeasure(i));
+            }
+            out.endObject();
+        }
+
+        /**
+         * Handle strIngredientN / strMeasureN, skip anything else
+         */
+        private static void readNumberedField(JsonReader in, String name, Recipe recipe) throws IOException {
+            if (name.startsWith(INGREDIENT_PREFIX)) {
+                int index = slotIndex(name, INGREDIENT_PREFIX.length());
+                if (index >= 0) {
+                    recipe.setIngredient(index, readString(in));
+                    return;
+                }
+            } else if (name.startsWith(MEASURE_PREFIX)) {
+                int index = slotIndex(name, MEASURE_PREFIX.length());
+                if (index >= 0) {
+                    recipe.setMeasure(index, readString(in));
+                    return;
+                }
+            }
+            in.skipValue();
+        }
+
+        /**
+         * "strIngredient7" → 6, or -1 if the number is missing/out of range
+         * Parsed by hand to avoid creating a substring for every key
+         */
+        private static int slotIndex(String name, int start) {
+            int number = 0;
+            for (int i = start; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                number = number * 10 + (c - '0');
+            }
+            int index = number - 1;
+            return index >= 0 && index < Recipe.MAX_INGREDIENTS ? index : -1;
+        }
+
+        /**
+         * Read a string value, accepting null and number values
+         * Empty strings are stored as null (the API sends "" for unused slots)
+         */
+        private static String readString(JsonReader in) throws IOException {
+            JsonToken token = in.peek();
+            if (token == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
+                in.skipValue();
+                return null;
+            }
+            String value = in.nextString();
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    /**
+     * Reads/writes the { "meals": [...] } wrapper
+     */
+    private static class MealResponseAdapter extends TypeAdapter<MealResponse> {
+
+        private final TypeAdapter<Recipe> recipeAdapter;
+
+        MealResponseAdapter(TypeAdapter<Recipe> recipeAdapter) {
+            this.recipeAdapter = recipeAdapter;
+        }
+
+        @Override
+        public MealResponse read(JsonReader in) throws IOException {
+            MealResponse response = new MealResponse();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if ("meals".equals(name) && in.peek() == JsonToken.BEGIN_ARRAY) {
+                    List<Recipe> meals = new ArrayList<>();
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        Recipe recipe = recipeAdapter.read(in);
+                        if (recipe != null) {
+                            meals.add(recipe);
+                        }
+                    }
+                    in.endArray();
+                    response.setMeals(meals);
+                } else {
+                    // "meals": null (no results) or unknown keys
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return response;
+        }
+
+        @Override
+        public void write(JsonWriter out, MealResponse response) throws IOException {
+            out.beginObject();
+            out.name("meals");
+            List<Recipe> meals = response.getMeals();
+            if (meals == null) {
+                out.nullValue();
+            } else {
+                out.beginArray();
+                for (Recipe recipe : meals) {
+                    recipeAdapter.write(out, recipe);
+                }
+                out.endArray();
+            }
+            out.endObject();
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.recipemanager.api;
+
+import com.recipemanager.model.MealResponse;
+import com.recipemanager.model.Recipe;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Merges identical API requests that are running at the same time (single-flight)
+ * Example: SearchFragment and pull-to-refresh both ask for "chicken"
+ * → only one HTTP call is made, and both callers get its result
+ *
+ * Requests are identified by a key (endpoint + arguments, e.g. "search:chicken")
+ * The shared call is only cancelled when every caller has cancelled its subscription
+ *
+ * Streamed responses (see MealStreamParser) are shared the same way with
+ * enqueueStream(): every caller gets each chunk, and a caller that joins
+ * late starts from the recipes parsed so far
+ * Each stream delivers through one queue, so every caller sees its chunks in
+ * order and the completion last, even when it joins while a chunk is going out
+ */
+public class RequestCoalescer {
+
+    // Singleton instance - shared by every repository
+    private static RequestCoalescer instance;
+
+    // Streamed bodies are read while they download (blocking) - shared by every caller
+    private static final int STREAM_THREADS = 2;
+
+    // Requests currently waiting for a response, by key
+    private final Map<String, InFlight> inFlight = new HashMap<>();
+
+    // Streamed requests currently downloading, by key
+    private final Map<String, InFlightStream> streamsInFlight = new HashMap<>();
+
+    // Runs streamed requests (call + parse)
+    private final Executor streamExecutor;
+
+    // Statistics
+    private long networkCallCount = 0;
+    private long coalescedCount = 0;
+
+    /**
+     * Get the shared coalescer instance
+     */
+    public static synchronized RequestCoalescer getInstance() {
+        if (instance == null) {
+            instance = new RequestCoalescer(Executors.newFixedThreadPool(STREAM_THREADS));
+        }
+        return instance;
+    }
+
+    RequestCoalescer(Executor streamExecutor) {
+        this.streamExecutor = streamExecutor;
+    }
+
+    /**
+     * Creates the Retrofit call - only invoked if no identical call is running
+     */
+    public interface CallFactory {
+        Call<MealResponse> create();
+    }
+
+    /**
+     * Creates the streamed Retrofit call (@Streaming) - only invoked if no identical call is running
+     */
+    public interface StreamCallFactory {
+        Call<ResponseBody> create();
+    }
+
+    /**
+     * Receives a streamed response - called on a stream thread, or on the
+     * caller's thread for the catch-up chunk (use postValue)
+     * Calls for one stream never overlap
+     */
+    public interface StreamCallback {
+        /**
+         * @param recipesSoFar snapshot of every recipe parsed so far (safe to keep)
+         */
+        void onChunk(List<Recipe> recipesSoFar);
+
+        /**
+         * @param recipes every recipe in the response, or null if there were none
+         */
+        void onComplete(List<Recipe> recipes);
+
+        /**
+         * HTTP error, I/O error or malformed JSON (chunks already received stay valid)
+         */
+        void onFailure(Throwable t);
+    }
+
+    /**
+     * Handle returned to each caller so it can stop listening
+     */
+    public interface Subscription {
+        void cancel();
+    }
+
+    /**
+     * Start a request, or attach to the identical one already running
+     * The callback receives the shared call's result
+     */
+    public synchronized Subscription enqueue(String key, CallFactory factory, Callback<MealResponse> callback) {
+        InFlight existing = inFlight.get(key);
+        if (existing != null) {
+            // Same request already running - just wait for its result
+            existing.callbacks.add(callback);
+            coalescedCount++;
+            return () -> unsubscribe(key, existing, callback);
+        }
+
+        InFlight flight = new InFlight(factory.create());
+        flight.callbacks.add(callback);
+        inFlight.put(key, flight);
+        networkCallCount++;
+
+        flight.call.enqueue(new Callback<MealResponse>() {
+            @Override
+            public void onResponse(Call<MealResponse> call, Response<MealResponse> response) {
+                for (Callback<MealResponse> subscriber : finish(key, flight)) {
+                    subscriber.onResponse(call, response);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<MealResponse> call, Throwable t) {
+                for (Callback<MealResponse> subscriber : finish(key, flight)) {
+                    subscriber.onFailure(call, t);
+                }
+            }
+        });
+
+        return () -> unsubscribe(key, flight, callback);
+    }
+
+    /**
+     * Start a streamed request, or attach to the identical one already downloading
+     * The response is parsed on a shared stream thread and every caller
+     * gets the same chunks
+     */
+    public Subscription enqueueStream(String key, StreamCallFactory factory,
+                                      MealStreamParser parser, StreamCallback callback) {
+        InFlightStream flight;
+        synchronized (this) {
+            InFlightStream existing = streamsInFlight.get(key);
+            if (existing == null) {
+                InFlightStream started = new InFlightStream(factory.create());
+                started.callbacks.add(callback);
+                streamsInFlight.put(key, started);
+                networkCallCount++;
+                streamExecutor.execute(() -> runStream(key, started, parser));
+                return () -> unsubscribeStream(key, started, callback);
+            }
+
+            // Same stream already downloading - join it
+            existing.callbacks.add(callback);
+            coalescedCount++;
+            flight = existing;
+
+            // Catch up with the chunks the other callers already got - queued
+            // like a chunk, so a newer chunk can't overtake it
+            List<Recipe> recipesSoFar = existing.recipesSoFar;
+            if (recipesSoFar != null) {
+                flight.deliveries.add(() -> callback.onChunk(recipesSoFar));
+            }
+        }
+
+        deliver(flight);
+        return () -> unsubscribeStream(key, flight, callback);
+    }
+
+    /**
+     * Download and parse one streamed response, fanning it out to its callers
+     * Runs on a stream thread
+     */
+    private void runStream(String key, InFlightStream flight, MealStreamParser parser) {
+        List<Recipe> recipes;
+        try {
+            Response<ResponseBody> response = flight.call.execute();
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                if (response.errorBody() != null) {
+                    response.errorBody().close();
+                }
+                throw new IOException("HTTP " + response.code());
+            }
+
+            recipes = parser.parse(body, chunk -> {
+                publishChunk(flight, chunk);
+                deliver(flight);
+            });
+        } catch (IOException | RuntimeException e) {
+            // RuntimeException = malformed JSON (JsonSyntaxException, IllegalStateException)
+            finishStream(key, flight, subscriber -> subscriber.onFailure(e));
+            deliver(flight);
+            return;
+        }
+
+        finishStream(key, flight, subscriber -> subscriber.onComplete(recipes));
+        deliver(flight);
+    }
+
+    /**
+     * Remember the latest chunk (for late callers) and queue it for every caller
+     */
+    private synchronized void publishChunk(InFlightStream flight, List<Recipe> chunk) {
+        flight.recipesSoFar = chunk;
+        for (StreamCallback subscriber : flight.callbacks) {
+            flight.deliveries.add(() -> subscriber.onChunk(chunk));
+        }
+    }
+
+    /**
+     * Remove a finished stream and queue the outcome for the callers waiting for it
+     */
+    private synchronized void finishStream(String key, InFlightStream flight, StreamOutcome outcome) {
+        if (streamsInFlight.get(key) == flight) {
+            streamsInFlight.remove(key);
+        }
+        for (StreamCallback subscriber : flight.callbacks) {
+            flight.deliveries.add(() -> outcome.deliverTo(subscriber));
+        }
+        flight.callbacks.clear();
+    }
+
+    /**
+     * Run the stream's queued callbacks in order, one at a time
+     * If another thread is already delivering, it runs what was just queued
+     */
+    private void deliver(InFlightStream flight) {
+        while (true) {
+            Runnable next;
+            synchronized (this) {
+                if (flight.delivering || (next = flight.deliveries.poll()) == null) {
+                    return;
+                }
+                flight.delivering = true;
+            }
+            try {
+                next.run();
+            } finally {
+                synchronized (this) {
+                    flight.delivering = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Last call of a stream: onComplete or onFailure
+     */
+    private interface StreamOutcome {
+        void deliverTo(StreamCallback subscriber);
+    }
+
+    /**
+     * Detach one stream caller - cancels the download if nobody else is waiting
+     */
+    private synchronized void unsubscribeStream(String key, InFlightStream flight, StreamCallback callback) {
+        if (!flight.callbacks.remove(callback) || !flight.callbacks.isEmpty()) {
+            return;
+        }
+
+        if (streamsInFlight.get(key) == flight) {
+            streamsInFlight.remove(key);
+        }
+        flight.call.cancel();
+    }
+
+    /**
+     * Number of HTTP calls actually made
+     */
+    public synchronized long getNetworkCallCount() {
+        return networkCallCount;
+    }
+
+    /**
+     * Number of requests that were merged into an already running call
+     */
+    public synchronized long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Remove a finished request and return the callers waiting for it
+     */
+    private synchronized List<Callback<MealResponse>> finish(String key, InFlight flight) {
+        if (inFlight.get(key) == flight) {
+            inFlight.remove(key);
+        }
+        List<Callback<MealResponse>> subscribers = new ArrayList<>(flight.callbacks);
+        flight.callbacks.clear();
+        return subscribers;
+    }
+
+    /**
+     * Detach one caller - cancels the HTTP call if nobody else is waiting
+     */
+    private synchronized void unsubscribe(String key, InFlight flight, Callback<MealResponse> callback) {
+        if (!flight.callbacks.remove(callback) || !flight.callbacks.isEmpty()) {
+            return;
+        }
+
+        // Last caller gone - nobody needs this response anymore
+        if (inFlight.get(key) == flight) {
+            inFlight.remove(key);
+        }
+        flight.call.cancel();
+    }
+
+    /**
+     * One running HTTP call and everyone waiting for it
+     */
+    private static class InFlight {
+        final Call<MealResponse> call;
+        final List<Callback<MealResponse>> callbacks = new ArrayList<>();
+
+        InFlight(Call<MealResponse> call) {
+            this.call = call;
+        }
+    }
+
+    /**
+     * One streamed HTTP call, everyone waiting for it and what it parsed so far
+     * Callbacks go out through `deliveries`, one at a time (see deliver())
+     */
+    private static class InFlightStream {
+        final Call<ResponseBody> call;
+        final List<StreamCallback> callbacks = new ArrayList<>();
+        final ArrayDeque<Runnable> deliveries = new ArrayDeque<>();
+        boolean delivering;
+        List<Recipe> recipesSoFar;
+
+        InFlightStream(Call<ResponseBody> call) {
+            this.call = call;
+        }
+    }
+}
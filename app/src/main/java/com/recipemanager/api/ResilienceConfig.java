@@ -0,0 +1,141 @@
+package com.recipemanager.api;
+
+/**
+ * Budgets for the resilience layer (RetryInterceptor, CircuitBreakerInterceptor, HedgedCall)
+ * Immutable - build a custom one with new ResilienceConfig.Builder()
+ * and pass it to RetrofitClient.setResilienceConfig() before the first API call
+ */
+public class ResilienceConfig {
+
+    // Defaults used by the app
+    public static final ResilienceConfig DEFAULT = new Builder().build();
+
+    // ----- Retry -----
+    final int maxRetries;
+    final long baseBackoffMs;
+    final long maxBackoffMs;
+    final double retryBudgetRatio;
+    final int attemptReadTimeoutMs;
+
+    // ----- Circuit breaker -----
+    final int breakerFailureThreshold;
+    final long breakerOpenMs;
+
+    // ----- Hedged requests -----
+    final boolean hedgingEnabled;
+    final long minHedgeDelayMs;
+    final int minHedgeSamples;
+    final double hedgeBudgetRatio;
+
+    private ResilienceConfig(Builder builder) {
+        maxRetries = builder.maxRetries;
+        baseBackoffMs = builder.baseBackoffMs;
+        maxBackoffMs = builder.maxBackoffMs;
+        retryBudgetRatio = builder.retryBudgetRatio;
+        attemptReadTimeoutMs = builder.attemptReadTimeoutMs;
+        breakerFailureThreshold = builder.breakerFailureThreshold;
+        breakerOpenMs = builder.breakerOpenMs;
+        hedgingEnabled = builder.hedgingEnabled;
+        minHedgeDelayMs = builder.minHedgeDelayMs;
+        minHedgeSamples = builder.minHedgeSamples;
+        hedgeBudgetRatio = builder.hedgeBudgetRatio;
+    }
+
+    public boolean isHedgingEnabled() {
+        return hedgingEnabled;
+    }
+
+    public static class Builder {
+
+        private int maxRetries = 2;
+        private long baseBackoffMs = 200;
+        private long maxBackoffMs = 2000;
+        private double retryBudgetRatio = 0.2;
+        private int attemptReadTimeoutMs = 10000;
+        private int breakerFailureThreshold = 5;
+        private long breakerOpenMs = 30000;
+        private boolean hedgingEnabled = true;
+        private long minHedgeDelayMs = 200;
+        private int minHedgeSamples = 20;
+        private double hedgeBudgetRatio = 0.1;
+
+        /**
+         * Extra attempts per request after the first one fails
+         */
+        public Builder maxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * Backoff before retry n is random in [0, min(max, base * 2^n)]
+         */
+        public Builder backoff(long baseMs, long maxMs) {
+            this.baseBackoffMs = baseMs;
+            this.maxBackoffMs = maxMs;
+            return this;
+        }
+
+        /**
+         * Retries allowed per request made (e.g. 0.2 = at most 1 retry per 5 requests)
+         * Stops retries from piling up when the API is down
+         */
+        public Builder retryBudgetRatio(double ratio) {
+            this.retryBudgetRatio = ratio;
+            return this;
+        }
+
+        /**
+         * Read timeout of a single attempt (instead of the client's 30 s)
+         */
+        public Builder attemptReadTimeoutMs(int timeoutMs) {
+            this.attemptReadTimeoutMs = timeoutMs;
+            return this;
+        }
+
+        /**
+         * Consecutive failures that open an endpoint's circuit
+         */
+        public Builder breakerFailureThreshold(int failures) {
+            this.breakerFailureThreshold = failures;
+            return this;
+        }
+
+        /**
+         * How long an open circuit refuses requests before letting a test request through
+         */
+        public Builder breakerOpenMs(long openMs) {
+            this.breakerOpenMs = openMs;
+            return this;
+        }
+
+        /**
+         * Send a backup lookup.php request when the first one is slower than the p95
+         */
+        public Builder hedging(boolean enabled) {
+            this.hedgingEnabled = enabled;
+            return this;
+        }
+
+        /**
+         * Never hedge sooner than this, and only once this many latencies were recorded
+         */
+        public Builder hedgeThreshold(long minDelayMs, int minSamples) {
+            this.minHedgeDelayMs = minDelayMs;
+            this.minHedgeSamples = minSamples;
+            return this;
+        }
+
+        /**
+         * Backup requests allowed per request made (e.g. 0.1 = at most 1 in 10)
+         */
+        public Builder hedgeBudgetRatio(double ratio) {
+            this.hedgeBudgetRatio = ratio;
+            return this;
+        }
+
+        public ResilienceConfig build() {
+            return new ResilienceConfig(this);
+        }
+    }
+}
@@ -1,52 +1,165 @@
 package com.recipemanager.api;
 
+import android.content.Context;
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.recipemanager.BuildConfig;
+
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
 import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Singleton class that creates and manages the Retrofit instance
+ * Singleton class that creates and manages the app's network stack
  * This ensures we only have one Retrofit client throughout the app (saves memory)
  * Handles all the setup for making API calls to TheMealDB
+ *
+ * Everything shares one ConnectionPool and Dispatcher:
+ * - API calls (Retrofit) use getClient() / getApiService()
+ * - Glide loads images through getHttpClient() (see RecipeGlideModule)
+ * So an open connection to TheMealDB is reused by both, and prewarm()
+ * can open it before the first search
+ *
+ * All getters are synchronized - safe to call from any thread
  */
 public class RetrofitClient {
 
+    private static final String TAG = "RetrofitClient";
+
     // Base URL for TheMealDB free API
     // We're using the free tier (v1/1) - no API key required
     private static final String BASE_URL = "https://www.themealdb.com/api/json/v1/1/";
 
+    // Host used by both the API and the recipe images
+    private static final String HOST = "www.themealdb.com";
+
+    // Disk cache for API responses (survives app restarts)
+    private static final String CACHE_DIR_NAME = "http_cache";
+    private static final long CACHE_SIZE_BYTES = 10L * 1024 * 1024;  // 10 MB
+
+    // Idle connections kept open for reuse
+    private static final int MAX_IDLE_CONNECTIONS = 5;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+
+    // Catalog sync (4) + detail prefetch (3) + images all go to the same host
+    private static final int MAX_REQUESTS_PER_HOST = 8;
+
+    // Shared Gson instance (used by Retrofit and by the streaming parser)
+    // Uses hand-written adapters for our models instead of reflection
+    private static final Gson gson = new GsonBuilder()
+            .registerTypeAdapterFactory(new RecipeTypeAdapterFactory())
+            .create();
+
+    // Base client: connection pool, dispatcher and timeouts (no API interceptors)
+    private static OkHttpClient httpClient = null;
+
     // Singleton instance - only one Retrofit client exists
     private static Retrofit retrofit = null;
 
+    // Retrofit proxies are expensive to create - keep the one we made
+    private static MealApiService apiService = null;
+
+    // HTTP disk cache (null until init() is called with a context)
+    private static Cache cache = null;
+
+    // App context used for the cache directory and network checks
+    private static Context appContext = null;
+
+    // True once prewarm() has been started
+    private static boolean prewarmed = false;
+
+    // Retry / circuit breaker / hedging budgets
+    private static ResilienceConfig resilienceConfig = ResilienceConfig.DEFAULT;
+    private static CircuitBreakerInterceptor circuitBreaker = null;
+    private static HedgingPolicy hedgingPolicy = null;
+
     /**
-     * Get the Retrofit instance (creates it if doesn't exist)
-     * Thread-safe singleton pattern
+     * Give the client access to the app context
+     * Must be called before the first API call to enable the disk cache and offline mode
      */
-    public static Retrofit getClient() {
-        // If retrofit doesn't exist yet, create it
-        if (retrofit == null) {
-            // Create HTTP logging interceptor for debugging
-            // This prints API requests/responses in Logcat (super helpful for debugging)
-            HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
-            loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-
-            // Build OkHttp client with custom settings
-            OkHttpClient okHttpClient = new OkHttpClient.Builder()
-                    .addInterceptor(loggingInterceptor)  // Add logging
+    public static synchronized void init(Context context) {
+        if (appContext == null) {
+            appContext = context.getApplicationContext();
+        }
+    }
+
+    /**
+     * Get the base OkHttpClient (creates it if doesn't exist)
+     * Owns the app's only ConnectionPool and Dispatcher
+     * Used directly for images; the API client is derived from it
+     */
+    public static synchronized OkHttpClient getHttpClient() {
+        if (httpClient == null) {
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+
+            httpClient = new OkHttpClient.Builder()
+                    .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                    .dispatcher(dispatcher)
                     .connectTimeout(30, TimeUnit.SECONDS)  // Connection timeout
                     .readTimeout(30, TimeUnit.SECONDS)     // Read timeout
                     .writeTimeout(30, TimeUnit.SECONDS)    // Write timeout
                     .retryOnConnectionFailure(true)        // Retry if connection fails
                     .build();
+        }
+        return httpClient;
+    }
+
+    /**
+     * Get the Retrofit instance (creates it if doesn't exist)
+     * Thread-safe singleton pattern
+     */
+    public static synchronized Retrofit getClient() {
+        // If retrofit doesn't exist yet, create it
+        if (retrofit == null) {
+            // Same pool/dispatcher as the base client, plus the API-only interceptors
+            OkHttpClient.Builder builder = getHttpClient().newBuilder()
+                    .addInterceptor(new MetricsInterceptor())        // Per-endpoint latency + cache status
+                    .eventListenerFactory(MetricsEventListener.FACTORY);  // DNS/connect/TLS/TTFB timings
+
+            // Add disk cache + offline support if we have a context
+            if (appContext != null) {
+                cache = new Cache(new File(appContext.getCacheDir(), CACHE_DIR_NAME), CACHE_SIZE_BYTES);
+                builder.cache(cache)
+                        .addInterceptor(new OfflineCacheInterceptor(appContext))  // Serve stale data offline
+                        .addNetworkInterceptor(new CacheControlInterceptor());    // Per-endpoint TTLs
+            }
+
+            // Fail fast while an endpoint is down (falls back to the cache above),
+            // then retry individual failures with backoff
+            circuitBreaker = new CircuitBreakerInterceptor(resilienceConfig);
+            builder.addInterceptor(circuitBreaker)
+                    .addInterceptor(new RetryInterceptor(resilienceConfig));
+
+            // Print API requests/responses in Logcat - debug builds only
+            // (BODY logging buffers every response in memory and slows down the app)
+            if (BuildConfig.DEBUG) {
+                HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
+                loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
+                builder.addInterceptor(loggingInterceptor);
+            }
+
+            OkHttpClient okHttpClient = builder.build();
 
             // Build Retrofit instance
             retrofit = new Retrofit.Builder()
                     .baseUrl(BASE_URL)                                    // Set base URL
                     .client(okHttpClient)                                 // Use custom OkHttp client
-                    .addConverterFactory(GsonConverterFactory.create())   // JSON to Java conversion
+                    .addConverterFactory(GsonConverterFactory.create(gson))  // JSON to Java conversion
                     .build();
         }
 
@@ -58,14 +171,100 @@ public class RetrofitClient {
      * This is what you'll actually use to make API calls
      * Example usage: RetrofitClient.getApiService().searchRecipes("pasta")
      */
-    public static MealApiService getApiService() {
-        return getClient().create(MealApiService.class);
+    public static synchronized MealApiService getApiService() {
+        if (apiService == null) {
+            apiService = getClient().create(MealApiService.class);
+        }
+        return apiService;
+    }
+
+    /**
+     * Resolve DNS and open a connection to TheMealDB in the background
+     * Called at app start, so the first search doesn't pay for DNS + TCP + TLS
+     * The connection stays in the shared pool and is reused by API and image calls
+     */
+    public static void prewarm() {
+        synchronized (RetrofitClient.class) {
+            if (prewarmed) {
+                return;
+            }
+            prewarmed = true;
+        }
+
+        Thread thread = new Thread(() -> {
+            try {
+                // Warm the system DNS cache
+                InetAddress.getAllByName(HOST);
+
+                // A HEAD request opens (and keeps) a TLS connection without downloading anything
+                Request request = new Request.Builder()
+                        .url("https://" + HOST + "/")
+                        .head()
+                        .cacheControl(CacheControl.FORCE_NETWORK)
+                        .build();
+                Response response = getHttpClient().newCall(request).execute();
+                response.close();
+                Log.d(TAG, "Connection prewarmed: " + response.code());
+            } catch (IOException e) {
+                // Offline or DNS failure - the first real request will just do the work
+                Log.d(TAG, "Prewarm failed: " + e.getMessage());
+            }
+        }, "network-prewarm");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Replace the retry / circuit breaker / hedging budgets
+     * Must be called before the first API call (or followed by resetClient())
+     */
+    public static synchronized void setResilienceConfig(ResilienceConfig config) {
+        resilienceConfig = config;
+        hedgingPolicy = null;
+    }
+
+    /**
+     * Get the policy that decides when lookups send a backup request
+     */
+    public static synchronized HedgingPolicy getHedgingPolicy() {
+        if (hedgingPolicy == null) {
+            hedgingPolicy = new HedgingPolicy(resilienceConfig);
+        }
+        return hedgingPolicy;
+    }
+
+    /**
+     * Current circuit state of an endpoint (e.g. "lookup.php")
+     */
+    public static synchronized CircuitBreakerInterceptor.State getCircuitState(String endpoint) {
+        return circuitBreaker != null
+                ? circuitBreaker.getState(endpoint)
+                : CircuitBreakerInterceptor.State.CLOSED;
+    }
+
+    /**
+     * Get the Gson instance used to parse API responses
+     */
+    public static Gson getGson() {
+        return gson;
+    }
+
+    /**
+     * Get the HTTP disk cache (null if init() was never called)
+     * Used to read hit/miss statistics
+     */
+    public static synchronized Cache getCache() {
+        return cache;
     }
 
     /**
      * Reset the Retrofit instance (useful for testing)
      */
-    public static void resetClient() {
+    public static synchronized void resetClient() {
         retrofit = null;
+        apiService = null;
+        cache = null;
+        circuitBreaker = null;
+        hedgingPolicy = null;  // Its budget counts requests made through the old client
     }
 }
@@ -0,0 +1,122 @@
+package com.recipemanager.api;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Application interceptor that retries failed GET requests
+ * (all our API calls are GETs, so repeating them is safe)
+ *
+ * - Retries on I/O errors and on 408 / 429 / 5xx responses
+ * - Waits a random "full jitter" backoff between attempts, so many clients
+ *   don't retry at the exact same moment
+ * - Each attempt has its own shorter read timeout: a stuck attempt is
+ *   given up early instead of blocking the screen for 30 s
+ * - A retry budget limits retries to a fraction of all requests,
+ *   so a dead API doesn't get 3x the traffic
+ */
+public class RetryInterceptor implements Interceptor {
+
+    private static final String TAG = "RetryInterceptor";
+
+    // Max retry tokens saved up (allows a short burst of retries)
+    private static final double MAX_RETRY_TOKENS = 10;
+
+    private final ResilienceConfig config;
+
+    // Retry budget: every request earns retryBudgetRatio tokens, every retry costs 1
+    private double retryTokens = MAX_RETRY_TOKENS;
+
+    public RetryInterceptor(ResilienceConfig config) {
+        this.config = config;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+
+        // Only idempotent requests, and never cache-only ones (no network involved)
+        if (!"GET".equals(request.method()) || request.cacheControl().onlyIfCached()) {
+            return chain.proceed(request);
+        }
+
+        Chain attemptChain = chain.withReadTimeout(config.attemptReadTimeoutMs, TimeUnit.MILLISECONDS);
+        NetworkMetrics.EndpointStats stats =
+                NetworkMetrics.getInstance().getEndpoint(NetworkMetrics.endpointOf(request.url()));
+        earnRetryToken();
+
+        int attempt = 0;
+        while (true) {
+            IOException failure = null;
+            Response response = null;
+            try {
+                response = attemptChain.proceed(request);
+            } catch (IOException e) {
+                failure = e;
+            }
+
+            boolean retryable = failure != null ? !chain.call().isCanceled() : isRetryable(response.code());
+            if (!retryable || attempt >= config.maxRetries || !spendRetryToken()) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return response;
+            }
+
+            // Free the connection before waiting
+            if (response != null) {
+                response.close();
+            }
+
+            attempt++;
+            stats.recordRetry();
+            Log.d(TAG, "Retry " + attempt + " for " + request.url().encodedPath()
+                    + (failure != null ? " (" + failure.getMessage() + ")" : " (HTTP " + response.code() + ")"));
+            sleep(backoffMs(attempt));
+        }
+    }
+
+    /**
+     * Random delay in [0, min(max, base * 2^attempt)]
+     */
+    private long backoffMs(int attempt) {
+        long ceiling = Math.min(config.maxBackoffMs, config.baseBackoffMs << Math.min(attempt, 16));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static boolean isRetryable(int code) {
+        return code == 408 || code == 429 || code >= 500;
+    }
+
+    private synchronized void earnRetryToken() {
+        retryTokens = Math.min(MAX_RETRY_TOKENS, retryTokens + config.retryBudgetRatio);
+    }
+
+    private synchronized boolean spendRetryToken() {
+        if (retryTokens < 1) {
+            return false;
+        }
+        retryTokens--;
+        return true;
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Retry interrupted");
+        }
+    }
+}
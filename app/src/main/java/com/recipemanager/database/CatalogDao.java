@@ -0,0 +1,56 @@
+package com.recipemanager.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+/**
+ * DAO for the local catalog mirror (catalog_recipes table)
+ * All methods are synchronous - call them from a background thread
+ */
+@Dao
+public interface CatalogDao {
+
+    // SQL of getHashesByLetter - also run through EXPLAIN QUERY PLAN by QueryPlanTest
+    String HASHES_BY_LETTER_QUERY = "SELECT id, content_hash FROM catalog_recipes WHERE first_letter = :letter";
+
+    /**
+     * Insert or replace catalog recipes (upsert)
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsertRecipes(List<CatalogRecipe> recipes);
+
+    /**
+     * Get id + hash of every recipe synced for a letter
+     * Used to compute what changed during a sync
+     */
+    @Query(HASHES_BY_LETTER_QUERY)
+    List<CatalogRecipeHash> getHashesByLetter(String letter);
+
+    /**
+     * Remove recipes that no longer exist in the API
+     */
+    @Query("DELETE FROM catalog_recipes WHERE id IN (:recipeIds)")
+    void deleteByIds(List<String> recipeIds);
+
+    /**
+     * Search the local catalog by name (same matching as search.php?s=)
+     */
+    @Query("SELECT * FROM catalog_recipes WHERE name LIKE '%' || :searchQuery || '%' ORDER BY name LIMIT :limit")
+    List<CatalogRecipe> searchByName(String searchQuery, int limit);
+
+    /**
+     * Get one catalog recipe by ID (null if not synced)
+     */
+    @Query("SELECT * FROM catalog_recipes WHERE id = :recipeId LIMIT 1")
+    CatalogRecipe getById(String recipeId);
+
+    /**
+     * Number of recipes in the local catalog
+     */
+    @Query("SELECT COUNT(*) FROM catalog_recipes")
+    int getCount();
+}
@@ -0,0 +1,164 @@
+package com.recipemanager.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Room database entity for the local copy of TheMealDB catalog
+ * Filled by CatalogSyncManager (one search.php?f=<letter> call per letter)
+ * Lets searches be answered from the phone instead of the network
+ *
+ * Not to be confused with FavoriteRecipe (user's saved recipes)
+ */
+@Entity(tableName = "catalog_recipes",
+        indices = {@Index("first_letter")})
+public class CatalogRecipe {
+
+    // Primary key - meal ID from the API
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "id")
+    private String id = "";
+
+    @ColumnInfo(name = "name")
+    private String name;
+
+    @ColumnInfo(name = "category")
+    private String category;
+
+    @ColumnInfo(name = "area")
+    private String area;
+
+    @ColumnInfo(name = "instructions")
+    private String instructions;
+
+    @ColumnInfo(name = "image_url")
+    private String imageUrl;
+
+    @ColumnInfo(name = "video_url")
+    private String videoUrl;
+
+    // All 20 ingredient slots joined with RecipeConverter.SLOT_SEPARATOR
+    @ColumnInfo(name = "ingredients")
+    private String ingredients;
+
+    // All 20 measure slots joined with RecipeConverter.SLOT_SEPARATOR
+    @ColumnInfo(name = "measures")
+    private String measures;
+
+    // Letter used to sync this row (search.php?f=<letter>)
+    @ColumnInfo(name = "first_letter")
+    private String firstLetter;
+
+    // Hash of the API fields - used to detect changed recipes during sync
+    @ColumnInfo(name = "content_hash")
+    private int contentHash;
+
+    // When this row was last written by a sync
+    @ColumnInfo(name = "synced_at")
+    private long syncedAt;
+
+    // Empty constructor required by Room
+    public CatalogRecipe() {
+    }
+
+    @NonNull
+    public String getId() {
+        return id;
+    }
+
+    public void setId(@NonNull String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    public void setArea(String area) {
+        this.area = area;
+    }
+
+    public String getInstructions() {
+        return instructions;
+    }
+
+    public void setInstructions(String instructions) {
+        this.instructions = instructions;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public String getVideoUrl() {
+        return videoUrl;
+    }
+
+    public void setVideoUrl(String videoUrl) {
+        this.videoUrl = videoUrl;
+    }
+
+    public String getIngredients() {
+        return ingredients;
+    }
+
+    public void setIngredients(String ingredients) {
+        this.ingredients = ingredients;
+    }
+
+    public String getMeasures() {
+        return measures;
+    }
+
+    public void setMeasures(String measures) {
+        this.measures = measures;
+    }
+
+    public String getFirstLetter() {
+        return firstLetter;
+    }
+
+    public void setFirstLetter(String firstLetter) {
+        this.firstLetter = firstLetter;
+    }
+
+    public int getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(int contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public long getSyncedAt() {
+        return syncedAt;
+    }
+
+    public void setSyncedAt(long syncedAt) {
+        this.syncedAt = syncedAt;
+    }
+}
@@ -0,0 +1,17 @@
+package com.recipemanager.database;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * Small projection of a catalog row (id + content hash)
+ * Used during sync to find added, changed and removed recipes
+ * without loading every column
+ */
+public class CatalogRecipeHash {
+
+    @ColumnInfo(name = "id")
+    public String id;
+
+    @ColumnInfo(name = "content_hash")
+    public int contentHash;
+}
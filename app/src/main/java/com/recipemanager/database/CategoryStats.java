@@ -0,0 +1,53 @@
+package com.recipemanager.database;
+
+import androidx.room.ColumnInfo;
+
+import java.util.Objects;
+
+/**
+ * One row of the favorites summary query: figures for one category
+ * See RecipeDao.getFavoritesSummaryRows() and FavoritesSummary
+ */
+public class CategoryStats {
+
+    // Category name (null for favorites saved without one)
+    @ColumnInfo(name = "category")
+    public String category;
+
+    // Favorites in this category
+    @ColumnInfo(name = "count")
+    public int count;
+
+    // Sum of the ratings of rated favorites (rating > 0)
+    @ColumnInfo(name = "rating_sum")
+    public double ratingSum;
+
+    // Number of rated favorites
+    @ColumnInfo(name = "rated_count")
+    public int ratedCount;
+
+    // Most recent date_added in this category
+    @ColumnInfo(name = "last_added")
+    public long lastAdded;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CategoryStats)) {
+            return false;
+        }
+        CategoryStats other = (CategoryStats) o;
+        return count == other.count
+                && ratingSum == other.ratingSum
+                && ratedCount == other.ratedCount
+                && lastAdded == other.lastAdded
+                && Objects.equals(category, other.category);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(category, count, ratingSum, ratedCount, lastAdded);
+    }
+}
@@ -0,0 +1,86 @@
+package com.recipemanager.database;
+
+import android.os.Process;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads used for database work, shared by Room and the repositories
+ *
+ * - one writer thread: SQLite allows a single writer anyway, so writes queue
+ *   here in order instead of blocking reader threads on the database lock
+ * - a small reader pool: with WAL, reads run in parallel with the writer
+ *   on their own connections (LiveData queries, PagingSource loads, checks)
+ */
+public class DatabaseExecutors {
+
+    // Reader threads: enough for a list + a detail screen + a favorite check, no more
+    // (Android keeps up to 4 WAL connections, 1 of them for the writer)
+    static final int READER_THREADS =
+            Math.max(2, Math.min(3, Runtime.getRuntime().availableProcessors() - 1));
+
+    // Singleton instance
+    private static DatabaseExecutors instance;
+
+    private final ExecutorService writeExecutor;
+    private final ExecutorService readExecutor;
+
+    private DatabaseExecutors() {
+        // Reads feed the screen, writes can wait a little: readers get the higher priority
+        writeExecutor = Executors.newSingleThreadExecutor(
+                new DatabaseThreadFactory("db-write", Process.THREAD_PRIORITY_BACKGROUND));
+        readExecutor = Executors.newFixedThreadPool(READER_THREADS, new DatabaseThreadFactory("db-read",
+                Process.THREAD_PRIORITY_BACKGROUND + Process.THREAD_PRIORITY_MORE_FAVORABLE));
+    }
+
+    /**
+     * Get the shared executors
+     */
+    public static synchronized DatabaseExecutors getInstance() {
+        if (instance == null) {
+            instance = new DatabaseExecutors();
+        }
+        return instance;
+    }
+
+    /**
+     * Single thread for inserts, updates, deletes and write transactions
+     * Tasks run one at a time, in the order they were submitted
+     */
+    public ExecutorService getWriteExecutor() {
+        return writeExecutor;
+    }
+
+    /**
+     * Thread pool for queries
+     */
+    public ExecutorService getReadExecutor() {
+        return readExecutor;
+    }
+
+    /**
+     * Named background threads ("db-read-1") - easy to spot in traces
+     */
+    private static class DatabaseThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final int priority;
+        private final AtomicInteger count = new AtomicInteger();
+
+        DatabaseThreadFactory(String prefix, int priority) {
+            this.prefix = prefix;
+            this.priority = priority;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(() -> {
+                Process.setThreadPriority(priority);
+                runnable.run();
+            }, prefix + "-" + count.incrementAndGet());
+        }
+    }
+}
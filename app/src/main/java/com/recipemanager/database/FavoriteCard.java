@@ -0,0 +1,57 @@
+package com.recipemanager.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+
+/**
+ * What a favorites list card shows: name, image, category, area, rating
+ * and the beginning of the notes
+ * List queries select these columns only - instructions, ingredients and
+ * video_url stay in the database until the detail screen loads the full
+ * FavoriteRecipe by ID
+ */
+public class FavoriteCard {
+
+    // Characters of user notes loaded for the card
+    public static final int NOTES_SNIPPET_LENGTH = 120;
+
+    // Columns are qualified: the full-text query joins favorite_recipes_fts,
+    // which has name, category, area and user_notes columns too
+    private static final String TABLE = "favorite_recipes.";
+
+    // SELECT list of every card query (see RecipeDao)
+    static final String COLUMNS = TABLE + "id, " + TABLE + "name, " + TABLE + "image_url, "
+            + TABLE + "category, " + TABLE + "area, " + TABLE + "rating, " + TABLE + "date_added, "
+            + "substr(" + TABLE + "user_notes, 1, " + NOTES_SNIPPET_LENGTH + ") AS notes_snippet, "
+            + "ifnull(length(" + TABLE + "user_notes), 0) > " + NOTES_SNIPPET_LENGTH + " AS notes_truncated";
+
+    @NonNull
+    @ColumnInfo(name = "id")
+    public String id = "";
+
+    @ColumnInfo(name = "name")
+    public String name;
+
+    @ColumnInfo(name = "image_url")
+    public String imageUrl;
+
+    @ColumnInfo(name = "category")
+    public String category;
+
+    @ColumnInfo(name = "area")
+    public String area;
+
+    @ColumnInfo(name = "rating")
+    public float rating;
+
+    @ColumnInfo(name = "date_added")
+    public long dateAdded;
+
+    // First NOTES_SNIPPET_LENGTH characters of user_notes (null if no notes)
+    @ColumnInfo(name = "notes_snippet")
+    public String notesSnippet;
+
+    // True when the notes are longer than the snippet
+    @ColumnInfo(name = "notes_truncated")
+    public boolean notesTruncated;
+}
@@ -0,0 +1,18 @@
+package com.recipemanager.database;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Embedded;
+
+/**
+ * One full-text search hit: the favorite's list card + SQLite's matchinfo() blob
+ * The blob is used to rank the hits (see FullTextSearch.rank)
+ */
+public class FavoriteMatch {
+
+    @Embedded
+    public FavoriteCard card;
+
+    // matchinfo(favorite_recipes_fts, 'pcx')
+    @ColumnInfo(name = "match_info")
+    public byte[] matchInfo;
+}
@@ -2,6 +2,7 @@ package com.recipemanager.database;
 
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import androidx.annotation.NonNull;
 import java.io.Serializable;
@@ -12,7 +13,15 @@ import java.io.Serializable;
  * Each instance of this class = one row in the database
  * Implements Serializable so it can be passed between fragments
  */
-@Entity(tableName = "favorite_recipes")
+@Entity(tableName = "favorite_recipes",
+        indices = {
+                // getAllFavorites: ORDER BY date_added DESC
+                @Index("date_added"),
+                // getFavoritesByCategory: WHERE category = ? ORDER BY date_added DESC
+                @Index({"category", "date_added"}),
+                // getTopRatedRecipes: WHERE rating >= ? ORDER BY rating DESC, date_added DESC
+                @Index({"rating", "date_added"})
+        })
 public class FavoriteRecipe implements Serializable {
 
     private static final long serialVersionUID = 1L;
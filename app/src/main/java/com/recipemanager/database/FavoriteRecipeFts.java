@@ -0,0 +1,38 @@
+package com.recipemanager.database;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+
+/**
+ * Full-text index over favorite_recipes (FTS4 virtual table)
+ * External content table: the text itself stays in favorite_recipes,
+ * Room adds triggers that keep this index in sync on insert/update/delete
+ *
+ * Search it with RecipeDao.searchFavoritesFullText()
+ */
+@Fts4(contentEntity = FavoriteRecipe.class)
+@Entity(tableName = "favorite_recipes_fts")
+public class FavoriteRecipeFts {
+
+    // Column order matters: matchinfo() reports hits per column in this order
+    // (see FullTextSearch.COLUMN_WEIGHTS)
+
+    @ColumnInfo(name = "name")
+    public String name;
+
+    @ColumnInfo(name = "ingredients")
+    public String ingredients;
+
+    @ColumnInfo(name = "instructions")
+    public String instructions;
+
+    @ColumnInfo(name = "category")
+    public String category;
+
+    @ColumnInfo(name = "area")
+    public String area;
+
+    @ColumnInfo(name = "user_notes")
+    public String userNotes;
+}
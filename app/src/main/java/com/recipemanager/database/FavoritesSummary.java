@@ -0,0 +1,95 @@
+package com.recipemanager.database;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the favorites screen shows about the collection as a whole:
+ * number of favorites, favorites per category, average rating, last saved date
+ *
+ * Built from one aggregate query (one row per category) and compared by value,
+ * so an observer can skip results that didn't change
+ */
+public class FavoritesSummary {
+
+    // Summary of an empty collection
+    public static final FavoritesSummary EMPTY = new FavoritesSummary(Collections.emptyList());
+
+    private final List<CategoryStats> rows;
+    private final int count;
+    private final Map<String, Integer> countByCategory;
+    private final float averageRating;
+    private final long lastAdded;
+
+    private FavoritesSummary(List<CategoryStats> rows) {
+        this.rows = rows;
+
+        int total = 0;
+        int rated = 0;
+        double ratingSum = 0;
+        long latest = 0;
+        Map<String, Integer> byCategory = new LinkedHashMap<>();
+        for (CategoryStats row : rows) {
+            total += row.count;
+            rated += row.ratedCount;
+            ratingSum += row.ratingSum;
+            latest = Math.max(latest, row.lastAdded);
+            byCategory.put(row.category, row.count);
+        }
+
+        this.count = total;
+        this.countByCategory = Collections.unmodifiableMap(byCategory);
+        this.averageRating = rated > 0 ? (float) (ratingSum / rated) : 0f;
+        this.lastAdded = latest;
+    }
+
+    /**
+     * Build the summary from the rows of RecipeDao.getFavoritesSummaryRows()
+     */
+    public static FavoritesSummary of(List<CategoryStats> rows) {
+        return rows == null || rows.isEmpty() ? EMPTY : new FavoritesSummary(rows);
+    }
+
+    /**
+     * Number of favorites
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Favorites per category, biggest category first
+     */
+    public Map<String, Integer> getCountByCategory() {
+        return countByCategory;
+    }
+
+    /**
+     * Average rating of the rated favorites (0 if none is rated)
+     */
+    public float getAverageRating() {
+        return averageRating;
+    }
+
+    /**
+     * When the most recent favorite was saved (0 if there are none)
+     */
+    public long getLastAdded() {
+        return lastAdded;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof FavoritesSummary && rows.equals(((FavoritesSummary) o).rows);
+    }
+
+    @Override
+    public int hashCode() {
+        return rows.hashCode();
+    }
+}
@@ -0,0 +1,67 @@
+package com.recipemanager.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DAO for the normalized ingredients of favorites
+ * (ingredients dictionary + recipe_ingredients join table)
+ * All methods are synchronous - call them from a background thread
+ */
+@Dao
+public interface IngredientDao {
+
+    // SQL of getIngredientLines - also run through EXPLAIN QUERY PLAN by QueryPlanTest
+    String INGREDIENT_LINES_QUERY = "SELECT ri.position AS position, i.name AS name, ri.measure AS measure "
+            + "FROM recipe_ingredients ri JOIN ingredients i ON i.id = ri.ingredient_id "
+            + "WHERE ri.recipe_id = :recipeId ORDER BY ri.position";
+
+    /**
+     * Add a name to the dictionary - returns -1 if it's already there
+     */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    long insertIngredient(IngredientEntry ingredient);
+
+    /**
+     * ID of a dictionary name (exact spelling), or null
+     */
+    @Query("SELECT id FROM ingredients WHERE name = :name")
+    Long getIngredientId(String name);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertRecipeIngredients(List<RecipeIngredient> rows);
+
+    @Query("DELETE FROM recipe_ingredients WHERE recipe_id = :recipeId")
+    void deleteRecipeIngredients(String recipeId);
+
+    /**
+     * Ingredients of a favorite, in slot order
+     */
+    @Query(INGREDIENT_LINES_QUERY)
+    List<IngredientLine> getIngredientLines(String recipeId);
+
+    /**
+     * Replace the ingredients of a favorite
+     * New names are added to the dictionary, existing ones are reused
+     */
+    @Transaction
+    default void replaceIngredients(String recipeId, List<IngredientLine> lines) {
+        deleteRecipeIngredients(recipeId);
+
+        List<RecipeIngredient> rows = new ArrayList<>(lines.size());
+        for (IngredientLine line : lines) {
+            long ingredientId = insertIngredient(new IngredientEntry(line.name));
+            if (ingredientId == -1) {
+                ingredientId = getIngredientId(line.name);
+            }
+            rows.add(new RecipeIngredient(recipeId, line.position, ingredientId, line.measure));
+        }
+        insertRecipeIngredients(rows);
+    }
+}
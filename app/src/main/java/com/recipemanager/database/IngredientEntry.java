@@ -0,0 +1,80 @@
+package com.recipemanager.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import java.util.Locale;
+
+/**
+ * Room database entity for the ingredient dictionary
+ * Each ingredient name is stored once; recipes point to it from recipe_ingredients
+ */
+@Entity(tableName = "ingredients",
+        indices = {
+                // One row per spelling ("Butter" and "butter" are kept apart so names round-trip)
+                @Index(value = "name", unique = true),
+                // "Favorites containing butter": lookup by case-insensitive key
+                @Index("name_key")
+        })
+public class IngredientEntry {
+
+    @PrimaryKey(autoGenerate = true)
+    @ColumnInfo(name = "id")
+    private long id;
+
+    // Ingredient name as the API spells it (e.g. "Unsalted Butter")
+    @NonNull
+    @ColumnInfo(name = "name")
+    private String name = "";
+
+    // Lookup key - see keyOf()
+    @NonNull
+    @ColumnInfo(name = "name_key")
+    private String nameKey = "";
+
+    // Empty constructor required by Room
+    public IngredientEntry() {
+    }
+
+    public IngredientEntry(@NonNull String name) {
+        this.name = name;
+        this.nameKey = keyOf(name);
+    }
+
+    /**
+     * Lookup key of an ingredient name: trimmed, lower case, single spaces
+     * ("  Unsalted  BUTTER" → "unsalted butter")
+     */
+    public static String keyOf(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    public void setName(@NonNull String name) {
+        this.name = name;
+    }
+
+    @NonNull
+    public String getNameKey() {
+        return nameKey;
+    }
+
+    public void setNameKey(@NonNull String nameKey) {
+        this.nameKey = nameKey;
+    }
+}
@@ -0,0 +1,30 @@
+package com.recipemanager.database;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * One ingredient of a favorite, resolved from the dictionary:
+ * slot position + ingredient name + measure
+ */
+public class IngredientLine {
+
+    // Slot in the API recipe (0 = strIngredient1)
+    @ColumnInfo(name = "position")
+    public int position;
+
+    @ColumnInfo(name = "name")
+    public String name;
+
+    @ColumnInfo(name = "measure")
+    public String measure;
+
+    // Empty constructor required by Room
+    public IngredientLine() {
+    }
+
+    public IngredientLine(int position, String name, String measure) {
+        this.position = position;
+        this.name = name;
+        this.measure = measure;
+    }
+}
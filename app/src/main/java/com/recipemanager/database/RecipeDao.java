@@ -1,12 +1,12 @@
 package com.recipemanager.database;
 
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
 import androidx.room.Delete;
-import androidx.room.Insert;
-import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 import androidx.room.Update;
+import androidx.room.Upsert;
 
 import java.util.List;
 
@@ -18,12 +18,37 @@ import java.util.List;
 @Dao
 public interface RecipeDao {
 
+    // SQL of the list queries - also run through EXPLAIN QUERY PLAN by QueryPlanTest
+
+    String FULL_TEXT_QUERY = "SELECT " + FavoriteCard.COLUMNS + ", matchinfo(favorite_recipes_fts, 'pcx') AS match_info "
+            + "FROM favorite_recipes "
+            + "JOIN favorite_recipes_fts ON favorite_recipes.rowid = favorite_recipes_fts.docid "
+            + "WHERE favorite_recipes_fts MATCH :ftsQuery "
+            + "ORDER BY favorite_recipes.date_added DESC LIMIT :limit";
+
+    String ALL_CARDS_QUERY = "SELECT " + FavoriteCard.COLUMNS + " FROM favorite_recipes ORDER BY date_added DESC";
+
+    String CATEGORY_CARDS_QUERY = "SELECT " + FavoriteCard.COLUMNS + " FROM favorite_recipes "
+            + "WHERE category = :category ORDER BY date_added DESC";
+
+    String TOP_RATED_CARDS_QUERY = "SELECT " + FavoriteCard.COLUMNS + " FROM favorite_recipes "
+            + "WHERE rating >= :minRating ORDER BY rating DESC, date_added DESC";
+
+    String INGREDIENT_CARDS_QUERY = "SELECT " + FavoriteCard.COLUMNS + " FROM favorite_recipes "
+            + "WHERE id IN (SELECT ri.recipe_id FROM ingredients i "
+            + "JOIN recipe_ingredients ri ON ri.ingredient_id = i.id "
+            + "WHERE i.name_key = :nameKey) "
+            + "ORDER BY date_added DESC";
+
     /**
      * INSERT OPERATION - Save a new recipe to favorites
-     * OnConflictStrategy.REPLACE: If recipe already exists (same ID), replace it
+     * Upsert: if the recipe already exists (same ID), its row is updated in place
      * This prevents duplicate favorites
+     *
+     * Not REPLACE: REPLACE deletes the old row without firing the DELETE
+     * triggers, which would leave a stale entry in favorite_recipes_fts
      */
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    @Upsert
     void insertRecipe(FavoriteRecipe recipe);
 
     /**
@@ -56,6 +81,14 @@ public interface RecipeDao {
     @Query("SELECT * FROM favorite_recipes WHERE id = :recipeId LIMIT 1")
     LiveData<FavoriteRecipe> getRecipeById(String recipeId);
 
+    /**
+     * READ OPERATION - Get the full recipe by ID (synchronous)
+     * Used when a list card is opened - the list only loaded FavoriteCard columns
+     * Use this in background thread only
+     */
+    @Query("SELECT * FROM favorite_recipes WHERE id = :recipeId LIMIT 1")
+    FavoriteRecipe getRecipeByIdNow(String recipeId);
+
     /**
      * READ OPERATION - Check if a recipe exists (synchronous)
      * Returns true/false for quick "is favorited?" checks
@@ -64,6 +97,13 @@ public interface RecipeDao {
     @Query("SELECT EXISTS(SELECT 1 FROM favorite_recipes WHERE id = :recipeId)")
     boolean isRecipeFavorited(String recipeId);
 
+    /**
+     * READ OPERATION - IDs of every favorite (synchronous)
+     * Loads the in-memory favorite set (FavoriteIdSet) - answered from the primary key index
+     */
+    @Query("SELECT id FROM favorite_recipes")
+    List<String> getAllFavoriteIds();
+
     /**
      * READ OPERATION - Search favorites by name
      * Used for search functionality within favorites
@@ -72,6 +112,16 @@ public interface RecipeDao {
     @Query("SELECT * FROM favorite_recipes WHERE name LIKE '%' || :searchQuery || '%' ORDER BY date_added DESC")
     LiveData<List<FavoriteRecipe>> searchFavorites(String searchQuery);
 
+    /**
+     * READ OPERATION - Full-text search in favorites (FTS4 index)
+     * Searches name, ingredients, instructions, category, area and user notes
+     * ftsQuery is an FTS4 MATCH expression - build it with FullTextSearch.buildQuery()
+     * (supports prefixes: "chick*"); rank the hits with FullTextSearch.rank()
+     * Loads list cards only, and at most the `limit` most recently added hits
+     */
+    @Query(FULL_TEXT_QUERY)
+    LiveData<List<FavoriteMatch>> searchFavoritesFullText(String ftsQuery, int limit);
+
     /**
      * READ OPERATION - Filter favorites by category
      * Used for category filtering in favorites tab
@@ -86,6 +136,49 @@ public interface RecipeDao {
     @Query("SELECT * FROM favorite_recipes WHERE rating >= :minRating ORDER BY rating DESC, date_added DESC")
     LiveData<List<FavoriteRecipe>> getTopRatedRecipes(float minRating);
 
+    /**
+     * PAGED READ - All favorites as list cards, most recently added first
+     * Room loads one page (LIMIT/OFFSET) at a time and invalidates the source
+     * when the table changes, so only the rows on screen are kept in memory
+     * Cards skip instructions/ingredients/video - load those with getRecipeByIdNow()
+     */
+    @Query(ALL_CARDS_QUERY)
+    PagingSource<Integer, FavoriteCard> getAllFavoritesPaged();
+
+    /**
+     * PAGED READ - Favorites of one category, as list cards
+     */
+    @Query(CATEGORY_CARDS_QUERY)
+    PagingSource<Integer, FavoriteCard> getFavoritesByCategoryPaged(String category);
+
+    /**
+     * PAGED READ - Favorites rated >= minimum rating, best rated first, as list cards
+     */
+    @Query(TOP_RATED_CARDS_QUERY)
+    PagingSource<Integer, FavoriteCard> getTopRatedRecipesPaged(float minRating);
+
+    /**
+     * PAGED READ - Search favorites by name, as list cards
+     */
+    @Query("SELECT " + FavoriteCard.COLUMNS + " FROM favorite_recipes "
+            + "WHERE name LIKE '%' || :searchQuery || '%' ORDER BY date_added DESC")
+    PagingSource<Integer, FavoriteCard> searchFavoritesPaged(String searchQuery);
+
+    /**
+     * PAGED READ - Favorites that use an ingredient, as list cards
+     * nameKey comes from IngredientEntry.keyOf() ("butter") - resolved through
+     * the ingredient indexes instead of scanning the ingredients text
+     */
+    @Query(INGREDIENT_CARDS_QUERY)
+    PagingSource<Integer, FavoriteCard> getFavoritesWithIngredientPaged(String nameKey);
+
+    /**
+     * DELETE OPERATION - Remove a favorite by ID
+     * Used by the list, which only has the card (not the full entity)
+     */
+    @Query("DELETE FROM favorite_recipes WHERE id = :recipeId")
+    void deleteRecipeById(String recipeId);
+
     /**
      * DELETE OPERATION - Remove all favorites
      * Used for "clear all" functionality
@@ -100,10 +193,23 @@ public interface RecipeDao {
     @Query("SELECT COUNT(*) FROM favorite_recipes")
     LiveData<Integer> getFavoritesCount();
 
+    /**
+     * READ OPERATION - Favorites summary, one row per category
+     * Count, rating sum / rated count (for the average) and last saved date -
+     * FavoritesSummary.of() adds the rows up for the whole collection
+     */
+    @Query("SELECT category, COUNT(*) AS count, "
+            + "SUM(CASE WHEN rating > 0 THEN rating ELSE 0 END) AS rating_sum, "
+            + "SUM(CASE WHEN rating > 0 THEN 1 ELSE 0 END) AS rated_count, "
+            + "MAX(date_added) AS last_added "
+            + "FROM favorite_recipes GROUP BY category ORDER BY count DESC, category")
+    LiveData<List<CategoryStats>> getFavoritesSummaryRows();
+
     /**
      * UPDATE OPERATION - Update only notes and rating (quick update)
      * More efficient than updating entire recipe
+     * Returns the number of rows updated (0 if the recipe is not a favorite)
      */
     @Query("UPDATE favorite_recipes SET user_notes = :notes, rating = :rating WHERE id = :recipeId")
-    void updateNotesAndRating(String recipeId, String notes, float rating);
+    int updateNotesAndRating(String recipeId, String notes, float rating);
 }
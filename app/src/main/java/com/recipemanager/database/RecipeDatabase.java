@@ -1,19 +1,27 @@
 package com.recipemanager.database;
 
 import android.content.Context;
+import android.database.Cursor;
+import android.util.Log;
 
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 
 /**
  * Room database singleton class
  * This creates and manages the SQLite database on the user's phone
  * Singleton pattern ensures only one database instance exists (prevents memory leaks)
  */
-@Database(entities = {FavoriteRecipe.class}, version = 1, exportSchema = false)
+@Database(entities = {FavoriteRecipe.class, FavoriteRecipeFts.class, CatalogRecipe.class, TaxonomyEntry.class,
+        IngredientEntry.class, RecipeIngredient.class},
+        version = 6, exportSchema = true)
 public abstract class RecipeDatabase extends RoomDatabase {
 
+    private static final String TAG = "RecipeDatabase";
+
     // Database name (stored in app's private storage)
     private static final String DATABASE_NAME = "recipe_manager_db";
 
@@ -26,6 +34,184 @@ public abstract class RecipeDatabase extends RoomDatabase {
      */
     public abstract RecipeDao recipeDao();
 
+    /**
+     * DAO for the local catalog mirror
+     */
+    public abstract CatalogDao catalogDao();
+
+    /**
+     * DAO for the local category/area lists
+     */
+    public abstract TaxonomyDao taxonomyDao();
+
+    /**
+     * DAO for the normalized ingredients of favorites
+     */
+    public abstract IngredientDao ingredientDao();
+
+    /**
+     * Version 1 → 2: add the catalog_recipes table (keeps the user's favorites)
+     */
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `catalog_recipes` ("
+                    + "`id` TEXT NOT NULL, `name` TEXT, `category` TEXT, `area` TEXT, "
+                    + "`instructions` TEXT, `image_url` TEXT, `video_url` TEXT, "
+                    + "`ingredients` TEXT, `measures` TEXT, `first_letter` TEXT, "
+                    + "`content_hash` INTEGER NOT NULL, `synced_at` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`id`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_catalog_recipes_first_letter` "
+                    + "ON `catalog_recipes` (`first_letter`)");
+        }
+    };
+
+    /**
+     * Version 2 → 3: add the taxonomy table (categories + areas)
+     */
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `taxonomy` ("
+                    + "`type` TEXT NOT NULL, `name` TEXT NOT NULL, `thumb_url` TEXT, "
+                    + "`position` INTEGER NOT NULL, `version` INTEGER NOT NULL, "
+                    + "`fetched_at` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`type`, `name`))");
+        }
+    };
+
+    /**
+     * Version 3 → 4: add the full-text index over favorites
+     * Same table + sync triggers Room creates for FavoriteRecipeFts,
+     * then index the favorites that already exist
+     */
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `favorite_recipes_fts` USING FTS4("
+                    + "`name` TEXT, `ingredients` TEXT, `instructions` TEXT, `category` TEXT, "
+                    + "`area` TEXT, `user_notes` TEXT, content=`favorite_recipes`)");
+
+            // Remove the old index entry before a row changes or disappears...
+            for (String event : new String[]{"UPDATE", "DELETE"}) {
+                db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_favorite_recipes_fts_BEFORE_" + event
+                        + " BEFORE " + event + " ON `favorite_recipes` BEGIN "
+                        + "DELETE FROM `favorite_recipes_fts` WHERE `docid`=OLD.`rowid`; END");
+            }
+            // ...and add the new one after a row is written
+            for (String event : new String[]{"UPDATE", "INSERT"}) {
+                db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_favorite_recipes_fts_AFTER_" + event
+                        + " AFTER " + event + " ON `favorite_recipes` BEGIN "
+                        + "INSERT INTO `favorite_recipes_fts`(`docid`, `name`, `ingredients`, `instructions`, "
+                        + "`category`, `area`, `user_notes`) "
+                        + "VALUES (NEW.`rowid`, NEW.`name`, NEW.`ingredients`, NEW.`instructions`, "
+                        + "NEW.`category`, NEW.`area`, NEW.`user_notes`); END");
+            }
+
+            db.execSQL("INSERT INTO `favorite_recipes_fts`(`favorite_recipes_fts`) VALUES('rebuild')");
+        }
+    };
+
+    /**
+     * Version 4 → 5: indexes for the favorites list queries (see FavoriteRecipe)
+     */
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_favorite_recipes_date_added` "
+                    + "ON `favorite_recipes` (`date_added`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_favorite_recipes_category_date_added` "
+                    + "ON `favorite_recipes` (`category`, `date_added`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_favorite_recipes_rating_date_added` "
+                    + "ON `favorite_recipes` (`rating`, `date_added`)");
+        }
+    };
+
+    /**
+     * Version 5 → 6: normalized ingredients (dictionary + join table)
+     * Existing favorites only kept the formatted text ("• 200g - Butter" per line),
+     * so their ingredients are parsed back from it
+     */
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `ingredients` ("
+                    + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`name` TEXT NOT NULL, `name_key` TEXT NOT NULL)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_ingredients_name` "
+                    + "ON `ingredients` (`name`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_ingredients_name_key` "
+                    + "ON `ingredients` (`name_key`)");
+
+            db.execSQL("CREATE TABLE IF NOT EXISTS `recipe_ingredients` ("
+                    + "`recipe_id` TEXT NOT NULL, `position` INTEGER NOT NULL, "
+                    + "`ingredient_id` INTEGER NOT NULL, `measure` TEXT, "
+                    + "PRIMARY KEY(`recipe_id`, `position`), "
+                    + "FOREIGN KEY(`recipe_id`) REFERENCES `favorite_recipes`(`id`) "
+                    + "ON UPDATE NO ACTION ON DELETE CASCADE , "
+                    + "FOREIGN KEY(`ingredient_id`) REFERENCES `ingredients`(`id`) "
+                    + "ON UPDATE NO ACTION ON DELETE NO ACTION )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_recipe_ingredients_ingredient_id_recipe_id` "
+                    + "ON `recipe_ingredients` (`ingredient_id`, `recipe_id`)");
+
+            try (Cursor favorites = db.query("SELECT `id`, `ingredients` FROM `favorite_recipes`")) {
+                while (favorites.moveToNext()) {
+                    backfillIngredients(db, favorites.getString(0), favorites.getString(1));
+                }
+            }
+        }
+    };
+
+    /**
+     * Parse the formatted ingredients of one favorite into the new tables
+     * Lines look like "• 200g - Butter" or "• Salt" (no measure)
+     */
+    private static void backfillIngredients(SupportSQLiteDatabase db, String recipeId, String formatted) {
+        if (formatted == null || formatted.trim().isEmpty()) {
+            return;
+        }
+
+        int position = 0;
+        for (String line : formatted.split("\n")) {
+            line = line.trim();
+            if (line.startsWith("•")) {
+                line = line.substring(1).trim();
+            }
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            // Measures may contain " - " ("1 - 2 cups"), ingredient names don't
+            String measure = null;
+            String name = line;
+            int dash = line.lastIndexOf(" - ");
+            if (dash > 0) {
+                measure = line.substring(0, dash).trim();
+                name = line.substring(dash + 3).trim();
+            }
+
+            db.execSQL("INSERT OR IGNORE INTO `ingredients` (`name`, `name_key`) VALUES (?, ?)",
+                    new Object[]{name, IngredientEntry.keyOf(name)});
+            long ingredientId;
+            try (Cursor ingredient = db.query("SELECT `id` FROM `ingredients` WHERE `name` = ?", new Object[]{name})) {
+                if (!ingredient.moveToFirst()) {
+                    continue;
+                }
+                ingredientId = ingredient.getLong(0);
+            }
+            db.execSQL("INSERT OR REPLACE INTO `recipe_ingredients` "
+                            + "(`recipe_id`, `position`, `ingredient_id`, `measure`) VALUES (?, ?, ?, ?)",
+                    new Object[]{recipeId, position++, ingredientId, measure});
+        }
+    }
+
+    /**
+     * Every migration, in order (version 1 → current)
+     */
+    static final Migration[] ALL_MIGRATIONS = {
+            MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6
+    };
+
     /**
      * Get database instance (creates it if doesn't exist)
      * Synchronized ensures thread safety (only one thread can access at a time)
@@ -33,17 +219,39 @@ public abstract class RecipeDatabase extends RoomDatabase {
     public static synchronized RecipeDatabase getInstance(Context context) {
         // If database doesn't exist, create it
         if (instance == null) {
+            DatabaseExecutors executors = DatabaseExecutors.getInstance();
             instance = Room.databaseBuilder(
                     context.getApplicationContext(),  // Use app context to prevent memory leaks
                     RecipeDatabase.class,
                     DATABASE_NAME
             )
-            .fallbackToDestructiveMigration()  // If schema changes, recreate database (use migrations in production)
+            .addMigrations(ALL_MIGRATIONS)  // Keeps the user's favorites on every upgrade
+            .fallbackToDestructiveMigrationOnDowngrade()  // Only an app downgrade may reset the database
+            // WAL: readers don't wait for the writer (and vice versa)
+            .setJournalMode(JournalMode.WRITE_AHEAD_LOGGING)
+            .setQueryExecutor(executors.getReadExecutor())
+            .setTransactionExecutor(executors.getWriteExecutor())
             .build();
         }
         return instance;
     }
 
+    /**
+     * Open the database in the background (runs migrations, creates the connection pool)
+     * Called at startup so the first screen that queries Room doesn't pay for it
+     */
+    public static void prewarm(Context context) {
+        Context appContext = context.getApplicationContext();
+        DatabaseExecutors.getInstance().getWriteExecutor().execute(() -> {
+            try {
+                getInstance(appContext).getOpenHelper().getWritableDatabase();
+                Log.d(TAG, "Database opened");
+            } catch (Exception e) {
+                Log.e(TAG, "Error opening database: " + e.getMessage());
+            }
+        });
+    }
+
     /**
      * Destroy the database instance (useful for testing)
      */
@@ -0,0 +1,89 @@
+package com.recipemanager.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+/**
+ * Room database entity joining a favorite to its ingredients
+ * One row per ingredient slot of the recipe (strIngredient1..20 → position 0..19),
+ * with the measure of that slot
+ *
+ * Rows go away with their favorite (ON DELETE CASCADE)
+ */
+@Entity(tableName = "recipe_ingredients",
+        primaryKeys = {"recipe_id", "position"},
+        foreignKeys = {
+                @ForeignKey(entity = FavoriteRecipe.class,
+                        parentColumns = "id", childColumns = "recipe_id",
+                        onDelete = ForeignKey.CASCADE),
+                @ForeignKey(entity = IngredientEntry.class,
+                        parentColumns = "id", childColumns = "ingredient_id")
+        },
+        indices = {
+                // Reverse lookup: ingredient → recipes that use it
+                @Index({"ingredient_id", "recipe_id"})
+        })
+public class RecipeIngredient {
+
+    @NonNull
+    @ColumnInfo(name = "recipe_id")
+    private String recipeId = "";
+
+    // Slot in the API recipe (0 = strIngredient1)
+    @ColumnInfo(name = "position")
+    private int position;
+
+    @ColumnInfo(name = "ingredient_id")
+    private long ingredientId;
+
+    // Measure of this slot ("200g", "1 tbs"), null if none
+    @ColumnInfo(name = "measure")
+    private String measure;
+
+    // Empty constructor required by Room
+    public RecipeIngredient() {
+    }
+
+    public RecipeIngredient(@NonNull String recipeId, int position, long ingredientId, String measure) {
+        this.recipeId = recipeId;
+        this.position = position;
+        this.ingredientId = ingredientId;
+        this.measure = measure;
+    }
+
+    @NonNull
+    public String getRecipeId() {
+        return recipeId;
+    }
+
+    public void setRecipeId(@NonNull String recipeId) {
+        this.recipeId = recipeId;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    public long getIngredientId() {
+        return ingredientId;
+    }
+
+    public void setIngredientId(long ingredientId) {
+        this.ingredientId = ingredientId;
+    }
+
+    public String getMeasure() {
+        return measure;
+    }
+
+    public void setMeasure(String measure) {
+        this.measure = measure;
+    }
+}
@@ -0,0 +1,41 @@
+package com.recipemanager.database;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+/**
+ * DAO for the local taxonomy copy (taxonomy table)
+ * LiveData queries run on Room's executor; the others must be called from a background thread
+ */
+@Dao
+public interface TaxonomyDao {
+
+    /**
+     * Observe one list (categories or areas) in API order
+     */
+    @Query("SELECT * FROM taxonomy WHERE type = :type ORDER BY position")
+    LiveData<List<TaxonomyEntry>> observeByType(String type);
+
+    /**
+     * Get one list (categories or areas) in API order
+     */
+    @Query("SELECT * FROM taxonomy WHERE type = :type ORDER BY position")
+    List<TaxonomyEntry> getByType(String type);
+
+    /**
+     * Version stamp of the stored list (0 if nothing is stored)
+     */
+    @Query("SELECT COALESCE(MAX(version), 0) FROM taxonomy WHERE type = :type")
+    int getVersion(String type);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertAll(List<TaxonomyEntry> entries);
+
+    @Query("DELETE FROM taxonomy WHERE type = :type")
+    void deleteByType(String type);
+}
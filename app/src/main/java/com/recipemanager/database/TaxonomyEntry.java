@@ -0,0 +1,108 @@
+package com.recipemanager.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+
+/**
+ * Room database entity for the local copy of the API's taxonomy:
+ * categories (categories.php) and areas/cuisines (list.php?a=list)
+ * Filled by TaxonomyManager - lets the filter chips appear without waiting for the network
+ */
+@Entity(tableName = "taxonomy", primaryKeys = {"type", "name"})
+public class TaxonomyEntry {
+
+    // Values of the "type" column
+    public static final String TYPE_CATEGORY = "category";
+    public static final String TYPE_AREA = "area";
+
+    // TYPE_CATEGORY or TYPE_AREA
+    @NonNull
+    @ColumnInfo(name = "type")
+    private String type = "";
+
+    // Category or area name, as the API expects it in filter.php
+    @NonNull
+    @ColumnInfo(name = "name")
+    private String name = "";
+
+    // Category image (null for areas)
+    @ColumnInfo(name = "thumb_url")
+    private String thumbUrl;
+
+    // Order returned by the API
+    @ColumnInfo(name = "position")
+    private int position;
+
+    // Version of the list this row belongs to (hash of the whole list)
+    @ColumnInfo(name = "version")
+    private int version;
+
+    // When this list was downloaded
+    @ColumnInfo(name = "fetched_at")
+    private long fetchedAt;
+
+    // Empty constructor required by Room
+    public TaxonomyEntry() {
+    }
+
+    public TaxonomyEntry(@NonNull String type, @NonNull String name, String thumbUrl,
+                         int position, int version, long fetchedAt) {
+        this.type = type;
+        this.name = name;
+        this.thumbUrl = thumbUrl;
+        this.position = position;
+        this.version = version;
+        this.fetchedAt = fetchedAt;
+    }
+
+    @NonNull
+    public String getType() {
+        return type;
+    }
+
+    public void setType(@NonNull String type) {
+        this.type = type;
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    public void setName(@NonNull String name) {
+        this.name = name;
+    }
+
+    public String getThumbUrl() {
+        return thumbUrl;
+    }
+
+    public void setThumbUrl(String thumbUrl) {
+        this.thumbUrl = thumbUrl;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(long fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+}
@@ -0,0 +1,58 @@
+package com.recipemanager.model;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * One category from categories.php
+ * Example JSON: { "idCategory": "1", "strCategory": "Beef", "strCategoryThumb": "https://...", ... }
+ */
+public class Category {
+
+    @SerializedName("idCategory")
+    private String id;
+
+    @SerializedName("strCategory")
+    private String name;
+
+    @SerializedName("strCategoryThumb")
+    private String thumbUrl;
+
+    @SerializedName("strCategoryDescription")
+    private String description;
+
+    // Empty constructor
+    public Category() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getThumbUrl() {
+        return thumbUrl;
+    }
+
+    public void setThumbUrl(String thumbUrl) {
+        this.thumbUrl = thumbUrl;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
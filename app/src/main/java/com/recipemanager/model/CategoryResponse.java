@@ -0,0 +1,38 @@
+package com.recipemanager.model;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+/**
+ * Wrapper for categories.php responses
+ * Example JSON: { "categories": [ {...category...}, {...category...} ] }
+ */
+public class CategoryResponse {
+
+    // This field name must match the JSON key ("categories")
+    @SerializedName("categories")
+    private List<Category> categories;
+
+    // Empty constructor
+    public CategoryResponse() {
+    }
+
+    /**
+     * Get the categories (null if the API returned none)
+     */
+    public List<Category> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<Category> categories) {
+        this.categories = categories;
+    }
+
+    /**
+     * Check if the response contains any categories
+     */
+    public boolean hasResults() {
+        return categories != null && !categories.isEmpty();
+    }
+}
@@ -7,6 +7,7 @@ import java.io.Serializable;
  * Main recipe data model that represents a single recipe
  * Used for both API responses and local database storage
  * Each field maps to the API's JSON structure
+ * JSON parsing is done by RecipeTypeAdapterFactory (no reflection)
  * Implements Serializable so it can be passed between fragments
  */
 public class Recipe implements Serializable {
@@ -41,49 +42,14 @@ public class Recipe implements Serializable {
     @SerializedName("strYoutube")
     private String videoUrl;
 
-    // Individual ingredient fields from API (TheMealDB has up to 20 ingredients)
-    @SerializedName("strIngredient1") private String ingredient1;
-    @SerializedName("strIngredient2") private String ingredient2;
-    @SerializedName("strIngredient3") private String ingredient3;
-    @SerializedName("strIngredient4") private String ingredient4;
-    @SerializedName("strIngredient5") private String ingredient5;
-    @SerializedName("strIngredient6") private String ingredient6;
-    @SerializedName("strIngredient7") private String ingredient7;
-    @SerializedName("strIngredient8") private String ingredient8;
-    @SerializedName("strIngredient9") private String ingredient9;
-    @SerializedName("strIngredient10") private String ingredient10;
-    @SerializedName("strIngredient11") private String ingredient11;
-    @SerializedName("strIngredient12") private String ingredient12;
-    @SerializedName("strIngredient13") private String ingredient13;
-    @SerializedName("strIngredient14") private String ingredient14;
-    @SerializedName("strIngredient15") private String ingredient15;
-    @SerializedName("strIngredient16") private String ingredient16;
-    @SerializedName("strIngredient17") private String ingredient17;
-    @SerializedName("strIngredient18") private String ingredient18;
-    @SerializedName("strIngredient19") private String ingredient19;
-    @SerializedName("strIngredient20") private String ingredient20;
-
-    // Individual measure fields (amounts like "1 cup", "200g")
-    @SerializedName("strMeasure1") private String measure1;
-    @SerializedName("strMeasure2") private String measure2;
-    @SerializedName("strMeasure3") private String measure3;
-    @SerializedName("strMeasure4") private String measure4;
-    @SerializedName("strMeasure5") private String measure5;
-    @SerializedName("strMeasure6") private String measure6;
-    @SerializedName("strMeasure7") private String measure7;
-    @SerializedName("strMeasure8") private String measure8;
-    @SerializedName("strMeasure9") private String measure9;
-    @SerializedName("strMeasure10") private String measure10;
-    @SerializedName("strMeasure11") private String measure11;
-    @SerializedName("strMeasure12") private String measure12;
-    @SerializedName("strMeasure13") private String measure13;
-    @SerializedName("strMeasure14") private String measure14;
-    @SerializedName("strMeasure15") private String measure15;
-    @SerializedName("strMeasure16") private String measure16;
-    @SerializedName("strMeasure17") private String measure17;
-    @SerializedName("strMeasure18") private String measure18;
-    @SerializedName("strMeasure19") private String measure19;
-    @SerializedName("strMeasure20") private String measure20;
+    // Number of ingredient slots in the API (strIngredient1..20 / strMeasure1..20)
+    public static final int MAX_INGREDIENTS = 20;
+
+    // Ingredients and measures ("1 cup", "200g") by slot (index 0 = strIngredient1)
+    // Parsed straight into arrays by RecipeTypeAdapterFactory
+    // Null when the API didn't send any (e.g. filter.php results) to save memory
+    private String[] ingredients;
+    private String[] measures;
 
     // User-added fields (not from API, only for local favorites)
     private String userNotes;      // Personal notes about the recipe
@@ -176,6 +142,46 @@ public class Recipe implements Serializable {
         this.dateAdded = dateAdded;
     }
 
+    /**
+     * Get the ingredient in a slot (0 to MAX_INGREDIENTS - 1), or null if empty
+     */
+    public String getIngredient(int index) {
+        return ingredients != null ? ingredients[index] : null;
+    }
+
+    /**
+     * Get the measure in a slot (0 to MAX_INGREDIENTS - 1), or null if empty
+     */
+    public String getMeasure(int index) {
+        return measures != null ? measures[index] : null;
+    }
+
+    /**
+     * Set the ingredient in a slot (0 to MAX_INGREDIENTS - 1)
+     */
+    public void setIngredient(int index, String ingredient) {
+        if (ingredient == null && ingredients == null) {
+            return;
+        }
+        if (ingredients == null) {
+            ingredients = new String[MAX_INGREDIENTS];
+        }
+        ingredients[index] = ingredient;
+    }
+
+    /**
+     * Set the measure in a slot (0 to MAX_INGREDIENTS - 1)
+     */
+    public void setMeasure(int index, String measure) {
+        if (measure == null && measures == null) {
+            return;
+        }
+        if (measures == null) {
+            measures = new String[MAX_INGREDIENTS];
+        }
+        measures[index] = measure;
+    }
+
     /**
      * Combines all 20 ingredient fields into a single formatted string
      * Filters out empty/null ingredients
@@ -185,26 +191,10 @@ public class Recipe implements Serializable {
     public String getFormattedIngredients() {
         StringBuilder ingredients = new StringBuilder();
 
-        // Array of all ingredient fields for easy iteration
-        String[] ingredientArray = {
-            ingredient1, ingredient2, ingredient3, ingredient4, ingredient5,
-            ingredient6, ingredient7, ingredient8, ingredient9, ingredient10,
-            ingredient11, ingredient12, ingredient13, ingredient14, ingredient15,
-            ingredient16, ingredient17, ingredient18, ingredient19, ingredient20
-        };
-
-        // Array of all measure fields
-        String[] measureArray = {
-            measure1, measure2, measure3, measure4, measure5,
-            measure6, measure7, measure8, measure9, measure10,
-            measure11, measure12, measure13, measure14, measure15,
-            measure16, measure17, measure18, measure19, measure20
-        };
-
         // Loop through all 20 possible ingredients
-        for (int i = 0; i < 20; i++) {
-            String ingredient = ingredientArray[i];
-            String measure = measureArray[i];
+        for (int i = 0; i < MAX_INGREDIENTS; i++) {
+            String ingredient = getIngredient(i);
+            String measure = getMeasure(i);
 
             // Only add if ingredient exists and is not empty
             if (ingredient != null && !ingredient.trim().isEmpty()) {
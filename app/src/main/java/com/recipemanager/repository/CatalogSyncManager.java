@@ -0,0 +1,356 @@
+package com.recipemanager.repository;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.recipemanager.api.MealApiService;
+import com.recipemanager.api.RetrofitClient;
+import com.recipemanager.database.CatalogDao;
+import com.recipemanager.database.CatalogRecipe;
+import com.recipemanager.database.CatalogRecipeHash;
+import com.recipemanager.database.DatabaseExecutors;
+import com.recipemanager.database.RecipeDatabase;
+import com.recipemanager.model.MealResponse;
+import com.recipemanager.model.Recipe;
+import com.recipemanager.utils.RecipeConverter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import retrofit2.Response;
+
+/**
+ * Keeps a full local copy of TheMealDB catalog in Room (catalog_recipes table)
+ * The catalog is small, so we download it with one search.php?f=<letter> call
+ * per letter (a..z) and search it locally afterwards
+ *
+ * - Letters are fetched in parallel (at most MAX_PARALLEL_REQUESTS at a time)
+ * - Each letter is written in one transaction: new recipes are added,
+ *   changed ones replaced, and ones missing from the API removed
+ * - Finished letters are saved in SharedPreferences, so a sync interrupted
+ *   by process death continues where it stopped instead of starting over
+ * - Progress (letters done, added/changed/removed counts) is exposed as LiveData
+ */
+public class CatalogSyncManager {
+
+    private static final String TAG = "CatalogSyncManager";
+
+    // One request per letter
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    // Max number of letters downloaded at the same time
+    private static final int MAX_PARALLEL_REQUESTS = 4;
+
+    // Re-sync the catalog once a day
+    private static final long SYNC_INTERVAL_MS = 24 * 60 * 60 * 1000L;
+
+    // SharedPreferences file and keys (sync checkpoint)
+    private static final String PREFS_NAME = "catalog_sync";
+    private static final String KEY_LAST_FULL_SYNC = "last_full_sync";
+    private static final String KEY_COMPLETED_LETTERS = "completed_letters";
+    private static final String KEY_RUN_ADDED = "run_added";
+    private static final String KEY_RUN_CHANGED = "run_changed";
+    private static final String KEY_RUN_REMOVED = "run_removed";
+
+    // Singleton instance
+    private static CatalogSyncManager instance;
+
+    private final RecipeDatabase database;
+    private final CatalogDao catalogDao;
+    private final MealApiService apiService;
+    private final SharedPreferences prefs;
+
+    // Bounded pool = bounded parallelism (downloads only - writes go to writeExecutor)
+    private final ExecutorService syncExecutor = Executors.newFixedThreadPool(MAX_PARALLEL_REQUESTS);
+
+    // Database writer thread (see DatabaseExecutors)
+    private final ExecutorService writeExecutor = DatabaseExecutors.getInstance().getWriteExecutor();
+
+    // True while a sync is running (only one at a time)
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // Progress of the current/last sync
+    private final MutableLiveData<SyncProgress> progress = new MutableLiveData<>();
+
+    private CatalogSyncManager(Context context) {
+        database = RecipeDatabase.getInstance(context);
+        catalogDao = database.catalogDao();
+        RetrofitClient.init(context);
+        apiService = RetrofitClient.getApiService();
+        prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Get the shared sync manager
+     */
+    public static synchronized CatalogSyncManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new CatalogSyncManager(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * True once at least one full sync has completed
+     * (before that, searches must still go to the network)
+     */
+    public boolean isCatalogReady() {
+        return prefs.getLong(KEY_LAST_FULL_SYNC, 0) > 0;
+    }
+
+    /**
+     * Start a sync if the catalog is out of date or a previous sync was interrupted
+     */
+    public void syncIfStale() {
+        long lastSync = prefs.getLong(KEY_LAST_FULL_SYNC, 0);
+        boolean interrupted = !prefs.getString(KEY_COMPLETED_LETTERS, "").isEmpty();
+        if (interrupted || System.currentTimeMillis() - lastSync > SYNC_INTERVAL_MS) {
+            sync();
+        }
+    }
+
+    /**
+     * Start a sync now (does nothing if one is already running)
+     * Letters already finished by an interrupted sync are skipped
+     */
+    public void sync() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+
+        // Resume from the checkpoint (empty if the last sync finished)
+        String completed = prefs.getString(KEY_COMPLETED_LETTERS, "");
+        List<String> remaining = new ArrayList<>();
+        for (char letter : LETTERS.toCharArray()) {
+            if (completed.indexOf(letter) < 0) {
+                remaining.add(String.valueOf(letter));
+            }
+        }
+
+        Log.d(TAG, "Catalog sync started: " + remaining.size() + " letters to fetch");
+
+        AtomicInteger failedLetters = new AtomicInteger(0);
+        AtomicInteger pending = new AtomicInteger(remaining.size());
+        postProgress(true, failedLetters.get());
+
+        if (remaining.isEmpty()) {
+            finishRun(0);
+            return;
+        }
+
+        for (String letter : remaining) {
+            syncExecutor.execute(() -> {
+                if (!syncLetter(letter)) {
+                    failedLetters.incrementAndGet();
+                }
+                postProgress(true, failedLetters.get());
+
+                // Last letter done - wrap up the run
+                if (pending.decrementAndGet() == 0) {
+                    finishRun(failedLetters.get());
+                }
+            });
+        }
+    }
+
+    /**
+     * Progress of the current (or last) sync
+     */
+    public LiveData<SyncProgress> getProgress() {
+        return progress;
+    }
+
+    /**
+     * Download one letter and apply the differences to the local catalog
+     * Returns false if the letter has to be retried later
+     */
+    private boolean syncLetter(String letter) {
+        try {
+            Response<MealResponse> response = apiService.searchByFirstLetter(letter).execute();
+            if (!response.isSuccessful() || response.body() == null) {
+                Log.e(TAG, "Sync failed for letter " + letter + ": " + response.code());
+                return false;
+            }
+
+            List<Recipe> meals = response.body().hasResults()
+                    ? response.body().getMeals()
+                    : new ArrayList<>();
+            long now = System.currentTimeMillis();
+            int[] counts = new int[3];  // added, changed, removed
+
+            // Downloads run in parallel here, but the write goes to the database's
+            // single writer thread like every other write (wait for it to finish)
+            writeExecutor.submit(() -> database.runInTransaction(() -> {
+                // What we had for this letter before
+                Map<String, Integer> existing = new HashMap<>();
+                for (CatalogRecipeHash row : catalogDao.getHashesByLetter(letter)) {
+                    existing.put(row.id, row.contentHash);
+                }
+
+                // Only write rows that are new or changed
+                List<CatalogRecipe> toWrite = new ArrayList<>();
+                for (Recipe meal : meals) {
+                    CatalogRecipe row = RecipeConverter.recipeToCatalog(meal, letter, now);
+                    if (row == null) {
+                        continue;
+                    }
+                    Integer oldHash = existing.remove(row.getId());
+                    if (oldHash == null) {
+                        counts[0]++;
+                        toWrite.add(row);
+                    } else if (oldHash != row.getContentHash()) {
+                        counts[1]++;
+                        toWrite.add(row);
+                    }
+                }
+                if (!toWrite.isEmpty()) {
+                    catalogDao.upsertRecipes(toWrite);
+                }
+
+                // Anything left wasn't returned by the API anymore
+                if (!existing.isEmpty()) {
+                    catalogDao.deleteByIds(new ArrayList<>(existing.keySet()));
+                    counts[2] = existing.size();
+                }
+            })).get();
+
+            markLetterDone(letter, counts);
+            return true;
+        } catch (IOException e) {
+            Log.e(TAG, "Sync error for letter " + letter + ": " + e.getMessage());
+            return false;
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Sync write failed for letter " + letter + ": " + e.getCause());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Save the checkpoint for a finished letter (survives process death)
+     */
+    private synchronized void markLetterDone(String letter, int[] counts) {
+        prefs.edit()
+                .putString(KEY_COMPLETED_LETTERS, prefs.getString(KEY_COMPLETED_LETTERS, "") + letter)
+                .putInt(KEY_RUN_ADDED, prefs.getInt(KEY_RUN_ADDED, 0) + counts[0])
+                .putInt(KEY_RUN_CHANGED, prefs.getInt(KEY_RUN_CHANGED, 0) + counts[1])
+                .putInt(KEY_RUN_REMOVED, prefs.getInt(KEY_RUN_REMOVED, 0) + counts[2])
+                .commit();  // Synchronous on purpose: the checkpoint must hit the disk
+    }
+
+    /**
+     * End of a run - reset the checkpoint only if every letter succeeded
+     */
+    private synchronized void finishRun(int failedLetters) {
+        SyncProgress finalProgress = buildProgress(false, failedLetters);
+
+        if (failedLetters == 0) {
+            prefs.edit()
+                    .putLong(KEY_LAST_FULL_SYNC, System.currentTimeMillis())
+                    .remove(KEY_COMPLETED_LETTERS)
+                    .remove(KEY_RUN_ADDED)
+                    .remove(KEY_RUN_CHANGED)
+                    .remove(KEY_RUN_REMOVED)
+                    .commit();
+        }
+
+        Log.d(TAG, "Catalog sync finished: +" + finalProgress.getAdded()
+                + " ~" + finalProgress.getChanged()
+                + " -" + finalProgress.getRemoved()
+                + " (" + failedLetters + " letters failed)");
+
+        progress.postValue(finalProgress);
+        running.set(false);
+    }
+
+    private synchronized void postProgress(boolean isRunning, int failedLetters) {
+        progress.postValue(buildProgress(isRunning, failedLetters));
+    }
+
+    private SyncProgress buildProgress(boolean isRunning, int failedLetters) {
+        return new SyncProgress(
+                prefs.getString(KEY_COMPLETED_LETTERS, "").length(),
+                LETTERS.length(),
+                prefs.getInt(KEY_RUN_ADDED, 0),
+                prefs.getInt(KEY_RUN_CHANGED, 0),
+                prefs.getInt(KEY_RUN_REMOVED, 0),
+                failedLetters,
+                isRunning);
+    }
+
+    /**
+     * Snapshot of a sync's progress
+     */
+    public static class SyncProgress {
+
+        private final int completedLetters;
+        private final int totalLetters;
+        private final int added;
+        private final int changed;
+        private final int removed;
+        private final int failedLetters;
+        private final boolean running;
+
+        SyncProgress(int completedLetters, int totalLetters, int added, int changed,
+                     int removed, int failedLetters, boolean running) {
+            this.completedLetters = completedLetters;
+            this.totalLetters = totalLetters;
+            this.added = added;
+            this.changed = changed;
+            this.removed = removed;
+            this.failedLetters = failedLetters;
+            this.running = running;
+        }
+
+        public int getCompletedLetters() {
+            return completedLetters;
+        }
+
+        public int getTotalLetters() {
+            return totalLetters;
+        }
+
+        /**
+         * Recipes added to the local catalog during this sync
+         */
+        public int getAdded() {
+            return added;
+        }
+
+        /**
+         * Recipes whose content changed during this sync
+         */
+        public int getChanged() {
+            return changed;
+        }
+
+        /**
+         * Recipes removed because the API no longer returns them
+         */
+        public int getRemoved() {
+            return removed;
+        }
+
+        public int getFailedLetters() {
+            return failedLetters;
+        }
+
+        public boolean isRunning() {
+            return running;
+        }
+    }
+}
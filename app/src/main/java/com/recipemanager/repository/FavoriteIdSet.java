@@ -0,0 +1,226 @@
+package com.recipemanager.repository;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.room.InvalidationTracker;
+
+import com.recipemanager.database.DatabaseExecutors;
+import com.recipemanager.database.RecipeDao;
+import com.recipemanager.database.RecipeDatabase;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory set of the IDs of every favorite recipe
+ * Lets a screen ask "is this a favorite?" for a whole grid of results
+ * without one database query per card
+ *
+ * Kept current two ways:
+ * - the repository's write path updates it right away (save / delete)
+ *   and calls settle() once that write has finished
+ * - Room's InvalidationTracker reloads it whenever favorite_recipes changes,
+ *   whoever changed it
+ *
+ * Reloads run on the reader pool and can finish out of order, so each one
+ * is stamped with a generation when it is scheduled: only a reload that
+ * nothing newer (reload or write-path change) has overtaken is published,
+ * and writes still in flight are re-applied on top of what it read
+ *
+ * The set is replaced, never modified: readers always see a consistent snapshot
+ */
+public class FavoriteIdSet {
+
+    private static final String TAG = "FavoriteIdSet";
+
+    // Singleton instance - shared by every repository
+    private static FavoriteIdSet instance;
+
+    private final RecipeDao recipeDao;
+
+    // Current snapshot (immutable)
+    private volatile Set<String> ids = Collections.emptySet();
+
+    // False until the first load finished
+    private volatile boolean loaded;
+
+    // Same snapshot, for adapters
+    private final MutableLiveData<Set<String>> idsLiveData = new MutableLiveData<>();
+
+    // Bumped when a reload is scheduled and on every write-path change (guarded by this)
+    private long generation;
+
+    // Write-path changes whose database write hasn't finished yet, by recipe ID (guarded by this)
+    private final Map<String, PendingWrite> pendingWrites = new HashMap<>();
+
+    private FavoriteIdSet(Context context) {
+        RecipeDatabase database = RecipeDatabase.getInstance(context);
+        recipeDao = database.recipeDao();
+
+        // Reload whenever the table changes (Room calls this after each write transaction)
+        database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("favorite_recipes") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                reload();
+            }
+        });
+        reload();
+    }
+
+    /**
+     * Get the shared set (loads it on first call)
+     */
+    public static synchronized FavoriteIdSet getInstance(Context context) {
+        if (instance == null) {
+            instance = new FavoriteIdSet(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Is this recipe a favorite? O(1), any thread
+     */
+    public boolean contains(String recipeId) {
+        return recipeId != null && ids.contains(recipeId);
+    }
+
+    /**
+     * True once the IDs have been read from the database
+     * (before that, contains() answers false for everything)
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Observable snapshot of the favorite IDs
+     */
+    public LiveData<Set<String>> asLiveData() {
+        return idsLiveData;
+    }
+
+    /**
+     * Write path: a favorite is being saved
+     * Call settle() when the database write has finished
+     */
+    public void add(String recipeId) {
+        synchronized (this) {
+            startWrite(recipeId, true);
+            if (ids.contains(recipeId)) {
+                return;
+            }
+            Set<String> updated = new HashSet<>(ids);
+            updated.add(recipeId);
+            publish(updated);
+        }
+    }
+
+    /**
+     * Write path: a favorite is being deleted
+     * Call settle() when the database write has finished
+     */
+    public void remove(String recipeId) {
+        synchronized (this) {
+            startWrite(recipeId, false);
+            if (!ids.contains(recipeId)) {
+                return;
+            }
+            Set<String> updated = new HashSet<>(ids);
+            updated.remove(recipeId);
+            publish(updated);
+        }
+    }
+
+    /**
+     * Write path: every favorite is being deleted
+     */
+    public void clear() {
+        synchronized (this) {
+            generation++;
+            pendingWrites.clear();
+            publish(new HashSet<>());
+        }
+    }
+
+    /**
+     * Write path: the database write started by add() / remove() has finished
+     * (committed or failed - a failed one should be followed by reload())
+     */
+    public void settle(String recipeId) {
+        synchronized (this) {
+            PendingWrite pending = pendingWrites.get(recipeId);
+            if (pending != null && --pending.count == 0) {
+                pendingWrites.remove(recipeId);
+            }
+        }
+    }
+
+    /**
+     * Read every ID from the database again (reader pool)
+     */
+    public void reload() {
+        long scheduled;
+        synchronized (this) {
+            scheduled = ++generation;
+        }
+
+        DatabaseExecutors.getInstance().getReadExecutor().execute(() -> {
+            try {
+                List<String> rows = recipeDao.getAllFavoriteIds();
+                synchronized (this) {
+                    if (scheduled != generation) {
+                        return;  // Overtaken - a newer reload will publish
+                    }
+                    Set<String> updated = new HashSet<>(rows);
+                    for (Map.Entry<String, PendingWrite> pending : pendingWrites.entrySet()) {
+                        if (pending.getValue().favorite) {
+                            updated.add(pending.getKey());
+                        } else {
+                            updated.remove(pending.getKey());
+                        }
+                    }
+                    publish(updated);
+                    loaded = true;
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error loading favorite IDs: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Record a write-path change (caller holds the lock)
+     * Reloads scheduled before it may have read the old state - they are dropped
+     */
+    private void startWrite(String recipeId, boolean favorite) {
+        generation++;
+        PendingWrite pending = pendingWrites.get(recipeId);
+        if (pending == null) {
+            pending = new PendingWrite();
+            pendingWrites.put(recipeId, pending);
+        }
+        pending.favorite = favorite;  // The latest change wins
+        pending.count++;
+    }
+
+    private void publish(Set<String> updated) {
+        ids = Collections.unmodifiableSet(updated);
+        idsLiveData.postValue(ids);
+    }
+
+    /**
+     * Expected state of a recipe while its writes are queued or running
+     */
+    private static class PendingWrite {
+        boolean favorite;
+        int count;
+    }
+}
@@ -0,0 +1,222 @@
+package com.recipemanager.repository;
+
+import com.recipemanager.model.Recipe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory cache of filter.php?i=<ingredient> results, used for multi-ingredient search
+ * The API only filters by one ingredient at a time, so "chicken + garlic + lemon"
+ * is one request per ingredient, combined on the phone
+ *
+ * Each ingredient is stored as a sorted int[] of meal IDs (compact, fast to intersect)
+ * plus the recipe summaries (name + image) needed to display the result
+ * → refining "chicken + garlic" into "chicken + garlic + lemon" costs one new request
+ */
+public class IngredientIdCache {
+
+    // Max number of ingredients kept
+    private static final int MAX_ENTRIES = 40;
+
+    // Ingredient lists can change - re-download after this
+    private static final long TTL_MS = 30 * 60 * 1000;  // 30 minutes
+
+    // Singleton instance - shared by every repository
+    private static IngredientIdCache instance;
+
+    // LinkedHashMap in access order = least recently used entry comes first
+    private final LinkedHashMap<String, IdSet> entries = new LinkedHashMap<String, IdSet>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, IdSet> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Get the shared cache instance
+     */
+    public static synchronized IngredientIdCache getInstance() {
+        if (instance == null) {
+            instance = new IngredientIdCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Normalize an ingredient the way filter.php expects it ("Chicken Breast" → "chicken_breast")
+     */
+    public static String normalize(String ingredient) {
+        return ingredient == null
+                ? ""
+                : ingredient.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", "_");
+    }
+
+    /**
+     * Get the cached ID set of an ingredient, or null if missing or expired
+     */
+    public synchronized IdSet get(String ingredient) {
+        IdSet set = entries.get(ingredient);
+        if (set != null && System.currentTimeMillis() - set.fetchedAt > TTL_MS) {
+            entries.remove(ingredient);
+            return null;
+        }
+        return set;
+    }
+
+    /**
+     * Store the meals filter.php returned for an ingredient (null = no meals)
+     */
+    public synchronized IdSet put(String ingredient, List<Recipe> meals) {
+        IdSet set = IdSet.of(meals);
+        entries.put(ingredient, set);
+        return set;
+    }
+
+    /**
+     * Remove everything from the cache
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Meals that contain every ingredient, smallest set first
+     * The result keeps the order of the smallest set
+     */
+    public static List<Recipe> intersect(List<IdSet> sets) {
+        if (sets.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<IdSet> bySize = new ArrayList<>(sets);
+        Collections.sort(bySize, (a, b) -> Integer.compare(a.ids.length, b.ids.length));
+
+        // Start from the smallest set - the result can't be bigger
+        IdSet smallest = bySize.get(0);
+        int[] common = smallest.ids;
+        for (int i = 1; i < bySize.size() && common.length > 0; i++) {
+            common = intersect(common, bySize.get(i).ids);
+        }
+
+        List<Recipe> recipes = new ArrayList<>(common.length);
+        for (int id : common) {
+            recipes.add(smallest.summaryOf(id));
+        }
+        return recipes;
+    }
+
+    /**
+     * Meals that contain at least one ingredient,
+     * ranked by how many of the ingredients they contain
+     */
+    public static List<Recipe> rankedUnion(List<IdSet> sets) {
+        Map<Integer, Integer> matchCounts = new HashMap<>();
+        Map<Integer, Recipe> summaries = new HashMap<>();
+        for (IdSet set : sets) {
+            for (int i = 0; i < set.ids.length; i++) {
+                Integer count = matchCounts.get(set.ids[i]);
+                matchCounts.put(set.ids[i], count == null ? 1 : count + 1);
+                summaries.put(set.ids[i], set.summaries[i]);
+            }
+        }
+
+        List<Integer> ids = new ArrayList<>(matchCounts.keySet());
+        Collections.sort(ids, Comparator.comparing((Integer id) -> -matchCounts.get(id))
+                .thenComparing(id -> id));
+
+        List<Recipe> recipes = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            recipes.add(summaries.get(id));
+        }
+        return recipes;
+    }
+
+    /**
+     * Two-pointer intersection of two sorted arrays
+     */
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Meal IDs of one ingredient, sorted, with their summaries at the same index
+     */
+    public static class IdSet {
+
+        private final int[] ids;
+        private final Recipe[] summaries;
+        private final long fetchedAt;
+
+        private IdSet(int[] ids, Recipe[] summaries, long fetchedAt) {
+            this.ids = ids;
+            this.summaries = summaries;
+            this.fetchedAt = fetchedAt;
+        }
+
+        static IdSet of(List<Recipe> meals) {
+            List<Recipe> valid = new ArrayList<>();
+            if (meals != null) {
+                for (Recipe meal : meals) {
+                    if (parseId(meal) >= 0) {
+                        valid.add(meal);
+                    }
+                }
+            }
+            Collections.sort(valid, (a, b) -> Integer.compare(parseId(a), parseId(b)));
+
+            int[] ids = new int[valid.size()];
+            Recipe[] summaries = new Recipe[valid.size()];
+            for (int i = 0; i < valid.size(); i++) {
+                ids[i] = parseId(valid.get(i));
+                summaries[i] = valid.get(i);
+            }
+            return new IdSet(ids, summaries, System.currentTimeMillis());
+        }
+
+        /**
+         * Number of meals with this ingredient
+         */
+        public int size() {
+            return ids.length;
+        }
+
+        Recipe summaryOf(int id) {
+            int index = Arrays.binarySearch(ids, id);
+            return index >= 0 ? summaries[index] : null;
+        }
+
+        /**
+         * Meal IDs are numeric strings ("52772") - -1 if not
+         */
+        private static int parseId(Recipe meal) {
+            try {
+                return meal.getId() != null ? Integer.parseInt(meal.getId()) : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.recipemanager.repository;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.recipemanager.database.DatabaseExecutors;
+import com.recipemanager.database.RecipeDao;
+import com.recipemanager.database.RecipeDatabase;
+import com.recipemanager.model.Recipe;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer for notes + rating edits
+ * Edits wait FLUSH_DELAY_MS; several edits of the same recipe in that window
+ * become one UPDATE, and every pending recipe is written in one transaction
+ * → one invalidation of the favorites queries instead of one per save
+ *
+ * Nothing is lost: flush() is called when the detail screen stops and when
+ * the process is asked to trim memory (see RecipeManagerApplication)
+ *
+ * The write goes through the repository's per-recipe lanes, so it runs after
+ * a save of the same recipe that is still queued. Edits being written stay
+ * visible to applyPending() until their transaction has committed
+ *
+ * A failed write is retried with backoff (4 s, 8 s, 16 s); an edit whose
+ * write failed MAX_WRITE_ATTEMPTS times is dropped and counted in getEditsDropped()
+ */
+public class NotesWriteBuffer {
+
+    private static final String TAG = "NotesWriteBuffer";
+
+    // How long edits are held before being written
+    private static final long FLUSH_DELAY_MS = 2000;
+
+    // Writes of one edit before it is given up (constraint error, disk full, closed database...)
+    static final int MAX_WRITE_ATTEMPTS = 4;
+
+    // Singleton instance - shared by every repository
+    private static NotesWriteBuffer instance;
+
+    private final RecipeDatabase database;
+    private final RecipeDao recipeDao;
+
+    // Latest edit per recipe ID, in first-edit order
+    private final Map<String, PendingEdit> pending = new LinkedHashMap<>();
+
+    // Edits handed to flush() whose transaction hasn't committed yet (guarded by pending)
+    private final Map<String, PendingEdit> writing = new HashMap<>();
+
+    // Timer for the delayed flush
+    private final Handler flushHandler = new Handler(Looper.getMainLooper());
+    private final Runnable delayedFlush = this::flush;
+
+    // Edits received, edits written (merged into rows), rows written, transactions committed
+    private final AtomicLong editsReceived = new AtomicLong();
+    private final AtomicLong editsWritten = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong transactions = new AtomicLong();
+    private final AtomicLong editsDropped = new AtomicLong();
+
+    private NotesWriteBuffer(Context context) {
+        database = RecipeDatabase.getInstance(context);
+        recipeDao = database.recipeDao();
+    }
+
+    /**
+     * Get the shared buffer
+     */
+    public static synchronized NotesWriteBuffer getInstance(Context context) {
+        if (instance == null) {
+            instance = new NotesWriteBuffer(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Queue an edit - replaces any pending edit of the same recipe
+     */
+    public void update(String recipeId, String notes, float rating) {
+        editsReceived.incrementAndGet();
+        synchronized (pending) {
+            PendingEdit previous = pending.get(recipeId);
+            int edits = previous != null ? previous.edits + 1 : 1;
+            pending.put(recipeId, new PendingEdit(notes, rating, edits, 0));
+        }
+
+        // Restart the timer: the window closes FLUSH_DELAY_MS after the last edit
+        flushHandler.removeCallbacks(delayedFlush);
+        flushHandler.postDelayed(delayedFlush, FLUSH_DELAY_MS);
+    }
+
+    /**
+     * Write every pending edit now, in one transaction (on the database writer thread)
+     * Waits for operations already queued for those recipes (e.g. the save that created one)
+     */
+    public void flush() {
+        flushHandler.removeCallbacks(delayedFlush);
+
+        Map<String, PendingEdit> edits;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            edits = new LinkedHashMap<>(pending);
+            pending.clear();
+            writing.putAll(edits);
+        }
+
+        Executor writeExecutor = DatabaseExecutors.getInstance().getWriteExecutor();
+        RecipeRepository.favoriteLanes.execute(edits.keySet(), writeExecutor, () -> {
+            try {
+                int[] updated = {0};
+                database.runInTransaction(() -> {
+                    for (Map.Entry<String, PendingEdit> edit : edits.entrySet()) {
+                        updated[0] += recipeDao.updateNotesAndRating(
+                                edit.getKey(), edit.getValue().notes, edit.getValue().rating);
+                    }
+                });
+                doneWriting(edits);
+
+                int merged = 0;
+                for (PendingEdit edit : edits.values()) {
+                    merged += edit.edits;
+                }
+                editsWritten.addAndGet(merged);
+                rowsWritten.addAndGet(edits.size());
+                transactions.incrementAndGet();
+                if (updated[0] < edits.size()) {
+                    // Lanes ran every earlier save first - the missing ones were deleted
+                    Log.d(TAG, (edits.size() - updated[0]) + " edit(s) dropped - recipe no longer a favorite");
+                }
+                Log.d(TAG, "Flushed " + edits.size() + " recipe(s) - " + getSavedWrites() + " writes saved so far");
+            } catch (Exception e) {
+                writeFailed(edits, e);
+            }
+        });
+    }
+
+    /**
+     * Put the edits back for a later retry (unless newer ones arrived meanwhile),
+     * or drop the ones that have failed MAX_WRITE_ATTEMPTS times
+     */
+    private void writeFailed(Map<String, PendingEdit> edits, Exception e) {
+        int attempts = 0;
+        int dropped = 0;
+        synchronized (pending) {
+            for (Map.Entry<String, PendingEdit> edit : edits.entrySet()) {
+                if (pending.containsKey(edit.getKey())) {
+                    continue;  // A newer edit replaces this one
+                }
+                PendingEdit failed = edit.getValue();
+                int failedAttempts = failed.failedAttempts + 1;
+                if (failedAttempts >= MAX_WRITE_ATTEMPTS) {
+                    dropped += failed.edits;
+                } else {
+                    pending.put(edit.getKey(), failed.failedAgain());
+                    attempts = Math.max(attempts, failedAttempts);
+                }
+            }
+        }
+        doneWriting(edits);
+
+        if (dropped > 0) {
+            editsDropped.addAndGet(dropped);
+            Log.e(TAG, "Dropped " + dropped + " notes/rating edit(s) after " + MAX_WRITE_ATTEMPTS
+                    + " failed writes: " + e.getMessage());
+        }
+        if (attempts > 0) {
+            long delayMs = retryDelayMs(attempts);
+            Log.w(TAG, "Error writing notes/rating (attempt " + attempts + "/" + MAX_WRITE_ATTEMPTS
+                    + "), retrying in " + delayMs + " ms: " + e.getMessage());
+            flushHandler.postDelayed(delayedFlush, delayMs);
+        }
+    }
+
+    /**
+     * Wait before retrying after `failedAttempts` failed writes: 4 s, 8 s, 16 s
+     */
+    static long retryDelayMs(int failedAttempts) {
+        return FLUSH_DELAY_MS << failedAttempts;
+    }
+
+    /**
+     * Forget edits that are no longer being written (keeps newer ones from a later flush)
+     */
+    private void doneWriting(Map<String, PendingEdit> edits) {
+        synchronized (pending) {
+            for (Map.Entry<String, PendingEdit> edit : edits.entrySet()) {
+                writing.remove(edit.getKey(), edit.getValue());
+            }
+        }
+    }
+
+    /**
+     * Drop the pending edit of a recipe (it's being deleted or saved again from scratch)
+     */
+    public void discard(String recipeId) {
+        synchronized (pending) {
+            pending.remove(recipeId);
+            writing.remove(recipeId);
+        }
+    }
+
+    /**
+     * Drop every pending edit (all favorites are being deleted)
+     */
+    public void discardAll() {
+        synchronized (pending) {
+            pending.clear();
+            writing.clear();
+        }
+    }
+
+    /**
+     * Show pending (not yet written, or being written) notes + rating on a recipe
+     * read from the database
+     */
+    public void applyPending(Recipe recipe) {
+        if (recipe == null) {
+            return;
+        }
+
+        PendingEdit edit;
+        synchronized (pending) {
+            edit = pending.get(recipe.getId());
+            if (edit == null) {
+                edit = writing.get(recipe.getId());
+            }
+        }
+        if (edit != null) {
+            recipe.setUserNotes(edit.notes);
+            recipe.setRating(edit.rating);
+        }
+    }
+
+    /**
+     * Edits received through update()
+     */
+    public long getEditsReceived() {
+        return editsReceived.get();
+    }
+
+    /**
+     * UPDATE statements avoided by merging edits of the same recipe
+     */
+    public long getSavedWrites() {
+        return editsWritten.get() - rowsWritten.get();
+    }
+
+    /**
+     * Table invalidations avoided (one per transaction instead of one per edit)
+     */
+    public long getSavedInvalidations() {
+        return editsWritten.get() - transactions.get();
+    }
+
+    /**
+     * Edits given up after MAX_WRITE_ATTEMPTS failed writes
+     */
+    public long getEditsDropped() {
+        return editsDropped.get();
+    }
+
+    /**
+     * Latest notes + rating of a recipe, waiting to be written
+     */
+    private static class PendingEdit {
+
+        final String notes;
+        final float rating;
+
+        // Number of edits merged into this one
+        final int edits;
+
+        // Writes of this edit that failed so far
+        final int failedAttempts;
+
+        PendingEdit(String notes, float rating, int edits, int failedAttempts) {
+            this.notes = notes;
+            this.rating = rating;
+            this.edits = edits;
+            this.failedAttempts = failedAttempts;
+        }
+
+        PendingEdit failedAgain() {
+            return new PendingEdit(notes, rating, edits, failedAttempts + 1);
+        }
+    }
+}
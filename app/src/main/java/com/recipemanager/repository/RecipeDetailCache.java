@@ -0,0 +1,55 @@
+package com.recipemanager.repository;
+
+import android.util.LruCache;
+
+import com.recipemanager.model.Recipe;
+
+/**
+ * In-memory cache of full recipe details (lookup.php results), by recipe ID
+ * Filled by every details request, including the scroll prefetcher
+ * → opening a prefetched recipe shows its ingredients without waiting
+ * android.util.LruCache is thread-safe and evicts least recently used entries
+ */
+public class RecipeDetailCache {
+
+    // Max number of recipes kept in memory
+    private static final int MAX_ENTRIES = 200;
+
+    // Singleton instance - shared by every repository
+    private static RecipeDetailCache instance;
+
+    private final LruCache<String, Recipe> recipes = new LruCache<>(MAX_ENTRIES);
+
+    /**
+     * Get the shared cache instance
+     */
+    public static synchronized RecipeDetailCache getInstance() {
+        if (instance == null) {
+            instance = new RecipeDetailCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Get full details for a recipe, or null if not cached
+     */
+    public Recipe get(String recipeId) {
+        return recipeId != null ? recipes.get(recipeId) : null;
+    }
+
+    /**
+     * Store full details for a recipe
+     */
+    public void put(Recipe recipe) {
+        if (recipe != null && recipe.getId() != null) {
+            recipes.put(recipe.getId(), recipe);
+        }
+    }
+
+    /**
+     * Check if a recipe's details are cached
+     */
+    public boolean contains(String recipeId) {
+        return get(recipeId) != null;
+    }
+}
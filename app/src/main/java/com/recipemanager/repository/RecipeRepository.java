@@ -4,20 +4,42 @@ import android.app.Application;
 import android.util.Log;
 
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.paging.PagingSource;
 
+import com.recipemanager.api.HedgingPolicy;
 import com.recipemanager.api.MealApiService;
+import com.recipemanager.api.MealStreamParser;
+import com.recipemanager.api.NetworkMetrics;
+import com.recipemanager.api.RequestCoalescer;
 import com.recipemanager.api.RetrofitClient;
+import com.recipemanager.database.CatalogDao;
+import com.recipemanager.database.CatalogRecipe;
+import com.recipemanager.database.DatabaseExecutors;
+import com.recipemanager.database.FavoriteCard;
 import com.recipemanager.database.FavoriteRecipe;
+import com.recipemanager.database.FavoritesSummary;
+import com.recipemanager.database.IngredientDao;
+import com.recipemanager.database.IngredientEntry;
+import com.recipemanager.database.IngredientLine;
 import com.recipemanager.database.RecipeDao;
 import com.recipemanager.database.RecipeDatabase;
 import com.recipemanager.model.MealResponse;
 import com.recipemanager.model.Recipe;
+import com.recipemanager.utils.FullTextSearch;
+import com.recipemanager.utils.KeyedSerialExecutor;
+import com.recipemanager.utils.RecipeConverter;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
+import okhttp3.Cache;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -35,24 +57,89 @@ public class RecipeRepository {
 
     private static final String TAG = "RecipeRepository";
 
+    // Max number of results for a local catalog search
+    private static final int CATALOG_SEARCH_LIMIT = 100;
+
+    // Max number of favorites full-text hits ranked per search (newest first)
+    private static final int FULL_TEXT_LIMIT = 200;
+
+    // Database (for transactions spanning several DAOs)
+    private final RecipeDatabase database;
+
     // Database DAO for local operations
     private final RecipeDao recipeDao;
 
+    // DAO for the normalized ingredients of favorites
+    private final IngredientDao ingredientDao;
+
+    // DAO for the local catalog mirror
+    private final CatalogDao catalogDao;
+
+    // Keeps the local catalog in sync with the API
+    private final CatalogSyncManager catalogSyncManager;
+
+    // Local copy of the category/area lists
+    private final TaxonomyManager taxonomyManager;
+
     // API service for network operations
     private final MealApiService apiService;
 
-    // Executor for running database operations in background
+    // Shared in-memory cache for search/filter results
+    private final RecipeResultCache resultCache;
+
+    // Merges identical API requests that run at the same time
+    private final RequestCoalescer coalescer;
+
+    // Shared in-memory cache for full recipe details
+    private final RecipeDetailCache detailCache;
+
+    // Shared in-memory cache of meal IDs per ingredient
+    private final IngredientIdCache ingredientCache;
+
+    // Decides when slow lookups get a backup request
+    private final HedgingPolicy hedgingPolicy;
+
+    // Parses streamed category lists chunk by chunk
+    private final MealStreamParser mealStreamParser;
+
+    // Executors for running database operations in background
     // Room requires database operations to run off main thread
-    private final ExecutorService executorService;
+    // Writes go to the single writer thread, queries to the reader pool (see DatabaseExecutors)
+    private final ExecutorService writeExecutor;
+    private final ExecutorService readExecutor;
+
+    // Orders favorite operations per recipe ID (shared by every repository and NotesWriteBuffer):
+    // a quick save → delete → check on one recipe runs in that order
+    static final KeyedSerialExecutor favoriteLanes = new KeyedSerialExecutor();
+
+    // In-memory set of favorite IDs (badges, quick checks)
+    private final FavoriteIdSet favoriteIds;
+
+    // Merges notes/rating edits and writes them in batches
+    private final NotesWriteBuffer notesWriteBuffer;
 
     /**
      * Constructor - initialize database and API clients
      */
     public RecipeRepository(Application application) {
-        RecipeDatabase database = RecipeDatabase.getInstance(application);
+        database = RecipeDatabase.getInstance(application);
         recipeDao = database.recipeDao();
+        ingredientDao = database.ingredientDao();
+        catalogDao = database.catalogDao();
+        catalogSyncManager = CatalogSyncManager.getInstance(application);
+        taxonomyManager = TaxonomyManager.getInstance(application);
+        RetrofitClient.init(application);  // Enables the HTTP disk cache
         apiService = RetrofitClient.getApiService();
-        executorService = Executors.newFixedThreadPool(2);  // 2 background threads
+        resultCache = RecipeResultCache.getInstance();
+        coalescer = RequestCoalescer.getInstance();
+        detailCache = RecipeDetailCache.getInstance();
+        ingredientCache = IngredientIdCache.getInstance();
+        hedgingPolicy = RetrofitClient.getHedgingPolicy();
+        writeExecutor = DatabaseExecutors.getInstance().getWriteExecutor();
+        readExecutor = DatabaseExecutors.getInstance().getReadExecutor();
+        notesWriteBuffer = NotesWriteBuffer.getInstance(application);
+        favoriteIds = FavoriteIdSet.getInstance(application);
+        mealStreamParser = new MealStreamParser(RetrofitClient.getGson());
     }
 
     // ==================== API OPERATIONS (Network) ====================
@@ -60,12 +147,30 @@ public class RecipeRepository {
     /**
      * Search recipes from API by name
      * Returns LiveData that UI can observe for changes
+     * Answers from the in-memory cache first (see RecipeResultCache)
      */
-    public LiveData<List<Recipe>> searchRecipes(String query) {
-        MutableLiveData<List<Recipe>> recipesLiveData = new MutableLiveData<>();
-
-        // Make API call in background
-        apiService.searchRecipes(query).enqueue(new Callback<MealResponse>() {
+    public RequestLiveData<List<Recipe>> searchRecipes(String query) {
+        // Full catalog is on the phone - no network needed
+        if (catalogSyncManager.isCatalogReady()) {
+            return searchCatalog(query);
+        }
+
+        String cacheKey = RecipeResultCache.key("search", query);
+        RecipeResultCache.Entry cached = resultCache.get(cacheKey);
+
+        // Fresh cached result - no network call needed
+        if (cached != null && !cached.isStale()) {
+            Log.d(TAG, "Search served from cache: " + query);
+            return new RequestLiveData<>(cached.getRecipes());
+        }
+
+        // Stale cached result - show it now, refresh in the background
+        RequestLiveData<List<Recipe>> recipesLiveData = cached != null
+                ? new RequestLiveData<>(cached.getRecipes())
+                : new RequestLiveData<>();
+
+        // Make API call in background (shared with identical running requests)
+        recipesLiveData.setSubscription(coalescer.enqueue(cacheKey, () -> apiService.searchRecipes(query), new Callback<MealResponse>() {
             @Override
             public void onResponse(Call<MealResponse> call, Response<MealResponse> response) {
                 // Check if request was successful and has data
@@ -73,26 +178,149 @@ public class RecipeRepository {
                     MealResponse mealResponse = response.body();
                     if (mealResponse.hasResults()) {
                         // Update LiveData with results
+                        resultCache.put(cacheKey, mealResponse.getMeals());
                         recipesLiveData.postValue(mealResponse.getMeals());
                         Log.d(TAG, "Search successful: " + mealResponse.getCount() + " recipes found");
                     } else {
-                        // No results found
+                        // No results found (cached too, so we don't ask again right away)
+                        resultCache.put(cacheKey, null);
                         recipesLiveData.postValue(null);
                         Log.d(TAG, "No recipes found for query: " + query);
                     }
                 } else {
-                    // API call failed
-                    recipesLiveData.postValue(null);
+                    // API call failed - keep showing the stale result if we have one
+                    if (cached == null) {
+                        recipesLiveData.postValue(null);
+                    }
                     Log.e(TAG, "API call failed: " + response.code());
                 }
             }
 
             @Override
             public void onFailure(Call<MealResponse> call, Throwable t) {
-                // Network error
-                recipesLiveData.postValue(null);
+                // Network error - keep showing the stale result if we have one
+                if (cached == null) {
+                    recipesLiveData.postValue(null);
+                }
                 Log.e(TAG, "Network error: " + t.getMessage());
             }
+        }));
+
+        return recipesLiveData;
+    }
+
+    /**
+     * Search recipes that use several ingredients
+     * One filter.php?i= call per ingredient, all in parallel; each ingredient's
+     * meal IDs are cached, so adding an ingredient to a query costs one request
+     *
+     * matchAll = true  → meals with every ingredient
+     * matchAll = false → meals with any ingredient, most matches first
+     */
+    public RequestLiveData<List<Recipe>> searchByIngredients(List<String> ingredients, boolean matchAll) {
+        // Normalize + drop duplicates ("Garlic" and "garlic " are one request)
+        List<String> keys = new ArrayList<>();
+        for (String ingredient : ingredients) {
+            String key = IngredientIdCache.normalize(ingredient);
+            if (!key.isEmpty() && !keys.contains(key)) {
+                keys.add(key);
+            }
+        }
+
+        if (keys.isEmpty()) {
+            return new RequestLiveData<>(null);
+        }
+
+        // Cached ingredients are used as-is, the rest is fetched
+        Map<String, IngredientIdCache.IdSet> sets = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            IngredientIdCache.IdSet cached = ingredientCache.get(key);
+            if (cached != null) {
+                sets.put(key, cached);
+            } else {
+                missing.add(key);
+            }
+        }
+        Log.d(TAG, "Ingredient search: " + keys.size() + " ingredients, "
+                + missing.size() + " to fetch");
+
+        // Every ingredient cached - no network call needed
+        if (missing.isEmpty()) {
+            return new RequestLiveData<>(combineIngredientSets(keys, sets, matchAll));
+        }
+
+        RequestLiveData<List<Recipe>> recipesLiveData = new RequestLiveData<>();
+
+        // Fan out - callbacks run on the main thread, so the counters need no locking
+        List<RequestCoalescer.Subscription> subscriptions = new ArrayList<>();
+        int[] pending = {missing.size()};
+        boolean[] failed = {false};
+        for (String key : missing) {
+            subscriptions.add(coalescer.enqueue("ingredient:" + key, () -> apiService.filterByIngredient(key), new Callback<MealResponse>() {
+                @Override
+                public void onResponse(Call<MealResponse> call, Response<MealResponse> response) {
+                    if (response.isSuccessful() && response.body() != null) {
+                        // "No meals" is a valid (empty) set
+                        sets.put(key, ingredientCache.put(key, response.body().getMeals()));
+                    } else {
+                        failed[0] = true;
+                        Log.e(TAG, "Ingredient filter failed for " + key + ": " + response.code());
+                    }
+                    onIngredientDone();
+                }
+
+                @Override
+                public void onFailure(Call<MealResponse> call, Throwable t) {
+                    failed[0] = true;
+                    Log.e(TAG, "Ingredient filter error for " + key + ": " + t.getMessage());
+                    onIngredientDone();
+                }
+
+                private void onIngredientDone() {
+                    if (--pending[0] > 0) {
+                        return;
+                    }
+                    recipesLiveData.postValue(failed[0] ? null : combineIngredientSets(keys, sets, matchAll));
+                }
+            }));
+        }
+        recipesLiveData.setSubscription(() -> {
+            for (RequestCoalescer.Subscription subscription : subscriptions) {
+                subscription.cancel();
+            }
+        });
+
+        return recipesLiveData;
+    }
+
+    /**
+     * Combine per-ingredient ID sets into the result list (null if nothing matches)
+     */
+    private static List<Recipe> combineIngredientSets(List<String> keys,
+                                                      Map<String, IngredientIdCache.IdSet> sets,
+                                                      boolean matchAll) {
+        List<IngredientIdCache.IdSet> ordered = new ArrayList<>();
+        for (String key : keys) {
+            ordered.add(sets.get(key));
+        }
+        List<Recipe> recipes = matchAll
+                ? IngredientIdCache.intersect(ordered)
+                : IngredientIdCache.rankedUnion(ordered);
+        return recipes.isEmpty() ? null : recipes;
+    }
+
+    /**
+     * Search the local catalog mirror by name
+     * Same results as search.php?s=, answered from Room in a few milliseconds
+     */
+    private RequestLiveData<List<Recipe>> searchCatalog(String query) {
+        RequestLiveData<List<Recipe>> recipesLiveData = new RequestLiveData<>();
+
+        readExecutor.execute(() -> {
+            List<CatalogRecipe> rows = catalogDao.searchByName(query.trim(), CATALOG_SEARCH_LIMIT);
+            recipesLiveData.postValue(rows.isEmpty() ? null : RecipeConverter.catalogToRecipes(rows));
+            Log.d(TAG, "Catalog search: " + rows.size() + " recipes found for " + query);
         });
 
         return recipesLiveData;
@@ -100,42 +328,172 @@ public class RecipeRepository {
 
     /**
      * Filter recipes by category from API
+     * Uses the same cache-first strategy as searchRecipes
+     * The list is streamed: the first recipes are shown while the rest is still downloading
      */
-    public LiveData<List<Recipe>> filterByCategory(String category) {
-        MutableLiveData<List<Recipe>> recipesLiveData = new MutableLiveData<>();
+    public RequestLiveData<List<Recipe>> filterByCategory(String category) {
+        String cacheKey = RecipeResultCache.key("filter", category);
+        RecipeResultCache.Entry cached = resultCache.get(cacheKey);
+
+        if (cached != null && !cached.isStale()) {
+            return new RequestLiveData<>(cached.getRecipes());
+        }
+
+        RequestLiveData<List<Recipe>> recipesLiveData = cached != null
+                ? new RequestLiveData<>(cached.getRecipes())
+                : new RequestLiveData<>();
+
+        // Streamed on a shared stream thread; identical filters running at the same time share one download
+        recipesLiveData.setSubscription(coalescer.enqueueStream(cacheKey,
+                () -> apiService.filterByCategoryStream(category), mealStreamParser,
+                new RequestCoalescer.StreamCallback() {
+                    // Chunks can come from the caller's thread (catching up) and the stream thread
+                    private volatile boolean publishedPartial = false;
+
+                    @Override
+                    public void onChunk(List<Recipe> recipesSoFar) {
+                        // Don't replace a full (stale) cached list with a partial one
+                        if (cached == null) {
+                            recipesLiveData.postValue(recipesSoFar);
+                            publishedPartial = true;
+                        }
+                    }
 
-        apiService.filterByCategory(category).enqueue(new Callback<MealResponse>() {
-            @Override
-            public void onResponse(Call<MealResponse> call, Response<MealResponse> response) {
-                if (response.isSuccessful() && response.body() != null && response.body().hasResults()) {
-                    recipesLiveData.postValue(response.body().getMeals());
-                } else {
-                    recipesLiveData.postValue(null);
-                }
+                    @Override
+                    public void onComplete(List<Recipe> recipes) {
+                        resultCache.put(cacheKey, recipes);
+                        recipesLiveData.postValue(recipes);
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        // Keep showing what we already have (cached or partially streamed),
+                        // otherwise post null so the spinner stops
+                        if (cached == null && !publishedPartial) {
+                            recipesLiveData.postValue(null);
+                        }
+                        Log.e(TAG, "Category filter error: " + t.getMessage());
+                    }
+                }));
+
+        return recipesLiveData;
+    }
+
+    /**
+     * Browse several categories and areas at once (e.g. Seafood + Pasta + Italian)
+     * One filter.php call per category/area, all running at the same time
+     * The merged list (deduplicated by meal ID) is published after every call
+     * that finishes, so the first results show up without waiting for the slowest one
+     */
+    public RequestLiveData<List<Recipe>> browseByFilters(List<String> categories, List<String> areas) {
+        RequestLiveData<List<Recipe>> recipesLiveData = new RequestLiveData<>();
+
+        // One "leg" per filter: cache key + the call that answers it
+        Map<String, RequestCoalescer.CallFactory> legs = new LinkedHashMap<>();
+        for (String category : categories) {
+            legs.put(RecipeResultCache.key("filter", category), () -> apiService.filterByCategory(category));
+        }
+        for (String area : areas) {
+            legs.put(RecipeResultCache.key("area", area), () -> apiService.filterByArea(area));
+        }
+        if (legs.isEmpty()) {
+            return new RequestLiveData<>(null);
+        }
+
+        // Merged results in arrival order (callbacks run on the main thread - no locking)
+        Map<String, Recipe> merged = new LinkedHashMap<>();
+        int[] pending = {legs.size()};
+        List<RequestCoalescer.Subscription> subscriptions = new ArrayList<>();
+
+        for (Map.Entry<String, RequestCoalescer.CallFactory> leg : legs.entrySet()) {
+            String cacheKey = leg.getKey();
+
+            // Fresh cached leg - merge it right away
+            RecipeResultCache.Entry cached = resultCache.get(cacheKey);
+            if (cached != null && !cached.isStale()) {
+                mergeLeg(merged, cached.getRecipes(), --pending[0] == 0, recipesLiveData);
+                continue;
             }
 
-            @Override
-            public void onFailure(Call<MealResponse> call, Throwable t) {
-                recipesLiveData.postValue(null);
-                Log.e(TAG, "Category filter error: " + t.getMessage());
+            subscriptions.add(coalescer.enqueue(cacheKey, leg.getValue(), new Callback<MealResponse>() {
+                @Override
+                public void onResponse(Call<MealResponse> call, Response<MealResponse> response) {
+                    List<Recipe> meals = null;
+                    if (response.isSuccessful() && response.body() != null) {
+                        meals = response.body().getMeals();
+                        resultCache.put(cacheKey, response.body().hasResults() ? meals : null);
+                    } else {
+                        Log.e(TAG, "Browse leg failed for " + cacheKey + ": " + response.code());
+                    }
+                    mergeLeg(merged, meals, --pending[0] == 0, recipesLiveData);
+                }
+
+                @Override
+                public void onFailure(Call<MealResponse> call, Throwable t) {
+                    // Other legs still count - show what we have
+                    Log.e(TAG, "Browse leg error for " + cacheKey + ": " + t.getMessage());
+                    mergeLeg(merged, null, --pending[0] == 0, recipesLiveData);
+                }
+            }));
+        }
+
+        recipesLiveData.setSubscription(() -> {
+            for (RequestCoalescer.Subscription subscription : subscriptions) {
+                subscription.cancel();
             }
         });
 
         return recipesLiveData;
     }
 
+    /**
+     * Add one leg's meals to the merged list (skipping IDs we already have)
+     * and publish the list if it grew, or if this was the last leg
+     */
+    private static void mergeLeg(Map<String, Recipe> merged, List<Recipe> meals, boolean lastLeg,
+                                 RequestLiveData<List<Recipe>> recipesLiveData) {
+        boolean grew = false;
+        if (meals != null) {
+            for (Recipe meal : meals) {
+                if (meal.getId() != null && !merged.containsKey(meal.getId())) {
+                    merged.put(meal.getId(), meal);
+                    grew = true;
+                }
+            }
+        }
+
+        if (grew || lastLeg) {
+            // New list each time - new meals are only ever appended, so the adapter just adds them
+            recipesLiveData.postValue(merged.isEmpty() ? null : new ArrayList<>(merged.values()));
+        }
+    }
+
     /**
      * Get full recipe details by ID from API
      */
-    public LiveData<Recipe> getRecipeDetails(String recipeId) {
-        MutableLiveData<Recipe> recipeLiveData = new MutableLiveData<>();
+    public RequestLiveData<Recipe> getRecipeDetails(String recipeId) {
+        // Already loaded (e.g. by the scroll prefetcher)
+        Recipe cached = detailCache.get(recipeId);
+        if (cached != null) {
+            return new RequestLiveData<>(cached);
+        }
+
+        RequestLiveData<Recipe> recipeLiveData = new RequestLiveData<>();
 
-        apiService.getRecipeById(recipeId).enqueue(new Callback<MealResponse>() {
+        String requestKey = "lookup:" + recipeId;
+
+        // Sends a backup request if this lookup is slower than usual
+        RequestCoalescer.CallFactory lookupCall =
+                () -> hedgingPolicy.newCall("lookup.php", () -> apiService.getRecipeById(recipeId));
+
+        recipeLiveData.setSubscription(coalescer.enqueue(requestKey, lookupCall, new Callback<MealResponse>() {
             @Override
             public void onResponse(Call<MealResponse> call, Response<MealResponse> response) {
                 if (response.isSuccessful() && response.body() != null && response.body().hasResults()) {
                     // Get first meal from response (lookup returns single result)
-                    recipeLiveData.postValue(response.body().getFirstMeal());
+                    Recipe recipe = response.body().getFirstMeal();
+                    detailCache.put(recipe);
+                    recipeLiveData.postValue(recipe);
                 } else {
                     recipeLiveData.postValue(null);
                 }
@@ -146,11 +504,19 @@ public class RecipeRepository {
                 recipeLiveData.postValue(null);
                 Log.e(TAG, "Recipe details error: " + t.getMessage());
             }
-        });
+        }));
 
         return recipeLiveData;
     }
 
+    /**
+     * Get full recipe details if they're already in memory (no network)
+     * Returns null if the details were never loaded
+     */
+    public Recipe getCachedRecipeDetails(String recipeId) {
+        return detailCache.get(recipeId);
+    }
+
     /**
      * Get a random recipe from API
      */
@@ -177,19 +543,132 @@ public class RecipeRepository {
         return recipeLiveData;
     }
 
+    // ==================== CATALOG SYNC ====================
+
+    /**
+     * Sync the local catalog if it's out of date (runs in background)
+     */
+    public void syncCatalogIfStale() {
+        catalogSyncManager.syncIfStale();
+    }
+
+    /**
+     * Force a catalog sync now (e.g. from a "refresh" action)
+     */
+    public void syncCatalog() {
+        catalogSyncManager.sync();
+    }
+
+    /**
+     * Progress of the catalog sync (letters done, recipes added/changed/removed)
+     */
+    public LiveData<CatalogSyncManager.SyncProgress> getCatalogSyncProgress() {
+        return catalogSyncManager.getProgress();
+    }
+
+    // ==================== TAXONOMY (Categories / Areas) ====================
+
+    /**
+     * Category names for the filter chips (from Room - no network wait)
+     */
+    public LiveData<List<String>> getCategoryNames() {
+        return taxonomyManager.getCategoryNames();
+    }
+
+    /**
+     * Area (cuisine) names (from Room)
+     */
+    public LiveData<List<String>> getAreaNames() {
+        return taxonomyManager.getAreaNames();
+    }
+
+    /**
+     * Download the category/area lists if the local copy is missing or old
+     */
+    public void refreshTaxonomyIfStale() {
+        taxonomyManager.refreshIfStale();
+    }
+
+    // ==================== HTTP CACHE STATISTICS ====================
+
+    /**
+     * Number of API responses served from the HTTP disk cache
+     */
+    public int getHttpCacheHitCount() {
+        Cache cache = RetrofitClient.getCache();
+        return cache != null ? cache.hitCount() : 0;
+    }
+
+    /**
+     * Number of API responses that had to come from the network
+     */
+    public int getHttpCacheMissCount() {
+        Cache cache = RetrofitClient.getCache();
+        return cache != null ? cache.networkCount() : 0;
+    }
+
+    /**
+     * Per-endpoint network timings (DNS, connect, TLS, TTFB, sizes, cache status, failures)
+     */
+    public NetworkMetrics.EndpointStats getNetworkMetrics(String endpoint) {
+        return NetworkMetrics.getInstance().getEndpoint(endpoint);
+    }
+
+    /**
+     * Report of all network timings, e.g. for Logcat or a debug screen
+     */
+    public String dumpNetworkMetrics() {
+        return NetworkMetrics.getInstance().dump();
+    }
+
+    // ==================== RESULT CACHE STATISTICS ====================
+
+    /**
+     * Fraction of search/filter requests answered from the in-memory cache
+     */
+    public float getResultCacheHitRate() {
+        return resultCache.getHitRate();
+    }
+
+    /**
+     * Number of API requests that were merged into an identical running request
+     */
+    public long getCoalescedRequestCount() {
+        return coalescer.getCoalescedCount();
+    }
+
+    /**
+     * Drop all cached search/filter results (next request goes to the network)
+     */
+    public void clearResultCache() {
+        resultCache.clear();
+    }
+
     // ==================== DATABASE OPERATIONS (Local) ====================
 
     /**
-     * CREATE - Insert a recipe to favorites
+     * CREATE - Insert a recipe to favorites with its ingredients
      * Runs in background thread (Room requirement)
+     * The favorite row and its recipe_ingredients rows are written in one transaction
+     * Saving an existing favorite updates its row in place (insertRecipe is an upsert),
+     * so the ON DELETE CASCADE on recipe_ingredients never fires on a re-save
      */
-    public void insertFavorite(FavoriteRecipe recipe) {
-        executorService.execute(() -> {
+    public void insertFavorite(FavoriteRecipe recipe, List<IngredientLine> ingredients) {
+        notesWriteBuffer.discard(recipe.getId());  // Saved again from scratch
+        favoriteIds.add(recipe.getId());
+        favoriteLanes.execute(recipe.getId(), writeExecutor, () -> {
             try {
-                recipeDao.insertRecipe(recipe);
-                Log.d(TAG, "Recipe saved to favorites: " + recipe.getName());
+                database.runInTransaction(() -> {
+                    recipeDao.insertRecipe(recipe);
+                    ingredientDao.replaceIngredients(recipe.getId(), ingredients);
+                });
+                Log.d(TAG, "Recipe saved to favorites: " + recipe.getName()
+                        + " (" + ingredients.size() + " ingredients)");
             } catch (Exception e) {
                 Log.e(TAG, "Error saving recipe: " + e.getMessage());
+                favoriteIds.reload();  // The star was turned on too early
+            } finally {
+                favoriteIds.settle(recipe.getId());
             }
         });
     }
@@ -198,7 +677,7 @@ public class RecipeRepository {
      * UPDATE - Update an existing favorite recipe
      */
     public void updateFavorite(FavoriteRecipe recipe) {
-        executorService.execute(() -> {
+        favoriteLanes.execute(recipe.getId(), writeExecutor, () -> {
             try {
                 recipeDao.updateRecipe(recipe);
                 Log.d(TAG, "Recipe updated: " + recipe.getName());
@@ -210,28 +689,54 @@ public class RecipeRepository {
 
     /**
      * UPDATE - Quick update for notes and rating only
+     * Goes through the write-behind buffer: repeated saves of the same recipe
+     * within a short window become one UPDATE
      */
     public void updateNotesAndRating(String recipeId, String notes, float rating) {
-        executorService.execute(() -> {
-            try {
-                recipeDao.updateNotesAndRating(recipeId, notes, rating);
-                Log.d(TAG, "Notes and rating updated for recipe: " + recipeId);
-            } catch (Exception e) {
-                Log.e(TAG, "Error updating notes/rating: " + e.getMessage());
-            }
-        });
+        notesWriteBuffer.update(recipeId, notes, rating);
+    }
+
+    /**
+     * Write buffered notes/rating edits now (screen stopped, memory trimmed)
+     */
+    public void flushPendingEdits() {
+        notesWriteBuffer.flush();
     }
 
     /**
      * DELETE - Remove a recipe from favorites
      */
     public void deleteFavorite(FavoriteRecipe recipe) {
-        executorService.execute(() -> {
+        notesWriteBuffer.discard(recipe.getId());
+        favoriteIds.remove(recipe.getId());
+        favoriteLanes.execute(recipe.getId(), writeExecutor, () -> {
             try {
                 recipeDao.deleteRecipe(recipe);
                 Log.d(TAG, "Recipe deleted from favorites: " + recipe.getName());
             } catch (Exception e) {
                 Log.e(TAG, "Error deleting recipe: " + e.getMessage());
+                favoriteIds.reload();
+            } finally {
+                favoriteIds.settle(recipe.getId());
+            }
+        });
+    }
+
+    /**
+     * DELETE - Remove a favorite by ID (list cards don't hold the full entity)
+     */
+    public void deleteFavoriteById(String recipeId) {
+        notesWriteBuffer.discard(recipeId);
+        favoriteIds.remove(recipeId);
+        favoriteLanes.execute(recipeId, writeExecutor, () -> {
+            try {
+                recipeDao.deleteRecipeById(recipeId);
+                Log.d(TAG, "Recipe deleted from favorites: " + recipeId);
+            } catch (Exception e) {
+                Log.e(TAG, "Error deleting recipe: " + e.getMessage());
+                favoriteIds.reload();
+            } finally {
+                favoriteIds.settle(recipeId);
             }
         });
     }
@@ -251,6 +756,27 @@ public class RecipeRepository {
         return recipeDao.getRecipeById(recipeId);
     }
 
+    /**
+     * READ - Load a favorite with its ingredients, as an API Recipe
+     * Reads the row and its recipe_ingredients once (null if not a favorite)
+     */
+    public LiveData<Recipe> loadFavoriteRecipe(String recipeId) {
+        MutableLiveData<Recipe> result = new MutableLiveData<>();
+        favoriteLanes.execute(recipeId, readExecutor, () -> {
+            try {
+                Recipe recipe = RecipeConverter.favoriteToRecipe(
+                        recipeDao.getRecipeByIdNow(recipeId),
+                        ingredientDao.getIngredientLines(recipeId));
+                notesWriteBuffer.applyPending(recipe);  // Edits not written yet
+                result.postValue(recipe);
+            } catch (Exception e) {
+                Log.e(TAG, "Error loading favorite: " + e.getMessage());
+                result.postValue(null);
+            }
+        });
+        return result;
+    }
+
     /**
      * READ - Search within favorites
      */
@@ -258,6 +784,29 @@ public class RecipeRepository {
         return recipeDao.searchFavorites(query);
     }
 
+    /**
+     * READ - Full-text search in favorites (name, ingredients, instructions,
+     * category, area, notes), best matches first
+     * Every word is a prefix: "chick gar" finds "Chicken with garlic"
+     * Returns list cards; the newest FULL_TEXT_LIMIT hits are ranked
+     */
+    public LiveData<List<FavoriteCard>> searchFavoritesFullText(String query) {
+        MediatorLiveData<List<FavoriteCard>> results = new MediatorLiveData<>();
+
+        String ftsQuery = FullTextSearch.buildQuery(query);
+        if (ftsQuery == null) {
+            results.setValue(new ArrayList<>());
+            return results;
+        }
+
+        // Ranking happens here - matchinfo() weighting isn't available in SQL
+        results.addSource(recipeDao.searchFavoritesFullText(ftsQuery, FULL_TEXT_LIMIT),
+                matches -> results.setValue(matches == null
+                        ? new ArrayList<>()
+                        : FullTextSearch.rank(matches)));
+        return results;
+    }
+
     /**
      * READ - Filter favorites by category
      */
@@ -272,6 +821,42 @@ public class RecipeRepository {
         return recipeDao.getTopRatedRecipes(minRating);
     }
 
+    /**
+     * PAGED READ - All favorites as list cards, loaded one page at a time
+     * Each call returns a new PagingSource (Room invalidates the old one on change)
+     */
+    public PagingSource<Integer, FavoriteCard> getAllFavoritesPaged() {
+        return recipeDao.getAllFavoritesPaged();
+    }
+
+    /**
+     * PAGED READ - Favorites of one category
+     */
+    public PagingSource<Integer, FavoriteCard> getFavoritesByCategoryPaged(String category) {
+        return recipeDao.getFavoritesByCategoryPaged(category);
+    }
+
+    /**
+     * PAGED READ - Top rated favorites
+     */
+    public PagingSource<Integer, FavoriteCard> getTopRatedRecipesPaged(float minRating) {
+        return recipeDao.getTopRatedRecipesPaged(minRating);
+    }
+
+    /**
+     * PAGED READ - Search favorites by name
+     */
+    public PagingSource<Integer, FavoriteCard> searchFavoritesPaged(String query) {
+        return recipeDao.searchFavoritesPaged(query);
+    }
+
+    /**
+     * PAGED READ - Favorites that use an ingredient (any case: "butter" finds "Butter")
+     */
+    public PagingSource<Integer, FavoriteCard> getFavoritesWithIngredientPaged(String ingredient) {
+        return recipeDao.getFavoritesWithIngredientPaged(IngredientEntry.keyOf(ingredient));
+    }
+
     /**
      * READ - Get favorites count
      */
@@ -280,10 +865,46 @@ public class RecipeRepository {
     }
 
     /**
-     * Check if a recipe is favorited (synchronous - use in background)
+     * READ - Favorites summary (count, per category, average rating, last saved)
+     * One aggregate query; results equal to the previous one are not emitted,
+     * so changes that don't affect the summary cause no UI work
+     */
+    public LiveData<FavoritesSummary> getFavoritesSummary() {
+        MediatorLiveData<FavoritesSummary> summary = new MediatorLiveData<>();
+        summary.addSource(recipeDao.getFavoritesSummaryRows(), rows -> {
+            FavoritesSummary updated = FavoritesSummary.of(rows);
+            if (!updated.equals(summary.getValue())) {
+                summary.setValue(updated);
+            }
+        });
+        return summary;
+    }
+
+    /**
+     * Is this recipe a favorite? In-memory lookup, any thread
+     * (false for everything until the set is loaded at startup)
+     */
+    public boolean isFavorite(String recipeId) {
+        return favoriteIds.contains(recipeId);
+    }
+
+    /**
+     * IDs of every favorite, updated on each change (for favorite badges)
+     */
+    public LiveData<Set<String>> getFavoriteIds() {
+        return favoriteIds.asLiveData();
+    }
+
+    /**
+     * Check if a recipe is favorited
+     * Answered from the in-memory set once it's loaded, from the database before that
      */
     public void isRecipeFavorited(String recipeId, FavoriteCheckCallback callback) {
-        executorService.execute(() -> {
+        if (favoriteIds.isLoaded()) {
+            callback.onResult(favoriteIds.contains(recipeId));
+            return;
+        }
+        favoriteLanes.execute(recipeId, readExecutor, () -> {
             boolean isFavorited = recipeDao.isRecipeFavorited(recipeId);
             callback.onResult(isFavorited);
         });
@@ -293,7 +914,11 @@ public class RecipeRepository {
      * DELETE - Clear all favorites
      */
     public void deleteAllFavorites() {
-        executorService.execute(() -> {
+        notesWriteBuffer.discardAll();
+        favoriteIds.clear();
+        // After every save/delete/notes write already queued for any recipe,
+        // and before any submitted later
+        favoriteLanes.executeAfterAll(writeExecutor, () -> {
             try {
                 recipeDao.deleteAllRecipes();
                 Log.d(TAG, "All favorites cleared");
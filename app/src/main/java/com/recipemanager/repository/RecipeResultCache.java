@@ -0,0 +1,240 @@
+package com.recipemanager.repository;
+
+import com.recipemanager.model.Recipe;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory LRU cache for API result lists (search and category filter)
+ * Shared by every RecipeRepository instance so results survive tab switches
+ *
+ * How it works:
+ * - Entries are keyed by endpoint + normalized query ("search:chicken")
+ * - A fresh entry is returned without any network call
+ * - A stale entry (older than the soft TTL) is returned immediately,
+ *   and the repository refreshes it in the background (stale-while-revalidate)
+ * - An expired entry (older than the hard TTL) is treated as a miss
+ * - "No meals" answers are cached too (as a null list)
+ * - Least recently used entries are evicted when there are too many entries
+ *   or the approximate memory size gets too big
+ */
+public class RecipeResultCache {
+
+    // Limits for the cache
+    private static final int MAX_ENTRIES = 50;
+    private static final long MAX_SIZE_BYTES = 2L * 1024 * 1024;  // ~2 MB
+
+    // After this, an entry is shown but refreshed in the background
+    private static final long SOFT_TTL_MS = 60 * 1000;             // 1 minute
+
+    // After this, an entry is not shown at all
+    private static final long HARD_TTL_MS = 30 * 60 * 1000;        // 30 minutes
+
+    // Rough per-object overhead used when estimating memory size
+    private static final int OBJECT_OVERHEAD_BYTES = 16;
+
+    // Singleton instance - one cache for the whole app
+    private static RecipeResultCache instance;
+
+    // LinkedHashMap in access order = least recently used entry comes first
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Current approximate size of all entries
+    private long currentSizeBytes = 0;
+
+    // Statistics
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+    /**
+     * Get the shared cache instance
+     */
+    public static synchronized RecipeResultCache getInstance() {
+        if (instance == null) {
+            instance = new RecipeResultCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Build a cache key from an endpoint name and a user query
+     * Trims and lower-cases the query so "Chicken " and "chicken" share an entry
+     */
+    public static String key(String endpoint, String query) {
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        return endpoint + ":" + normalized;
+    }
+
+    /**
+     * Get a cached entry, or null if missing or expired
+     */
+    public synchronized Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+
+        // Too old to show - drop it
+        if (entry.getAgeMs() > HARD_TTL_MS) {
+            removeEntry(key);
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+        return entry;
+    }
+
+    /**
+     * Store a result list (null = the API answered "no meals")
+     */
+    public void put(String key, List<Recipe> recipes) {
+        put(key, recipes, System.currentTimeMillis());
+    }
+
+    /**
+     * Store a result list downloaded at a given time (tests use it to age entries)
+     */
+    synchronized void put(String key, List<Recipe> recipes, long fetchedAt) {
+        Entry entry = new Entry(recipes, fetchedAt, estimateSize(key, recipes));
+
+        removeEntry(key);
+        entries.put(key, entry);
+        currentSizeBytes += entry.sizeBytes;
+
+        trimToLimits();
+    }
+
+    /**
+     * Remove everything from the cache
+     */
+    public synchronized void clear() {
+        entries.clear();
+        currentSizeBytes = 0;
+    }
+
+    /**
+     * Fraction of lookups answered from the cache (0.0 to 1.0)
+     */
+    public synchronized float getHitRate() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0f : (float) hitCount / total;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public synchronized long getSizeBytes() {
+        return currentSizeBytes;
+    }
+
+    /**
+     * Evict least recently used entries until both limits are respected
+     */
+    private void trimToLimits() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > MAX_ENTRIES || currentSizeBytes > MAX_SIZE_BYTES) && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            currentSizeBytes -= eldest.getValue().sizeBytes;
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    private void removeEntry(String key) {
+        Entry old = entries.remove(key);
+        if (old != null) {
+            currentSizeBytes -= old.sizeBytes;
+        }
+    }
+
+    /**
+     * Rough memory estimate: 2 bytes per char of every string field we display
+     * Good enough to keep the cache bounded, doesn't need to be exact
+     */
+    private static int estimateSize(String key, List<Recipe> recipes) {
+        int size = OBJECT_OVERHEAD_BYTES + key.length() * 2;
+        if (recipes == null) {
+            return size;
+        }
+
+        for (Recipe recipe : recipes) {
+            size += OBJECT_OVERHEAD_BYTES;
+            size += stringSize(recipe.getId());
+            size += stringSize(recipe.getName());
+            size += stringSize(recipe.getCategory());
+            size += stringSize(recipe.getArea());
+            size += stringSize(recipe.getInstructions());
+            size += stringSize(recipe.getImageUrl());
+            size += stringSize(recipe.getVideoUrl());
+            size += stringSize(recipe.getFormattedIngredients());
+        }
+        return size;
+    }
+
+    private static int stringSize(String value) {
+        return value == null ? 0 : OBJECT_OVERHEAD_BYTES + value.length() * 2;
+    }
+
+    /**
+     * One cached result list
+     */
+    public static class Entry {
+
+        // Null means the API returned no meals (negative answer)
+        private final List<Recipe> recipes;
+
+        // When the list was downloaded
+        private final long fetchedAt;
+
+        // Approximate memory size
+        private final int sizeBytes;
+
+        Entry(List<Recipe> recipes, long fetchedAt, int sizeBytes) {
+            this.recipes = recipes;
+            this.fetchedAt = fetchedAt;
+            this.sizeBytes = sizeBytes;
+        }
+
+        public List<Recipe> getRecipes() {
+            return recipes;
+        }
+
+        /**
+         * True if the API answered "no meals" for this query
+         */
+        public boolean isNegative() {
+            return recipes == null;
+        }
+
+        /**
+         * True if the entry should be refreshed in the background
+         */
+        public boolean isStale() {
+            return getAgeMs() > SOFT_TTL_MS;
+        }
+
+        long getAgeMs() {
+            return System.currentTimeMillis() - fetchedAt;
+        }
+    }
+}
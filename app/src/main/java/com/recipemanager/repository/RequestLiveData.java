@@ -0,0 +1,38 @@
+package com.recipemanager.repository;
+
+import androidx.lifecycle.MutableLiveData;
+
+import com.recipemanager.api.RequestCoalescer;
+
+/**
+ * LiveData returned by the repository for API requests
+ * Same as MutableLiveData, but the caller can cancel() when it no longer
+ * needs the result (e.g. the screen is closed)
+ * Cancelling only stops the HTTP call if no other caller is waiting for it
+ */
+public class RequestLiveData<T> extends MutableLiveData<T> {
+
+    // Link to the (possibly shared) API request - null if answered from cache
+    private RequestCoalescer.Subscription subscription;
+
+    public RequestLiveData() {
+    }
+
+    public RequestLiveData(T value) {
+        super(value);
+    }
+
+    void setSubscription(RequestCoalescer.Subscription subscription) {
+        this.subscription = subscription;
+    }
+
+    /**
+     * Stop waiting for the API result
+     */
+    public void cancel() {
+        if (subscription != null) {
+            subscription.cancel();
+            subscription = null;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.recipemanager.repository;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+
+import com.bumptech.glide.Glide;
+import com.recipemanager.api.MealApiService;
+import com.recipemanager.api.RetrofitClient;
+import com.recipemanager.database.RecipeDatabase;
+import com.recipemanager.database.TaxonomyDao;
+import com.recipemanager.database.TaxonomyEntry;
+import com.recipemanager.model.Category;
+import com.recipemanager.model.CategoryResponse;
+import com.recipemanager.model.MealResponse;
+import com.recipemanager.model.Recipe;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import retrofit2.Response;
+
+/**
+ * Keeps a local copy of the API's categories (categories.php)
+ * and areas (list.php?a=list) in Room (taxonomy table)
+ *
+ * - The UI reads the lists from Room, so the chips appear at startup
+ *   without waiting for the network (built-in defaults until the first download)
+ * - The lists are downloaded again once they are older than TTL_MS
+ * - Each list has a version stamp (hash of its content): if it didn't change,
+ *   only the download time is updated and the thumbnails aren't fetched again
+ * - Category thumbnails are downloaded into Glide's disk cache in the background
+ */
+public class TaxonomyManager {
+
+    private static final String TAG = "TaxonomyManager";
+
+    // Categories and areas almost never change
+    private static final long TTL_MS = 7L * 24 * 60 * 60 * 1000;  // 7 days
+
+    // Shown until the first download finishes
+    private static final List<String> DEFAULT_CATEGORIES = Collections.unmodifiableList(Arrays.asList(
+            "Chicken", "Beef", "Seafood", "Vegetarian",
+            "Dessert", "Pasta", "Pork", "Breakfast"));
+
+    // Singleton instance
+    private static TaxonomyManager instance;
+
+    private final Context appContext;
+    private final RecipeDatabase database;
+    private final TaxonomyDao taxonomyDao;
+    private final MealApiService apiService;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    // True while a refresh is running (only one at a time)
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    // Category / area names from Room (defaults while Room is empty)
+    private final MediatorLiveData<List<String>> categoryNames = new MediatorLiveData<>();
+    private final MediatorLiveData<List<String>> areaNames = new MediatorLiveData<>();
+
+    private TaxonomyManager(Context context) {
+        appContext = context;
+        database = RecipeDatabase.getInstance(context);
+        taxonomyDao = database.taxonomyDao();
+        RetrofitClient.init(context);
+        apiService = RetrofitClient.getApiService();
+
+        categoryNames.addSource(taxonomyDao.observeByType(TaxonomyEntry.TYPE_CATEGORY),
+                entries -> categoryNames.setValue(entries == null || entries.isEmpty()
+                        ? DEFAULT_CATEGORIES
+                        : namesOf(entries)));
+        areaNames.addSource(taxonomyDao.observeByType(TaxonomyEntry.TYPE_AREA),
+                entries -> areaNames.setValue(entries == null
+                        ? Collections.<String>emptyList()
+                        : namesOf(entries)));
+    }
+
+    /**
+     * Get the shared taxonomy manager
+     */
+    public static synchronized TaxonomyManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new TaxonomyManager(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Category names for the filter chips (local copy, never waits for the network)
+     */
+    public LiveData<List<String>> getCategoryNames() {
+        return categoryNames;
+    }
+
+    /**
+     * Area (cuisine) names (local copy, empty until the first download)
+     */
+    public LiveData<List<String>> getAreaNames() {
+        return areaNames;
+    }
+
+    /**
+     * Download the lists again if they are missing or older than the TTL
+     */
+    public void refreshIfStale() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        executor.execute(() -> {
+            try {
+                long now = System.currentTimeMillis();
+                if (isStale(TaxonomyEntry.TYPE_CATEGORY, now)) {
+                    refreshCategories(now);
+                }
+                if (isStale(TaxonomyEntry.TYPE_AREA, now)) {
+                    refreshAreas(now);
+                }
+            } catch (IOException e) {
+                // Keep using the local copy - we'll try again next time
+                Log.e(TAG, "Taxonomy refresh failed: " + e.getMessage());
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    private boolean isStale(String type, long now) {
+        List<TaxonomyEntry> entries = taxonomyDao.getByType(type);
+        return entries.isEmpty() || now - entries.get(0).getFetchedAt() > TTL_MS;
+    }
+
+    private void refreshCategories(long now) throws IOException {
+        Response<CategoryResponse> response = apiService.getCategories().execute();
+        if (!response.isSuccessful() || response.body() == null || !response.body().hasResults()) {
+            Log.e(TAG, "Categories refresh failed: " + response.code());
+            return;
+        }
+
+        List<String> names = new ArrayList<>();
+        List<String> thumbUrls = new ArrayList<>();
+        for (Category category : response.body().getCategories()) {
+            if (category.getName() != null) {
+                names.add(category.getName());
+                thumbUrls.add(category.getThumbUrl());
+            }
+        }
+
+        if (store(TaxonomyEntry.TYPE_CATEGORY, names, thumbUrls, now)) {
+            precacheThumbnails(thumbUrls);
+        }
+    }
+
+    private void refreshAreas(long now) throws IOException {
+        Response<MealResponse> response = apiService.listAreas().execute();
+        if (!response.isSuccessful() || response.body() == null || !response.body().hasResults()) {
+            Log.e(TAG, "Areas refresh failed: " + response.code());
+            return;
+        }
+
+        List<String> names = new ArrayList<>();
+        List<String> thumbUrls = new ArrayList<>();
+        for (Recipe area : response.body().getMeals()) {
+            if (area.getArea() != null) {
+                names.add(area.getArea());
+                thumbUrls.add(null);
+            }
+        }
+
+        store(TaxonomyEntry.TYPE_AREA, names, thumbUrls, now);
+    }
+
+    /**
+     * Replace a stored list in one transaction
+     * Returns true if its content changed (new version)
+     */
+    private boolean store(String type, List<String> names, List<String> thumbUrls, long now) {
+        int version = 31 * names.hashCode() + thumbUrls.hashCode();
+        boolean changed = version != taxonomyDao.getVersion(type);
+
+        List<TaxonomyEntry> entries = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            entries.add(new TaxonomyEntry(type, names.get(i), thumbUrls.get(i), i, version, now));
+        }
+
+        database.runInTransaction(() -> {
+            taxonomyDao.deleteByType(type);
+            taxonomyDao.insertAll(entries);
+        });
+
+        Log.d(TAG, type + " list refreshed: " + names.size() + " entries"
+                + (changed ? " (new version " + version + ")" : " (unchanged)"));
+        return changed;
+    }
+
+    /**
+     * Download images into Glide's disk cache (not decoded, no memory used)
+     */
+    private void precacheThumbnails(List<String> thumbUrls) {
+        for (String url : thumbUrls) {
+            if (url != null) {
+                Glide.with(appContext).downloadOnly().load(url).submit();
+            }
+        }
+    }
+
+    private static List<String> namesOf(List<TaxonomyEntry> entries) {
+        List<String> names = new ArrayList<>(entries.size());
+        for (TaxonomyEntry entry : entries) {
+            names.add(entry.getName());
+        }
+        return names;
+    }
+}
@@ -8,25 +8,47 @@ import android.widget.RatingBar;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions;
 import com.recipemanager.R;
-import com.recipemanager.database.FavoriteRecipe;
+import com.recipemanager.database.FavoriteCard;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Objects;
 
 /**
  * Adapter for displaying favorite recipes from database
  * Used in FavoritesFragment
  * Shows additional info like rating and notes
+ * Binds FavoriteCard projections - the full recipe is loaded by the detail screen
+ *
+ * Paged: rows arrive page by page (submitData) and DiffUtil only rebinds
+ * the cards that actually changed
  */
-public class FavoriteAdapter extends RecyclerView.Adapter<FavoriteAdapter.FavoriteViewHolder> {
-
-    // List of favorite recipes
-    private List<FavoriteRecipe> favorites = new ArrayList<>();
+public class FavoriteAdapter extends PagingDataAdapter<FavoriteCard, FavoriteAdapter.FavoriteViewHolder> {
+
+    // Same recipe = same ID, same content = every field shown on the card is equal
+    private static final DiffUtil.ItemCallback<FavoriteCard> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<FavoriteCard>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull FavoriteCard oldItem, @NonNull FavoriteCard newItem) {
+                    return oldItem.id.equals(newItem.id);
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull FavoriteCard oldItem, @NonNull FavoriteCard newItem) {
+                    return Objects.equals(oldItem.name, newItem.name)
+                            && Objects.equals(oldItem.imageUrl, newItem.imageUrl)
+                            && Objects.equals(oldItem.category, newItem.category)
+                            && Objects.equals(oldItem.area, newItem.area)
+                            && Objects.equals(oldItem.notesSnippet, newItem.notesSnippet)
+                            && oldItem.notesTruncated == newItem.notesTruncated
+                            && oldItem.rating == newItem.rating;
+                }
+            };
 
     // Click listener interface
     private OnFavoriteClickListener clickListener;
@@ -35,8 +57,12 @@ public class FavoriteAdapter extends RecyclerView.Adapter<FavoriteAdapter.Favori
      * Interface for handling favorite clicks
      */
     public interface OnFavoriteClickListener {
-        void onFavoriteClick(FavoriteRecipe favorite);
-        void onFavoriteDelete(FavoriteRecipe favorite);
+        void onFavoriteClick(FavoriteCard favorite);
+        void onFavoriteDelete(FavoriteCard favorite);
+    }
+
+    public FavoriteAdapter() {
+        super(DIFF_CALLBACK);
     }
 
     /**
@@ -47,21 +73,12 @@ public class FavoriteAdapter extends RecyclerView.Adapter<FavoriteAdapter.Favori
     }
 
     /**
-     * Update the favorites list
-     */
-    public void setFavorites(List<FavoriteRecipe> newFavorites) {
-        if (newFavorites != null) {
-            this.favorites = newFavorites;
-            notifyDataSetChanged();
-        }
-    }
-
-    /**
-     * Get favorite at specific position
+     * Get favorite at specific position (null if not loaded)
+     * peek() doesn't trigger a page load, unlike getItem()
      */
-    public FavoriteRecipe getFavoriteAt(int position) {
-        if (position >= 0 && position < favorites.size()) {
-            return favorites.get(position);
+    public FavoriteCard getFavoriteAt(int position) {
+        if (position >= 0 && position < getItemCount()) {
+            return peek(position);
         }
         return null;
     }
@@ -78,7 +95,10 @@ public class FavoriteAdapter extends RecyclerView.Adapter<FavoriteAdapter.Favori
     @Override
     public void onBindViewHolder(@NonNull FavoriteViewHolder holder, int position) {
         // Get the favorite at this position
-        FavoriteRecipe favorite = favorites.get(position);
+        FavoriteCard favorite = getItem(position);
+        if (favorite == null) {
+            return;  // Not loaded yet
+        }
 
         // Bind data to views
         holder.bind(favorite);
@@ -100,11 +120,6 @@ public class FavoriteAdapter extends RecyclerView.Adapter<FavoriteAdapter.Favori
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return favorites.size();
-    }
-
     /**
      * ViewHolder for favorite items
      */
@@ -130,28 +145,29 @@ public class FavoriteAdapter extends RecyclerView.Adapter<FavoriteAdapter.Favori
         /**
          * Bind favorite recipe data to views
          */
-        public void bind(FavoriteRecipe favorite) {
+        public void bind(FavoriteCard favorite) {
             // Set recipe name
-            recipeName.setText(favorite.getName());
+            recipeName.setText(favorite.name);
 
             // Set category and area
-            String categoryText = favorite.getCategory();
-            if (favorite.getArea() != null && !favorite.getArea().isEmpty()) {
-                categoryText += " • " + favorite.getArea();
+            String categoryText = favorite.category;
+            if (favorite.area != null && !favorite.area.isEmpty()) {
+                categoryText += " • " + favorite.area;
             }
             recipeCategory.setText(categoryText);
 
             // Set rating (show only if rated)
-            if (favorite.getRating() > 0) {
-                ratingBar.setRating(favorite.getRating());
+            if (favorite.rating > 0) {
+                ratingBar.setRating(favorite.rating);
                 ratingBar.setVisibility(View.VISIBLE);
             } else {
                 ratingBar.setVisibility(View.GONE);
             }
 
-            // Set user notes (show only if not empty)
-            if (favorite.getUserNotes() != null && !favorite.getUserNotes().trim().isEmpty()) {
-                userNotes.setText("📝 " + favorite.getUserNotes());
+            // Set user notes snippet (show only if not empty)
+            if (favorite.notesSnippet != null && !favorite.notesSnippet.trim().isEmpty()) {
+                String notes = favorite.notesTruncated ? favorite.notesSnippet + "…" : favorite.notesSnippet;
+                userNotes.setText("📝 " + notes);
                 userNotes.setVisibility(View.VISIBLE);
             } else {
                 userNotes.setVisibility(View.GONE);
@@ -159,7 +175,7 @@ public class FavoriteAdapter extends RecyclerView.Adapter<FavoriteAdapter.Favori
 
             // Load image using Glide
             Glide.with(itemView.getContext())
-                    .load(favorite.getImageUrl())
+                    .load(favorite.imageUrl)
                     .transition(DrawableTransitionOptions.withCrossFade())
                     .placeholder(R.color.background_gray)
                     .error(R.color.error)
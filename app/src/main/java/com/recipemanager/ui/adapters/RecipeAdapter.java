@@ -15,7 +15,10 @@ import com.recipemanager.R;
 import com.recipemanager.model.Recipe;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Adapter for displaying recipes from API in a grid
@@ -26,6 +29,12 @@ public class RecipeAdapter extends RecyclerView.Adapter<RecipeAdapter.RecipeView
     // List of recipes to display
     private List<Recipe> recipes = new ArrayList<>();
 
+    // IDs of favorite recipes (star badge on their cards)
+    private Set<String> favoriteIds = Collections.emptySet();
+
+    // Partial rebind: only the badge changed
+    private static final Object PAYLOAD_FAVORITE = new Object();
+
     // Click listener interface
     private OnRecipeClickListener clickListener;
 
@@ -48,8 +57,62 @@ public class RecipeAdapter extends RecyclerView.Adapter<RecipeAdapter.RecipeView
      */
     public void setRecipes(List<Recipe> newRecipes) {
         if (newRecipes != null) {
-            this.recipes = newRecipes;
-            notifyDataSetChanged();  // Notify adapter that data changed
+            // Streamed lists grow chunk by chunk - only add and bind the new cards
+            // (keeps cards already hydrated by updateRecipe)
+            if (extendsList(recipes, newRecipes)) {
+                int oldSize = recipes.size();
+                recipes.addAll(newRecipes.subList(oldSize, newRecipes.size()));
+                notifyItemRangeInserted(oldSize, newRecipes.size() - oldSize);
+            } else {
+                this.recipes = new ArrayList<>(newRecipes);  // Own copy (cards get replaced when hydrated)
+                notifyDataSetChanged();  // Notify adapter that data changed
+            }
+        }
+    }
+
+    /**
+     * Check if the new list is the old list with more recipes added at the end
+     */
+    private static boolean extendsList(List<Recipe> oldRecipes, List<Recipe> newRecipes) {
+        if (oldRecipes.isEmpty() || newRecipes.size() <= oldRecipes.size()) {
+            return false;
+        }
+        for (int i = 0; i < oldRecipes.size(); i++) {
+            if (!Objects.equals(oldRecipes.get(i).getId(), newRecipes.get(i).getId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replace a card's recipe with its full details (e.g. after a prefetch)
+     * Lets the card show its category instead of "Unknown"
+     */
+    public void updateRecipe(Recipe details) {
+        if (details == null || details.getId() == null) {
+            return;
+        }
+        for (int i = 0; i < recipes.size(); i++) {
+            if (details.getId().equals(recipes.get(i).getId())) {
+                recipes.set(i, details);
+                notifyItemChanged(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Update the favorite IDs - only cards whose badge changes are rebound
+     */
+    public void setFavoriteIds(Set<String> newFavoriteIds) {
+        Set<String> oldFavoriteIds = favoriteIds;
+        favoriteIds = newFavoriteIds != null ? newFavoriteIds : Collections.emptySet();
+        for (int i = 0; i < recipes.size(); i++) {
+            String id = recipes.get(i).getId();
+            if (oldFavoriteIds.contains(id) != favoriteIds.contains(id)) {
+                notifyItemChanged(i, PAYLOAD_FAVORITE);
+            }
         }
     }
 
@@ -79,6 +142,7 @@ public class RecipeAdapter extends RecyclerView.Adapter<RecipeAdapter.RecipeView
 
         // Bind data to views
         holder.bind(recipe);
+        holder.bindFavorite(favoriteIds.contains(recipe.getId()));
 
         // Set click listener
         holder.itemView.setOnClickListener(v -> {
@@ -88,6 +152,16 @@ public class RecipeAdapter extends RecyclerView.Adapter<RecipeAdapter.RecipeView
         });
     }
 
+    @Override
+    public void onBindViewHolder(@NonNull RecipeViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(PAYLOAD_FAVORITE)) {
+            // Only the badge changed - keep the image and texts as they are
+            holder.bindFavorite(favoriteIds.contains(recipes.get(position).getId()));
+        } else {
+            super.onBindViewHolder(holder, position, payloads);
+        }
+    }
+
     @Override
     public int getItemCount() {
         return recipes.size();
@@ -101,6 +175,7 @@ public class RecipeAdapter extends RecyclerView.Adapter<RecipeAdapter.RecipeView
         private final ImageView recipeImage;
         private final TextView recipeName;
         private final TextView recipeCategory;
+        private final ImageView favoriteBadge;
 
         public RecipeViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -109,6 +184,14 @@ public class RecipeAdapter extends RecyclerView.Adapter<RecipeAdapter.RecipeView
             recipeImage = itemView.findViewById(R.id.recipe_image);
             recipeName = itemView.findViewById(R.id.recipe_name);
             recipeCategory = itemView.findViewById(R.id.recipe_category);
+            favoriteBadge = itemView.findViewById(R.id.favorite_badge);
+        }
+
+        /**
+         * Show the star if the recipe is a favorite
+         */
+        public void bindFavorite(boolean isFavorite) {
+            favoriteBadge.setVisibility(isFavorite ? View.VISIBLE : View.GONE);
         }
 
         /**
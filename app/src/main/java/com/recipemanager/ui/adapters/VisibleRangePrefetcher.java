@@ -0,0 +1,156 @@
+package com.recipemanager.ui.adapters;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.recipemanager.model.Recipe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Scroll listener that decides which recipe cards should have their full
+ * details prefetched (visible cards + a few rows ahead)
+ * filter.php only returns id, name and image, so this lets the detail screen
+ * open instantly and the cards show their category
+ *
+ * Adapts to scroll speed:
+ * - Idle or slow scrolling → prefetch up to MAX_LOOKAHEAD_ROWS rows ahead
+ * - Medium speed          → only one row ahead
+ * - Fast fling            → prefetch nothing (the cards fly by anyway)
+ * The window is recomputed when scrolling stops
+ *
+ * Only reports the window - the ViewModel does the actual requests
+ * (and cancels the ones for cards that left the window)
+ */
+public class VisibleRangePrefetcher extends RecyclerView.OnScrollListener {
+
+    // Rows to prefetch ahead of the visible ones (when scrolling slowly)
+    private static final int MAX_LOOKAHEAD_ROWS = 3;
+
+    // Scroll speeds in pixels per millisecond
+    private static final float MEDIUM_SCROLL_SPEED = 1.5f;
+    private static final float FAST_SCROLL_SPEED = 4f;
+
+    /**
+     * Receives the IDs of the recipes that should be prefetched
+     */
+    public interface WindowListener {
+        void onPrefetchWindowChanged(List<String> recipeIds);
+    }
+
+    private final RecipeAdapter adapter;
+    private final WindowListener listener;
+
+    // Used to compute the scroll speed
+    private long lastScrollTime = 0;
+    private int lastDirection = 1;
+
+    // Last window sent to the listener (to avoid sending the same one twice)
+    private List<String> lastWindow = Collections.emptyList();
+
+    public VisibleRangePrefetcher(RecipeAdapter adapter, WindowListener listener) {
+        this.adapter = adapter;
+        this.listener = listener;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        long now = SystemClock.uptimeMillis();
+        long elapsed = Math.max(1, now - lastScrollTime);
+        lastScrollTime = now;
+
+        if (dy != 0) {
+            lastDirection = dy > 0 ? 1 : -1;
+        }
+
+        float speed = Math.abs(dy) / (float) elapsed;
+        int lookaheadRows;
+        if (speed >= FAST_SCROLL_SPEED) {
+            // Flinging - drop everything, catch up when scrolling stops
+            dispatch(Collections.emptyList());
+            return;
+        } else if (speed >= MEDIUM_SCROLL_SPEED) {
+            lookaheadRows = 1;
+        } else {
+            lookaheadRows = MAX_LOOKAHEAD_ROWS;
+        }
+
+        updateWindow(recyclerView, lookaheadRows);
+    }
+
+    @Override
+    public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+        if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+            updateWindow(recyclerView, MAX_LOOKAHEAD_ROWS);
+        }
+    }
+
+    /**
+     * Recompute the window without a scroll event (e.g. after new results are shown)
+     */
+    public void refresh(RecyclerView recyclerView) {
+        updateWindow(recyclerView, MAX_LOOKAHEAD_ROWS);
+    }
+
+    /**
+     * Collect the IDs of visible + upcoming cards that still lack full details
+     */
+    private void updateWindow(RecyclerView recyclerView, int lookaheadRows) {
+        if (!(recyclerView.getLayoutManager() instanceof LinearLayoutManager)) {
+            return;
+        }
+        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION || last == RecyclerView.NO_POSITION) {
+            dispatch(Collections.emptyList());
+            return;
+        }
+
+        // Extend the window in the scroll direction
+        int spanCount = layoutManager instanceof GridLayoutManager
+                ? ((GridLayoutManager) layoutManager).getSpanCount()
+                : 1;
+        int lookahead = lookaheadRows * spanCount;
+
+        // Visible cards first, so they get the first request slots
+        List<String> recipeIds = new ArrayList<>();
+        addRange(recipeIds, first, last);
+        if (lastDirection > 0) {
+            addRange(recipeIds, last + 1, last + lookahead);
+        } else {
+            addRange(recipeIds, first - lookahead, first - 1);
+        }
+
+        dispatch(recipeIds);
+    }
+
+    /**
+     * Add the IDs of cards in [from, to] that still lack full details
+     */
+    private void addRange(List<String> recipeIds, int from, int to) {
+        int start = Math.max(0, from);
+        int end = Math.min(adapter.getItemCount() - 1, to);
+        for (int position = start; position <= end; position++) {
+            Recipe recipe = adapter.getRecipeAt(position);
+            if (recipe != null && recipe.getId() != null && recipe.getInstructions() == null) {
+                recipeIds.add(recipe.getId());
+            }
+        }
+    }
+
+    private void dispatch(List<String> recipeIds) {
+        if (recipeIds.equals(lastWindow)) {
+            return;
+        }
+        lastWindow = recipeIds;
+        listener.onPrefetchWindowChanged(recipeIds);
+    }
+}
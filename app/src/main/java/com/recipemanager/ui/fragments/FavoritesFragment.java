@@ -13,15 +13,18 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.paging.LoadState;
 import androidx.recyclerview.widget.ItemTouchHelper;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.recipemanager.R;
-import com.recipemanager.database.FavoriteRecipe;
+import com.recipemanager.database.FavoriteCard;
 import com.recipemanager.ui.adapters.FavoriteAdapter;
 import com.recipemanager.viewmodel.FavoritesViewModel;
 
+import kotlin.Unit;
+
 /**
  * FavoritesFragment - Display saved favorite recipes
  * Features:
@@ -89,13 +92,13 @@ public class FavoritesFragment extends Fragment {
         // Set click listeners
         favoriteAdapter.setOnFavoriteClickListener(new FavoriteAdapter.OnFavoriteClickListener() {
             @Override
-            public void onFavoriteClick(FavoriteRecipe favorite) {
+            public void onFavoriteClick(FavoriteCard favorite) {
                 // Navigate to detail fragment
                 openFavoriteDetail(favorite);
             }
 
             @Override
-            public void onFavoriteDelete(FavoriteRecipe favorite) {
+            public void onFavoriteDelete(FavoriteCard favorite) {
                 // Show delete confirmation dialog
                 showDeleteDialog(favorite);
             }
@@ -126,7 +129,7 @@ public class FavoritesFragment extends Fragment {
             public void onSwiped(@NonNull RecyclerView.ViewHolder viewHolder, int direction) {
                 // Get the position of swiped item
                 int position = viewHolder.getAdapterPosition();
-                FavoriteRecipe favorite = favoriteAdapter.getFavoriteAt(position);
+                FavoriteCard favorite = favoriteAdapter.getFavoriteAt(position);
 
                 if (favorite != null) {
                     // Show confirmation dialog
@@ -144,29 +147,31 @@ public class FavoritesFragment extends Fragment {
      * Observe ViewModel LiveData
      */
     private void observeViewModel() {
-        // Observe all favorites
-        viewModel.getAllFavorites().observe(getViewLifecycleOwner(), favorites -> {
-            if (favorites != null && !favorites.isEmpty()) {
-                // Update adapter
-                favoriteAdapter.setFavorites(favorites);
-                showFavorites();
-
-                // Update title with count
-                String title = "My Favorites (" + favorites.size() + ")";
-                favoritesTitle.setText(title);
-            } else {
-                // Show empty state
-                showEmptyState();
+        // Observe favorites, one page at a time
+        viewModel.getPagedFavorites().observe(getViewLifecycleOwner(), pagingData ->
+                favoriteAdapter.submitData(getViewLifecycleOwner().getLifecycle(), pagingData));
+
+        // Empty state once the first page is loaded (the list is paged, so check the adapter)
+        favoriteAdapter.addLoadStateListener(loadStates -> {
+            if (loadStates.getRefresh() instanceof LoadState.NotLoading) {
+                if (favoriteAdapter.getItemCount() > 0) {
+                    showFavorites();
+                } else {
+                    showEmptyState();
+                }
             }
+            return Unit.INSTANCE;
         });
 
-        // Observe favorites count
-        viewModel.getFavoritesCount().observe(getViewLifecycleOwner(), count -> {
-            if (count != null && count > 0) {
-                String title = "My Favorites (" + count + ")";
+        // Observe the summary (only emitted when it changes)
+        viewModel.getFavoritesSummary().observe(getViewLifecycleOwner(), summary -> {
+            String title = summary.getCount() > 0
+                    ? "My Favorites (" + summary.getCount() + ")"
+                    : getString(R.string.nav_favorites);
+
+            // A rating change updates the summary but not the title
+            if (!title.contentEquals(favoritesTitle.getText())) {
                 favoritesTitle.setText(title);
-            } else {
-                favoritesTitle.setText(R.string.nav_favorites);
             }
         });
     }
@@ -174,8 +179,8 @@ public class FavoritesFragment extends Fragment {
     /**
      * Navigate to recipe detail fragment
      */
-    private void openFavoriteDetail(FavoriteRecipe favorite) {
-        RecipeDetailFragment detailFragment = RecipeDetailFragment.newInstanceFromFavorite(favorite);
+    private void openFavoriteDetail(FavoriteCard favorite) {
+        RecipeDetailFragment detailFragment = RecipeDetailFragment.newInstanceFromFavorite(favorite.id);
 
         // Navigate to detail fragment
         getParentFragmentManager()
@@ -188,28 +193,44 @@ public class FavoritesFragment extends Fragment {
     /**
      * Show delete confirmation dialog
      */
-    private void showDeleteDialog(FavoriteRecipe favorite) {
+    private void showDeleteDialog(FavoriteCard favorite) {
         new AlertDialog.Builder(getContext())
                 .setTitle("Delete Recipe")
-                .setMessage("Are you sure you want to delete \"" + favorite.getName() + "\" from your favorites?")
+                .setMessage("Are you sure you want to delete \"" + favorite.name + "\" from your favorites?")
                 .setPositiveButton("Delete", (dialog, which) -> {
                     // Delete the favorite
                     deleteFavorite(favorite);
                 })
                 .setNegativeButton("Cancel", (dialog, which) -> {
-                    // Refresh adapter to restore swiped item
-                    favoriteAdapter.notifyDataSetChanged();
+                    // Rebind the swiped item to restore it
+                    int position = findPosition(favorite);
+                    if (position != RecyclerView.NO_POSITION) {
+                        favoriteAdapter.notifyItemChanged(position);
+                    }
                     dialog.dismiss();
                 })
                 .setCancelable(false)
                 .show();
     }
 
+    /**
+     * Position of a favorite among the loaded rows (NO_POSITION if not loaded)
+     */
+    private int findPosition(FavoriteCard favorite) {
+        for (int i = 0; i < favoriteAdapter.getItemCount(); i++) {
+            FavoriteCard item = favoriteAdapter.getFavoriteAt(i);
+            if (item != null && item.id.equals(favorite.id)) {
+                return i;
+            }
+        }
+        return RecyclerView.NO_POSITION;
+    }
+
     /**
      * Delete a favorite recipe
      */
-    private void deleteFavorite(FavoriteRecipe favorite) {
-        viewModel.deleteFavorite(favorite);
+    private void deleteFavorite(FavoriteCard favorite) {
+        viewModel.deleteFavoriteById(favorite.id);
         Toast.makeText(getContext(), "Recipe deleted from favorites", Toast.LENGTH_SHORT).show();
     }
 
@@ -23,7 +23,6 @@ import com.bumptech.glide.Glide;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.recipemanager.R;
-import com.recipemanager.database.FavoriteRecipe;
 import com.recipemanager.model.Recipe;
 import com.recipemanager.viewmodel.RecipeDetailViewModel;
 
@@ -62,7 +61,7 @@ public class RecipeDetailFragment extends Fragment {
 
     // Bundle keys
     private static final String ARG_RECIPE = "recipe";
-    private static final String ARG_FAVORITE = "favorite";
+    private static final String ARG_FAVORITE_ID = "favorite_id";
 
     /**
      * Create new instance with Recipe object
@@ -76,12 +75,13 @@ public class RecipeDetailFragment extends Fragment {
     }
 
     /**
-     * Create new instance with FavoriteRecipe object
+     * Create new instance for a saved favorite
+     * Only the ID is passed - the full recipe is loaded from the database
      */
-    public static RecipeDetailFragment newInstanceFromFavorite(FavoriteRecipe favorite) {
+    public static RecipeDetailFragment newInstanceFromFavorite(String favoriteId) {
         RecipeDetailFragment fragment = new RecipeDetailFragment();
         Bundle args = new Bundle();
-        args.putSerializable(ARG_FAVORITE, favorite);
+        args.putString(ARG_FAVORITE_ID, favoriteId);
         fragment.setArguments(args);
         return fragment;
     }
@@ -113,6 +113,13 @@ public class RecipeDetailFragment extends Fragment {
         observeViewModel();
     }
 
+    @Override
+    public void onStop() {
+        super.onStop();
+        // Notes/rating saves are written in batches - don't keep them waiting once the screen is gone
+        viewModel.flushPendingEdits();
+    }
+
     /**
      * Initialize all view references
      */
@@ -137,17 +144,21 @@ public class RecipeDetailFragment extends Fragment {
     private void loadRecipeFromArguments() {
         if (getArguments() != null) {
             // Check if coming from favorites
-            if (getArguments().containsKey(ARG_FAVORITE)) {
-                FavoriteRecipe favorite = (FavoriteRecipe) getArguments().getSerializable(ARG_FAVORITE);
-                if (favorite != null) {
-                    viewModel.setCurrentFavorite(favorite);
+            if (getArguments().containsKey(ARG_FAVORITE_ID)) {
+                String favoriteId = getArguments().getString(ARG_FAVORITE_ID);
+                if (favoriteId != null) {
                     isFromFavorites = true;
+                    // Skip the read when the ViewModel survived a rotation
+                    if (viewModel.getCurrentRecipe().getValue() == null) {
+                        viewModel.loadFavorite(favoriteId);
+                    }
                 }
             }
             // Check if coming from search/API
             else if (getArguments().containsKey(ARG_RECIPE)) {
                 Recipe recipe = (Recipe) getArguments().getSerializable(ARG_RECIPE);
-                if (recipe != null) {
+                // Skip the details lookup when the ViewModel survived a rotation
+                if (recipe != null && viewModel.getCurrentRecipe().getValue() == null) {
                     viewModel.setCurrentRecipe(recipe);
                 }
             }
@@ -25,13 +25,20 @@ import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.recipemanager.R;
 import com.recipemanager.model.Recipe;
 import com.recipemanager.ui.adapters.RecipeAdapter;
+import com.recipemanager.ui.adapters.VisibleRangePrefetcher;
 import com.recipemanager.viewmodel.SearchViewModel;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * SearchFragment - Browse and search recipes from API
  * Features:
  * - Search by name
- * - Filter by category
+ * - Filter by categories and areas (several at once)
  * - Random recipe button
  * - Pull to refresh
  */
@@ -52,11 +59,16 @@ public class SearchFragment extends Fragment {
     // Adapter for RecyclerView
     private RecipeAdapter recipeAdapter;
 
-    // Available categories for filtering
-    private final String[] categories = {
-            "Chicken", "Beef", "Seafood", "Vegetarian",
-            "Dessert", "Pasta", "Pork", "Breakfast"
-    };
+    // Prefetches full details for visible cards
+    private VisibleRangePrefetcher prefetcher;
+
+    // Filter chip lists (from the local taxonomy copy)
+    private List<String> categories = Collections.emptyList();
+    private List<String> areas = Collections.emptyList();
+
+    // Checked chips (kept when the chips are rebuilt)
+    private final Set<String> selectedCategories = new LinkedHashSet<>();
+    private final Set<String> selectedAreas = new LinkedHashSet<>();
 
     @Nullable
     @Override
@@ -79,9 +91,6 @@ public class SearchFragment extends Fragment {
         // Setup RecyclerView
         setupRecyclerView();
 
-        // Setup category chips
-        setupCategoryChips();
-
         // Setup search functionality
         setupSearch();
 
@@ -130,37 +139,82 @@ public class SearchFragment extends Fragment {
         recipesRecyclerView.setLayoutManager(new GridLayoutManager(getContext(), 2));
         recipesRecyclerView.setAdapter(recipeAdapter);
         recipesRecyclerView.setHasFixedSize(true);  // Performance optimization
+
+        // Load details of visible cards in the background (filter results only have name + image)
+        prefetcher = new VisibleRangePrefetcher(recipeAdapter, viewModel::setPrefetchWindow);
+        recipesRecyclerView.addOnScrollListener(prefetcher);
     }
 
     /**
-     * Setup category filter chips
+     * Build the filter chips: categories first, then areas (cuisines)
+     * The lists come from the local taxonomy copy (updated in the background)
+     * Several chips can be checked at once - their results are merged
      */
-    private void setupCategoryChips() {
-        // Add a chip for each category
+    private void showFilterChips() {
+        categoryChipGroup.removeAllViews();
+
+        // Add a chip for each category and area
         for (String category : categories) {
-            Chip chip = new Chip(getContext());
-            chip.setText(category);
-            chip.setCheckable(true);
-            chip.setChipBackgroundColorResource(R.color.chip_background);
-            chip.setTextColor(getResources().getColor(R.color.chip_text, null));
-
-            // Set click listener
-            chip.setOnClickListener(v -> {
-                if (chip.isChecked()) {
-                    // Filter by this category
-                    filterByCategory(category);
-                } else {
-                    // Unchecked - show default results
-                    searchRecipes("chicken");
-                }
-            });
+            addFilterChip(category, selectedCategories);
+        }
+        for (String area : areas) {
+            addFilterChip(area, selectedAreas);
+        }
+    }
+
+    /**
+     * Add one filter chip
+     * selection = the set (categories or areas) the chip's value goes into when checked
+     */
+    private void addFilterChip(String value, Set<String> selection) {
+        Chip chip = new Chip(getContext());
+        chip.setText(value);
+        chip.setCheckable(true);
+        chip.setChipBackgroundColorResource(R.color.chip_background);
+        chip.setTextColor(getResources().getColor(R.color.chip_text, null));
+
+        // Keep the selection when the list is refreshed
+        chip.setChecked(selection.contains(value));
+
+        // Set click listener
+        chip.setOnClickListener(v -> {
+            if (chip.isChecked()) {
+                selection.add(value);
+            } else {
+                selection.remove(value);
+            }
+            applyFilters();
+        });
+
+        categoryChipGroup.addView(chip);
+    }
 
-            categoryChipGroup.addView(chip);
+    /**
+     * Load results for the checked chips
+     */
+    private void applyFilters() {
+        if (selectedCategories.isEmpty() && selectedAreas.isEmpty()) {
+            // Nothing checked - show default results
+            searchRecipes("chicken");
+        } else if (selectedCategories.size() == 1 && selectedAreas.isEmpty()) {
+            // Single category - streamed list
+            filterByCategory(selectedCategories.iterator().next());
+        } else {
+            browseByFilters();
         }
     }
 
     /**
-     * Setup search functionality with debouncing
+     * Uncheck every filter chip
+     */
+    private void clearFilters() {
+        categoryChipGroup.clearCheck();
+        selectedCategories.clear();
+        selectedAreas.clear();
+    }
+
+    /**
+     * Setup search functionality (debouncing is done in SearchViewModel)
      */
     private void setupSearch() {
         searchEditText.addTextChangedListener(new TextWatcher() {
@@ -171,13 +225,13 @@ public class SearchFragment extends Fragment {
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                // Search as user types (with debouncing in production)
+                // Search as user types (ViewModel debounces and drops duplicates)
                 String query = s.toString().trim();
                 if (!query.isEmpty()) {
                     // Clear category selection when searching
-                    categoryChipGroup.clearCheck();
-                    searchRecipes(query);
+                    clearFilters();
                 }
+                viewModel.onSearchQueryChanged(query);
             }
 
             @Override
@@ -194,7 +248,7 @@ public class SearchFragment extends Fragment {
         btnRandom.setOnClickListener(v -> {
             // Clear search and category
             searchEditText.setText("");
-            categoryChipGroup.clearCheck();
+            clearFilters();
 
             // Get random recipe
             getRandomRecipe();
@@ -221,6 +275,39 @@ public class SearchFragment extends Fragment {
      * Observe ViewModel LiveData
      */
     private void observeViewModel() {
+        // Observe category/area lists (rebuild the chips when they change)
+        viewModel.getCategories().observe(getViewLifecycleOwner(), list -> {
+            categories = list;
+            showFilterChips();
+        });
+        viewModel.getAreas().observe(getViewLifecycleOwner(), list -> {
+            areas = list;
+            showFilterChips();
+        });
+
+        // Observe search results (only the latest request ever reaches the adapter)
+        viewModel.getSearchResults().observe(getViewLifecycleOwner(), recipes -> {
+            if (recipes != null && !recipes.isEmpty()) {
+                // Show results
+                recipeAdapter.setRecipes(recipes);
+                showRecipes();
+
+                // New cards may be visible without any scrolling - wait for layout
+                recipesRecyclerView.post(() -> prefetcher.refresh(recipesRecyclerView));
+            } else {
+                // Show empty state
+                showEmptyState();
+            }
+        });
+
+        // Fill in cards as their details arrive
+        viewModel.getPrefetchedRecipe().observe(getViewLifecycleOwner(), recipe -> {
+            recipeAdapter.updateRecipe(recipe);
+        });
+
+        // Star the cards of recipes that are already favorites
+        viewModel.getFavoriteIds().observe(getViewLifecycleOwner(), recipeAdapter::setFavoriteIds);
+
         // Observe loading state
         viewModel.getLoadingState().observe(getViewLifecycleOwner(), isLoading -> {
             if (isLoading) {
@@ -244,16 +331,8 @@ public class SearchFragment extends Fragment {
      * Search recipes by query
      */
     private void searchRecipes(String query) {
-        viewModel.searchRecipes(query).observe(getViewLifecycleOwner(), recipes -> {
-            if (recipes != null && !recipes.isEmpty()) {
-                // Show results
-                recipeAdapter.setRecipes(recipes);
-                showRecipes();
-            } else {
-                // Show empty state
-                showEmptyState();
-            }
-        });
+        // Results arrive through getSearchResults() (see observeViewModel)
+        viewModel.searchRecipes(query);
     }
 
     /**
@@ -263,14 +342,17 @@ public class SearchFragment extends Fragment {
         // Clear search text
         searchEditText.setText("");
 
-        viewModel.filterByCategory(category).observe(getViewLifecycleOwner(), recipes -> {
-            if (recipes != null && !recipes.isEmpty()) {
-                recipeAdapter.setRecipes(recipes);
-                showRecipes();
-            } else {
-                showEmptyState();
-            }
-        });
+        viewModel.filterByCategory(category);
+    }
+
+    /**
+     * Show the merged results of every checked category and area
+     */
+    private void browseByFilters() {
+        // Clear search text
+        searchEditText.setText("");
+
+        viewModel.browseByFilters(new ArrayList<>(selectedCategories), new ArrayList<>(selectedAreas));
     }
 
     /**
@@ -291,6 +373,12 @@ public class SearchFragment extends Fragment {
      * Navigate to recipe detail fragment
      */
     private void openRecipeDetail(Recipe recipe) {
+        // Use the prefetched full details if we have them
+        Recipe details = viewModel.getCachedRecipeDetails(recipe.getId());
+        if (details != null) {
+            recipe = details;
+        }
+
         RecipeDetailFragment detailFragment = RecipeDetailFragment.newInstance(recipe);
 
         // Navigate to detail fragment
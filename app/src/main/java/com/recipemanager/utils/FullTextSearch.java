@@ -0,0 +1,108 @@
+package com.recipemanager.utils;
+
+import com.recipemanager.database.FavoriteCard;
+import com.recipemanager.database.FavoriteMatch;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Helpers for the favorites full-text search (favorite_recipes_fts)
+ * - Turns what the user typed into an FTS4 prefix query ("chick gar" → "chick* gar*")
+ * - Ranks the hits: a match in the name counts more than one in the instructions,
+ *   and rare words count more than common ones
+ */
+public class FullTextSearch {
+
+    // Weight of a hit in each FTS column, in FavoriteRecipeFts column order:
+    // name, ingredients, instructions, category, area, user_notes
+    private static final double[] COLUMN_WEIGHTS = {10.0, 4.0, 1.0, 5.0, 5.0, 3.0};
+
+    /**
+     * Build an FTS4 query where every word is a prefix and all words must match
+     * Returns null if the text has no searchable words
+     */
+    public static String buildQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        StringBuilder query = new StringBuilder();
+        // Anything but letters/digits separates words (also drops FTS operators like " * -)
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            query.append(word).append('*');
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+
+    /**
+     * Sort hits by relevance, best first
+     * Hits with the same score keep the query order (most recently added first)
+     */
+    public static List<FavoriteCard> rank(List<FavoriteMatch> matches) {
+        List<ScoredCard> scored = new ArrayList<>(matches.size());
+        for (FavoriteMatch match : matches) {
+            scored.add(new ScoredCard(match.card, score(match.matchInfo)));
+        }
+        Collections.sort(scored, (a, b) -> Double.compare(b.score, a.score));  // Stable sort
+
+        List<FavoriteCard> cards = new ArrayList<>(scored.size());
+        for (ScoredCard item : scored) {
+            cards.add(item.card);
+        }
+        return cards;
+    }
+
+    /**
+     * Score from matchinfo(..., 'pcx'):
+     * [phrases, columns, then per phrase/column: hits in this row, hits in all rows, rows with hits]
+     * Each hit is weighted by its column and by how rare the word is overall
+     */
+    static double score(byte[] matchInfo) {
+        if (matchInfo == null || matchInfo.length < 8) {
+            return 0;
+        }
+
+        // matchinfo() writes 32-bit integers in the machine's byte order
+        IntBuffer info = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder()).asIntBuffer();
+        int phrases = info.get(0);
+        int columns = info.get(1);
+
+        double score = 0;
+        for (int phrase = 0; phrase < phrases; phrase++) {
+            for (int column = 0; column < columns && column < COLUMN_WEIGHTS.length; column++) {
+                int index = 2 + (phrase * columns + column) * 3;
+                if (index + 1 >= info.limit()) {
+                    return score;
+                }
+                int hitsInRow = info.get(index);
+                int hitsInAllRows = info.get(index + 1);
+                if (hitsInRow > 0 && hitsInAllRows > 0) {
+                    score += COLUMN_WEIGHTS[column] * hitsInRow / hitsInAllRows;
+                }
+            }
+        }
+        return score;
+    }
+
+    private static class ScoredCard {
+        final FavoriteCard card;
+        final double score;
+
+        ScoredCard(FavoriteCard card, double score) {
+            this.card = card;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.recipemanager.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs tasks with the same key one after the other, in submission order,
+ * while tasks with different keys run in parallel
+ *
+ * Each task names the executor it runs on, so a lane can mix writes
+ * (database writer thread) and reads (reader pool) and still keep its order:
+ * a task is only handed to its executor once the previous task of its key is done
+ *
+ * A task can also hold several keys (one transaction that writes several
+ * recipes): it waits for every one of those lanes, and blocks all of them while
+ * it runs. Tasks are queued on all their lanes at once, so lanes never wait
+ * on each other in a cycle
+ *
+ * executeAfterAll() queues a task behind every busy lane ("delete all"), and
+ * everything submitted while it waits or runs starts after it. Those later
+ * tasks only wait for the barrier itself, not for each other: once it is
+ * done, different keys run in parallel again
+ *
+ * Used with the recipe ID as key: save → delete → "is it a favorite?" for one
+ * recipe always run in the order the user triggered them
+ */
+public class KeyedSerialExecutor {
+
+    // Key → tasks of that key in submission order (a key is present while its lane is busy)
+    // The first task of a lane is running, or waiting for its other lanes
+    private final Map<Object, ArrayDeque<Task>> lanes = new HashMap<>();
+
+    // Latest executeAfterAll() task that hasn't finished (guarded by lanes)
+    // Every task submitted meanwhile waits for it
+    private Task pendingBarrier;
+
+    /**
+     * Run a task on an executor, after every task submitted earlier with the same key
+     */
+    public void execute(Object key, Executor executor, Runnable runnable) {
+        execute(Collections.singletonList(key), executor, runnable);
+    }
+
+    /**
+     * Run a task on an executor, after every task submitted earlier with any of these keys
+     */
+    public void execute(Collection<?> keys, Executor executor, Runnable runnable) {
+        Task task = new Task(new ArrayList<>(new LinkedHashSet<>(keys)), executor, runnable);
+        synchronized (lanes) {
+            enqueue(task);
+            waitForBarrier(task);
+            if (task.blockedLanes > 0) {
+                return;
+            }
+        }
+        dispatch(task);
+    }
+
+    /**
+     * Run a task on an executor once every task submitted so far (any key) is done
+     * Tasks submitted after it, with any key, wait until it is done
+     */
+    public void executeAfterAll(Executor executor, Runnable runnable) {
+        Task task;
+        synchronized (lanes) {
+            // Behind every busy lane, and behind the previous barrier
+            task = new Task(new ArrayList<>(lanes.keySet()), executor, runnable);
+            enqueue(task);
+            waitForBarrier(task);
+            pendingBarrier = task;
+            if (task.blockedLanes > 0) {
+                return;
+            }
+        }
+        dispatch(task);
+    }
+
+    /**
+     * Add a task to the end of each of its lanes (caller holds the lock)
+     * Counts the busy ones in task.blockedLanes
+     */
+    private void enqueue(Task task) {
+        for (Object key : task.keys) {
+            ArrayDeque<Task> lane = lanes.get(key);
+            if (lane == null) {
+                lane = new ArrayDeque<>();
+                lanes.put(key, lane);
+            }
+            if (!lane.isEmpty()) {
+                task.blockedLanes++;  // Lane busy - runs when the tasks before it are done
+            }
+            lane.add(task);
+        }
+    }
+
+    /**
+     * Hold a task back until the pending executeAfterAll() task is done (caller holds the lock)
+     * The task is not added to the barrier's lanes, so tasks waiting for the
+     * same barrier don't wait for each other
+     */
+    private void waitForBarrier(Task task) {
+        if (pendingBarrier != null) {
+            pendingBarrier.dependents.add(task);
+            task.blockedLanes++;
+        }
+    }
+
+    /**
+     * Number of keys with a running or waiting task
+     * (+ 1 while an executeAfterAll() task is pending)
+     */
+    public int getActiveLanes() {
+        synchronized (lanes) {
+            return lanes.size() + (pendingBarrier != null ? 1 : 0);
+        }
+    }
+
+    private void dispatch(Task task) {
+        try {
+            task.executor.execute(() -> {
+                try {
+                    task.runnable.run();
+                } finally {
+                    finish(task);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Executor refused the task - don't leave its lanes stuck
+            finish(task);
+            throw e;
+        }
+    }
+
+    /**
+     * Take a finished task off its lanes and start the tasks it was holding back
+     */
+    private void finish(Task task) {
+        List<Task> ready = new ArrayList<>();
+        synchronized (lanes) {
+            for (Object key : task.keys) {
+                ArrayDeque<Task> lane = lanes.get(key);
+                lane.poll();  // This task - always first in its lanes while it runs
+                Task next = lane.peek();
+                if (next == null) {
+                    lanes.remove(key);  // Lane idle - forget the key
+                } else if (--next.blockedLanes == 0) {
+                    ready.add(next);
+                }
+            }
+
+            // A finished barrier releases everything submitted behind it
+            for (Task dependent : task.dependents) {
+                if (--dependent.blockedLanes == 0) {
+                    ready.add(dependent);
+                }
+            }
+            if (pendingBarrier == task) {
+                pendingBarrier = null;
+            }
+        }
+
+        RuntimeException refused = null;
+        for (Task next : ready) {
+            try {
+                dispatch(next);
+            } catch (RuntimeException e) {
+                refused = e;
+            }
+        }
+        if (refused != null) {
+            throw refused;
+        }
+    }
+
+    /**
+     * A runnable + the executor it must run on + its lanes
+     */
+    private static class Task {
+
+        final List<Object> keys;
+        final Executor executor;
+        final Runnable runnable;
+
+        // Lanes where an earlier task is still queued or running, + 1 while
+        // waiting for an executeAfterAll() task (guarded by lanes)
+        int blockedLanes;
+
+        // executeAfterAll() task only: tasks submitted while it was pending (guarded by lanes)
+        final List<Task> dependents = new ArrayList<>();
+
+        Task(List<Object> keys, Executor executor, Runnable runnable) {
+            this.keys = keys;
+            this.executor = executor;
+            this.runnable = runnable;
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package com.recipemanager.utils;
 
+import com.recipemanager.database.CatalogRecipe;
 import com.recipemanager.database.FavoriteRecipe;
+import com.recipemanager.database.IngredientLine;
 import com.recipemanager.model.Recipe;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Utility class to convert between different recipe data types
  * Converts API Recipe objects to Database FavoriteRecipe entities and vice versa
  */
 public class RecipeConverter {
 
+    // Separates ingredient/measure slots when stored in one column
+    // (ASCII "unit separator" - never appears in recipe text)
+    public static final String SLOT_SEPARATOR = "\u001F";
+
     /**
      * Convert API Recipe to Database FavoriteRecipe
      * Used when saving a recipe from search results to favorites
@@ -61,4 +71,152 @@ public class RecipeConverter {
 
         return recipe;
     }
+
+    /**
+     * Convert Database FavoriteRecipe + its normalized ingredients to API Recipe format
+     * Ingredients and measures go back to the slots they came from
+     */
+    public static Recipe favoriteToRecipe(FavoriteRecipe favorite, List<IngredientLine> ingredients) {
+        Recipe recipe = favoriteToRecipe(favorite);
+        if (recipe == null || ingredients == null) {
+            return recipe;
+        }
+
+        for (IngredientLine line : ingredients) {
+            if (line.position >= 0 && line.position < Recipe.MAX_INGREDIENTS) {
+                recipe.setIngredient(line.position, line.name);
+                recipe.setMeasure(line.position, line.measure);
+            }
+        }
+        return recipe;
+    }
+
+    /**
+     * Ingredients of an API Recipe, one line per filled slot (for recipe_ingredients)
+     * Names and measures are kept exactly as the API wrote them
+     */
+    public static List<IngredientLine> recipeToIngredientLines(Recipe recipe) {
+        List<IngredientLine> lines = new ArrayList<>();
+        if (recipe == null) {
+            return lines;
+        }
+
+        for (int i = 0; i < Recipe.MAX_INGREDIENTS; i++) {
+            String ingredient = recipe.getIngredient(i);
+            if (ingredient != null && !ingredient.trim().isEmpty()) {
+                lines.add(new IngredientLine(i, ingredient, recipe.getMeasure(i)));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Convert API Recipe to a local catalog row
+     * Used by the catalog sync
+     */
+    public static CatalogRecipe recipeToCatalog(Recipe recipe, String firstLetter, long syncedAt) {
+        if (recipe == null || recipe.getId() == null) {
+            return null;
+        }
+
+        CatalogRecipe catalog = new CatalogRecipe();
+        catalog.setId(recipe.getId());
+        catalog.setName(recipe.getName());
+        catalog.setCategory(recipe.getCategory());
+        catalog.setArea(recipe.getArea());
+        catalog.setInstructions(recipe.getInstructions());
+        catalog.setImageUrl(recipe.getImageUrl());
+        catalog.setVideoUrl(recipe.getVideoUrl());
+
+        // Keep every slot (even empty ones) so positions survive the round trip
+        String[] ingredients = new String[Recipe.MAX_INGREDIENTS];
+        String[] measures = new String[Recipe.MAX_INGREDIENTS];
+        for (int i = 0; i < Recipe.MAX_INGREDIENTS; i++) {
+            ingredients[i] = recipe.getIngredient(i);
+            measures[i] = recipe.getMeasure(i);
+        }
+        catalog.setIngredients(joinSlots(ingredients));
+        catalog.setMeasures(joinSlots(measures));
+
+        catalog.setFirstLetter(firstLetter);
+        catalog.setContentHash(Arrays.hashCode(new Object[]{
+                catalog.getName(), catalog.getCategory(), catalog.getArea(),
+                catalog.getInstructions(), catalog.getImageUrl(), catalog.getVideoUrl(),
+                catalog.getIngredients(), catalog.getMeasures()
+        }));
+        catalog.setSyncedAt(syncedAt);
+
+        return catalog;
+    }
+
+    /**
+     * Convert a local catalog row back to an API Recipe
+     * Used to show catalog search results in the same UI as API results
+     */
+    public static Recipe catalogToRecipe(CatalogRecipe catalog) {
+        if (catalog == null) {
+            return null;
+        }
+
+        Recipe recipe = new Recipe();
+        recipe.setId(catalog.getId());
+        recipe.setName(catalog.getName());
+        recipe.setCategory(catalog.getCategory());
+        recipe.setArea(catalog.getArea());
+        recipe.setInstructions(catalog.getInstructions());
+        recipe.setImageUrl(catalog.getImageUrl());
+        recipe.setVideoUrl(catalog.getVideoUrl());
+
+        String[] ingredients = splitSlots(catalog.getIngredients());
+        String[] measures = splitSlots(catalog.getMeasures());
+        for (int i = 0; i < Recipe.MAX_INGREDIENTS; i++) {
+            recipe.setIngredient(i, ingredients[i]);
+            recipe.setMeasure(i, measures[i]);
+        }
+
+        return recipe;
+    }
+
+    /**
+     * Convert a list of catalog rows to API Recipes
+     */
+    public static List<Recipe> catalogToRecipes(List<CatalogRecipe> rows) {
+        List<Recipe> recipes = new ArrayList<>(rows.size());
+        for (CatalogRecipe row : rows) {
+            recipes.add(catalogToRecipe(row));
+        }
+        return recipes;
+    }
+
+    /**
+     * Join slots into one string (null slots become empty strings)
+     */
+    private static String joinSlots(String[] slots) {
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < slots.length; i++) {
+            if (i > 0) {
+                joined.append(SLOT_SEPARATOR);
+            }
+            if (slots[i] != null) {
+                joined.append(slots[i]);
+            }
+        }
+        return joined.toString();
+    }
+
+    /**
+     * Split a joined string back into MAX_INGREDIENTS slots (empty → null)
+     */
+    private static String[] splitSlots(String joined) {
+        String[] slots = new String[Recipe.MAX_INGREDIENTS];
+        if (joined == null || joined.isEmpty()) {
+            return slots;
+        }
+
+        String[] parts = joined.split(SLOT_SEPARATOR, -1);
+        for (int i = 0; i < parts.length && i < slots.length; i++) {
+            slots[i] = parts[i].isEmpty() ? null : parts[i];
+        }
+        return slots;
+    }
 }
@@ -5,12 +5,23 @@ import android.app.Application;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
-
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+import androidx.paging.PagingSource;
+
+import com.recipemanager.database.FavoriteCard;
 import com.recipemanager.database.FavoriteRecipe;
+import com.recipemanager.database.FavoritesSummary;
 import com.recipemanager.repository.RecipeRepository;
 
 import java.util.List;
 
+import kotlin.jvm.functions.Function0;
+
 /**
  * ViewModel for FavoritesFragment
  * Manages all favorite recipes stored locally
@@ -18,14 +29,23 @@ import java.util.List;
  */
 public class FavoritesViewModel extends AndroidViewModel {
 
+    // Rows loaded per page - a bit more than one screen of cards
+    private static final int PAGE_SIZE = 20;
+
+    // Pages kept around the visible ones before older pages are dropped
+    private static final int MAX_LOADED_ITEMS = PAGE_SIZE * 5;
+
     // Repository for data operations
     private final RecipeRepository repository;
 
-    // LiveData for all favorites
-    private final LiveData<List<FavoriteRecipe>> allFavorites;
+    // Count, per-category counts, average rating, last saved (emitted only when it changes)
+    private final LiveData<FavoritesSummary> favoritesSummary;
+
+    // What the paged list shows: all favorites, a search, a filter... (a PagingSource factory)
+    private final MutableLiveData<Function0<PagingSource<Integer, FavoriteCard>>> pagedQuery;
 
-    // LiveData for favorites count
-    private final LiveData<Integer> favoritesCount;
+    // Paged favorites (list cards only), cached in this ViewModel so rotation doesn't reload them
+    private final LiveData<PagingData<FavoriteCard>> pagedFavorites;
 
     /**
      * Constructor - initialize repository and load favorites
@@ -33,15 +53,73 @@ public class FavoritesViewModel extends AndroidViewModel {
     public FavoritesViewModel(@NonNull Application application) {
         super(application);
         repository = new RecipeRepository(application);
-        allFavorites = repository.getAllFavorites();
-        favoritesCount = repository.getFavoritesCount();
+        pagedQuery = new MutableLiveData<>(repository::getAllFavoritesPaged);
+        pagedFavorites = page(pagedQuery);
+        favoritesSummary = repository.getFavoritesSummary();
+    }
+
+    /**
+     * Page the current query, and cache the pages in this ViewModel once
+     * A new query swaps the Pager: switchMap stops observing the old one, so its
+     * pages are released instead of piling up in the ViewModel until it is cleared
+     * Placeholders are off: the list only knows about the rows it has loaded
+     */
+    private LiveData<PagingData<FavoriteCard>> page(
+            LiveData<Function0<PagingSource<Integer, FavoriteCard>>> query) {
+        PagingConfig config = new PagingConfig(PAGE_SIZE, PAGE_SIZE, false, PAGE_SIZE * 2, MAX_LOADED_ITEMS);
+        LiveData<PagingData<FavoriteCard>> pages = Transformations.switchMap(query,
+                sourceFactory -> PagingLiveData.getLiveData(new Pager<>(config, sourceFactory)));
+        return PagingLiveData.cachedIn(pages, this);
     }
 
     /**
-     * Get all favorite recipes
+     * Get all favorite recipes (full rows, not paged)
      */
     public LiveData<List<FavoriteRecipe>> getAllFavorites() {
-        return allFavorites;
+        return repository.getAllFavorites();
+    }
+
+    /**
+     * Favorites one page at a time (what FavoritesFragment shows)
+     * All favorites until a search or filter below is applied
+     */
+    public LiveData<PagingData<FavoriteCard>> getPagedFavorites() {
+        return pagedFavorites;
+    }
+
+    /**
+     * Page all favorites again (clears a search or filter)
+     */
+    public void showAllFavoritesPaged() {
+        pagedQuery.setValue(repository::getAllFavoritesPaged);
+    }
+
+    /**
+     * Search within favorites by name, one page at a time (in getPagedFavorites())
+     */
+    public void searchFavoritesPaged(String query) {
+        pagedQuery.setValue(() -> repository.searchFavoritesPaged(query));
+    }
+
+    /**
+     * Filter favorites by category, one page at a time (in getPagedFavorites())
+     */
+    public void filterByCategoryPaged(String category) {
+        pagedQuery.setValue(() -> repository.getFavoritesByCategoryPaged(category));
+    }
+
+    /**
+     * Favorites that use an ingredient ("butter"), one page at a time (in getPagedFavorites())
+     */
+    public void filterByIngredientPaged(String ingredient) {
+        pagedQuery.setValue(() -> repository.getFavoritesWithIngredientPaged(ingredient));
+    }
+
+    /**
+     * Top rated recipes, one page at a time (in getPagedFavorites())
+     */
+    public void showTopRatedPaged(float minRating) {
+        pagedQuery.setValue(() -> repository.getTopRatedRecipesPaged(minRating));
     }
 
     /**
@@ -58,6 +136,14 @@ public class FavoritesViewModel extends AndroidViewModel {
         return repository.searchFavorites(query);
     }
 
+    /**
+     * Full-text search within favorites (also searches ingredients, instructions and notes)
+     * Words are matched as prefixes, best matches first
+     */
+    public LiveData<List<FavoriteCard>> searchFavoritesFullText(String query) {
+        return repository.searchFavoritesFullText(query);
+    }
+
     /**
      * Filter favorites by category
      */
@@ -76,7 +162,14 @@ public class FavoritesViewModel extends AndroidViewModel {
      * Get favorites count
      */
     public LiveData<Integer> getFavoritesCount() {
-        return favoritesCount;
+        return repository.getFavoritesCount();
+    }
+
+    /**
+     * Get the favorites summary (count, per category, average rating, last saved)
+     */
+    public LiveData<FavoritesSummary> getFavoritesSummary() {
+        return favoritesSummary;
     }
 
     /**
@@ -86,6 +179,13 @@ public class FavoritesViewModel extends AndroidViewModel {
         repository.deleteFavorite(recipe);
     }
 
+    /**
+     * DELETE - Remove a favorite from the list by ID
+     */
+    public void deleteFavoriteById(String recipeId) {
+        repository.deleteFavoriteById(recipeId);
+    }
+
     /**
      * UPDATE - Update a favorite recipe
      */
@@ -6,10 +6,12 @@ import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
 
 import com.recipemanager.database.FavoriteRecipe;
 import com.recipemanager.model.Recipe;
 import com.recipemanager.repository.RecipeRepository;
+import com.recipemanager.repository.RequestLiveData;
 import com.recipemanager.utils.RecipeConverter;
 
 /**
@@ -31,6 +33,10 @@ public class RecipeDetailViewModel extends AndroidViewModel {
     // Loading state
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
 
+    // Pending details request (cancelled when the screen goes away)
+    private RequestLiveData<Recipe> detailsRequest;
+    private Observer<Recipe> detailsObserver;
+
     /**
      * Constructor
      */
@@ -41,20 +47,47 @@ public class RecipeDetailViewModel extends AndroidViewModel {
 
     /**
      * Load recipe details from API
+     * Fills in the recipe already on screen; if the lookup fails (offline)
+     * the partial recipe stays, so it can still be favorited
      */
     public void loadRecipeDetails(String recipeId) {
         isLoading.setValue(true);
 
-        LiveData<Recipe> recipeLiveData = repository.getRecipeDetails(recipeId);
-        recipeLiveData.observeForever(recipe -> {
-            isLoading.setValue(false);
-            currentRecipe.setValue(recipe);
+        cancelDetailsRequest();
+        RequestLiveData<Recipe> recipeLiveData = repository.getRecipeDetails(recipeId);
+        detailsRequest = recipeLiveData;
+        detailsObserver = new Observer<Recipe>() {
+            @Override
+            public void onChanged(Recipe recipe) {
+                recipeLiveData.removeObserver(this);
+                if (detailsRequest == recipeLiveData) {
+                    detailsRequest = null;
+                    detailsObserver = null;
+                }
+                isLoading.setValue(false);
+
+                if (recipe != null) {
+                    currentRecipe.setValue(recipe);
+                    // Check if this recipe is favorited
+                    checkFavoriteStatus(recipe.getId());
+                }
+            }
+        };
+        recipeLiveData.observeForever(detailsObserver);
+    }
 
-            // Check if this recipe is favorited
-            if (recipe != null) {
-                checkFavoriteStatus(recipe.getId());
+    /**
+     * Cancel the pending details request and stop observing it
+     */
+    private void cancelDetailsRequest() {
+        if (detailsRequest != null) {
+            detailsRequest.cancel();
+            if (detailsObserver != null) {
+                detailsRequest.removeObserver(detailsObserver);
             }
-        });
+            detailsRequest = null;
+            detailsObserver = null;
+        }
     }
 
     /**
@@ -64,9 +97,37 @@ public class RecipeDetailViewModel extends AndroidViewModel {
         currentRecipe.setValue(recipe);
         if (recipe != null) {
             checkFavoriteStatus(recipe.getId());
+
+            // Filter results only have name + image - fetch the rest
+            // (shares a prefetch that is still running, or comes from the detail cache)
+            if (recipe.getInstructions() == null && recipe.getId() != null) {
+                loadRecipeDetails(recipe.getId());
+            }
         }
     }
 
+    /**
+     * Load a favorite from the database by ID
+     * The favorites list only holds cards - the full recipe (instructions,
+     * ingredients, video) is read here, once, when the detail screen opens
+     */
+    public void loadFavorite(String recipeId) {
+        isLoading.setValue(true);
+
+        LiveData<Recipe> favoriteLiveData = repository.loadFavoriteRecipe(recipeId);
+        favoriteLiveData.observeForever(new Observer<Recipe>() {
+            @Override
+            public void onChanged(Recipe recipe) {
+                favoriteLiveData.removeObserver(this);
+                isLoading.setValue(false);
+                if (recipe != null) {
+                    currentRecipe.setValue(recipe);
+                    isFavorited.setValue(true);  // Already favorited
+                }
+            }
+        });
+    }
+
     /**
      * Set current recipe from favorite
      */
@@ -100,7 +161,7 @@ public class RecipeDetailViewModel extends AndroidViewModel {
      */
     private void addFavorite(Recipe recipe) {
         FavoriteRecipe favorite = RecipeConverter.recipeToFavorite(recipe);
-        repository.insertFavorite(favorite);
+        repository.insertFavorite(favorite, RecipeConverter.recipeToIngredientLines(recipe));
         isFavorited.setValue(true);
     }
 
@@ -125,6 +186,13 @@ public class RecipeDetailViewModel extends AndroidViewModel {
         }
     }
 
+    /**
+     * Write notes/rating edits that are still buffered
+     */
+    public void flushPendingEdits() {
+        repository.flushPendingEdits();
+    }
+
     /**
      * Check if recipe is in favorites
      */
@@ -152,4 +220,10 @@ public class RecipeDetailViewModel extends AndroidViewModel {
     public LiveData<Boolean> getLoadingState() {
         return isLoading;
     }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        cancelDetailsRequest();
+    }
 }
@@ -1,29 +1,57 @@
 package com.recipemanager.viewmodel;
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.TextUtils;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
 
 import com.recipemanager.model.Recipe;
+import com.recipemanager.repository.CatalogSyncManager;
 import com.recipemanager.repository.RecipeRepository;
+import com.recipemanager.repository.RequestLiveData;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * ViewModel for SearchFragment
  * Handles business logic for searching and browsing recipes from API
  * Survives configuration changes (screen rotation)
+ *
+ * Search-as-you-type pipeline:
+ * - Keystrokes are debounced (only search once the user stops typing)
+ * - Queries shorter than MIN_QUERY_LENGTH are ignored
+ * - The same query twice in a row is only sent once
+ * - A newer request cancels the previous one, so only the latest
+ *   results ever reach the screen (no out-of-order results)
  */
 public class SearchViewModel extends AndroidViewModel {
 
+    // Wait this long after the last keystroke before searching
+    private static final long SEARCH_DEBOUNCE_MS = 300;
+
+    // Ignore queries shorter than this while typing
+    private static final int MIN_QUERY_LENGTH = 2;
+
     // Repository for data operations
     private final RecipeRepository repository;
 
-    // LiveData for search results
-    private MutableLiveData<List<Recipe>> searchResults;
+    // LiveData for search results (always follows the latest request only)
+    private final MediatorLiveData<List<Recipe>> searchResults = new MediatorLiveData<>();
 
     // LiveData for loading state
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
@@ -34,36 +62,96 @@ public class SearchViewModel extends AndroidViewModel {
     // Current search query (saves state during rotation)
     private String currentQuery = "";
 
+    // Last query actually sent to the repository (normalized)
+    private String lastIssuedQuery = null;
+
+    // Latest API request - older ones are cancelled when a new one starts
+    private RequestLiveData<List<Recipe>> pendingRequest;
+
+    // Debounce timer for search-as-you-type
+    private final Handler debounceHandler = new Handler(Looper.getMainLooper());
+    private Runnable pendingSearch;
+
+    // Keystrokes that did not turn into an API request
+    private int requestsSaved = 0;
+
+    // Max number of detail prefetches running at the same time
+    private static final int MAX_CONCURRENT_PREFETCHES = 3;
+
+    // Detail prefetches running now, by recipe ID
+    private final Map<String, PrefetchRequest> prefetchesInFlight = new HashMap<>();
+
+    // Recipe IDs waiting for a free prefetch slot (in priority order)
+    private final ArrayDeque<String> prefetchQueue = new ArrayDeque<>();
+
+    // Emits each recipe whose full details were just prefetched
+    private final MutableLiveData<Recipe> prefetchedRecipe = new MutableLiveData<>();
+
     /**
      * Constructor - requires Application context
      */
     public SearchViewModel(@NonNull Application application) {
         super(application);
         repository = new RecipeRepository(application);
+
+        // Keep the local catalog fresh (searches are answered from it once synced)
+        repository.syncCatalogIfStale();
+
+        // Same for the category/area lists behind the filter chips
+        repository.refreshTaxonomyIfStale();
+    }
+
+    /**
+     * Called on every keystroke in the search box
+     * Schedules a search once the user stops typing
+     */
+    public void onSearchQueryChanged(String query) {
+        String normalized = normalize(query);
+
+        // Previous keystroke never made it to the network
+        if (pendingSearch != null) {
+            debounceHandler.removeCallbacks(pendingSearch);
+            pendingSearch = null;
+            requestsSaved++;
+        }
+
+        // Cleared search box - nothing to search
+        if (normalized.isEmpty()) {
+            return;
+        }
+
+        // Too short to be useful
+        if (normalized.length() < MIN_QUERY_LENGTH) {
+            requestsSaved++;
+            return;
+        }
+
+        pendingSearch = () -> {
+            pendingSearch = null;
+
+            // Same as what's already on screen (or loading)
+            if (normalized.equals(lastIssuedQuery)) {
+                requestsSaved++;
+                return;
+            }
+            searchRecipes(query);
+        };
+        debounceHandler.postDelayed(pendingSearch, SEARCH_DEBOUNCE_MS);
     }
 
     /**
-     * Search recipes by name
+     * Search recipes by name (immediately, no debounce)
      */
     public LiveData<List<Recipe>> searchRecipes(String query) {
         if (query == null || query.trim().isEmpty()) {
             errorMessage.setValue("Please enter a search term");
-            return new MutableLiveData<>();
+            return searchResults;
         }
 
+        cancelPendingSearch();
         currentQuery = query;
-        isLoading.setValue(true);
-
-        searchResults = (MutableLiveData<List<Recipe>>) repository.searchRecipes(query);
-
-        // Update loading state when results arrive
-        searchResults.observeForever(recipes -> {
-            isLoading.setValue(false);
-            if (recipes == null || recipes.isEmpty()) {
-                errorMessage.setValue("No recipes found for: " + query);
-            }
-        });
 
+        startRequest(repository.searchRecipes(query), normalize(query), "No recipes found for: " + query);
         return searchResults;
     }
 
@@ -72,20 +160,48 @@ public class SearchViewModel extends AndroidViewModel {
      */
     public LiveData<List<Recipe>> filterByCategory(String category) {
         if (category == null || category.trim().isEmpty()) {
-            return new MutableLiveData<>();
+            return searchResults;
         }
 
-        isLoading.setValue(true);
+        cancelPendingSearch();
 
-        searchResults = (MutableLiveData<List<Recipe>>) repository.filterByCategory(category);
+        // Results no longer match the search box
+        startRequest(repository.filterByCategory(category), null,
+                "No recipes found in category: " + category);
+        return searchResults;
+    }
 
-        searchResults.observeForever(recipes -> {
-            isLoading.setValue(false);
-            if (recipes == null || recipes.isEmpty()) {
-                errorMessage.setValue("No recipes found in category: " + category);
-            }
-        });
+    /**
+     * Browse several categories and areas at once (results merged, no duplicates)
+     * Results appear as each category/area arrives
+     */
+    public LiveData<List<Recipe>> browseByFilters(List<String> categories, List<String> areas) {
+        cancelPendingSearch();
+
+        List<String> filters = new ArrayList<>(categories);
+        filters.addAll(areas);
+
+        // Results no longer match the search box
+        startRequest(repository.browseByFilters(categories, areas), null,
+                "No recipes found for: " + TextUtils.join(", ", filters));
+        return searchResults;
+    }
 
+    /**
+     * Find recipes that use several ingredients ("chicken", "garlic", "lemon")
+     * matchAll = true: every ingredient, false: any of them (most matches first)
+     */
+    public LiveData<List<Recipe>> searchByIngredients(List<String> ingredients, boolean matchAll) {
+        if (ingredients == null || ingredients.isEmpty()) {
+            errorMessage.setValue("Please enter at least one ingredient");
+            return searchResults;
+        }
+
+        cancelPendingSearch();
+
+        // Results no longer match the search box
+        startRequest(repository.searchByIngredients(ingredients, matchAll), null,
+                "No recipes found with: " + TextUtils.join(", ", ingredients));
         return searchResults;
     }
 
@@ -109,14 +225,83 @@ public class SearchViewModel extends AndroidViewModel {
 
     /**
      * Get current search results (preserves data during rotation)
+     * Only ever delivers results of the latest request
      */
     public LiveData<List<Recipe>> getSearchResults() {
-        if (searchResults == null) {
-            searchResults = new MutableLiveData<>();
-        }
         return searchResults;
     }
 
+    /**
+     * Set which recipes should have their details prefetched (visible + upcoming cards)
+     * Requests for recipes no longer in the window are cancelled
+     */
+    public void setPrefetchWindow(List<String> recipeIds) {
+        Set<String> wanted = new HashSet<>(recipeIds);
+
+        // Cancel prefetches for cards that scrolled away
+        Iterator<Map.Entry<String, PrefetchRequest>> iterator = prefetchesInFlight.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, PrefetchRequest> entry = iterator.next();
+            if (!wanted.contains(entry.getKey())) {
+                entry.getValue().cancel();
+                iterator.remove();
+            }
+        }
+
+        // Queue the rest (skipping what's already loaded or loading)
+        prefetchQueue.clear();
+        for (String recipeId : recipeIds) {
+            if (!prefetchesInFlight.containsKey(recipeId)
+                    && repository.getCachedRecipeDetails(recipeId) == null) {
+                prefetchQueue.add(recipeId);
+            }
+        }
+
+        startQueuedPrefetches();
+    }
+
+    /**
+     * Emits recipes whose full details were prefetched (to update their cards)
+     */
+    public LiveData<Recipe> getPrefetchedRecipe() {
+        return prefetchedRecipe;
+    }
+
+    /**
+     * Get full details for a recipe if they were already loaded (no network)
+     */
+    public Recipe getCachedRecipeDetails(String recipeId) {
+        return repository.getCachedRecipeDetails(recipeId);
+    }
+
+    /**
+     * Category names for the filter chips (local copy - available immediately)
+     */
+    public LiveData<List<String>> getCategories() {
+        return repository.getCategoryNames();
+    }
+
+    /**
+     * Area (cuisine) names for the filter chips (local copy)
+     */
+    public LiveData<List<String>> getAreas() {
+        return repository.getAreaNames();
+    }
+
+    /**
+     * IDs of every favorite (star badge on the result cards)
+     */
+    public LiveData<Set<String>> getFavoriteIds() {
+        return repository.getFavoriteIds();
+    }
+
+    /**
+     * Progress of the background catalog sync
+     */
+    public LiveData<CatalogSyncManager.SyncProgress> getCatalogSyncProgress() {
+        return repository.getCatalogSyncProgress();
+    }
+
     /**
      * Get loading state
      */
@@ -138,10 +323,140 @@ public class SearchViewModel extends AndroidViewModel {
         return currentQuery;
     }
 
+    /**
+     * Number of keystrokes that didn't need an API request
+     * (debounced, too short, or same as the previous query)
+     */
+    public int getRequestsSavedCount() {
+        return requestsSaved;
+    }
+
     /**
      * Clear error message
      */
     public void clearError() {
         errorMessage.setValue(null);
     }
+
+    /**
+     * Make a request the only source of searchResults
+     * The previous request is cancelled and disconnected first
+     * issuedQuery: normalized search box query the request answers (null for filters)
+     */
+    private void startRequest(RequestLiveData<List<Recipe>> request, String issuedQuery, String emptyMessage) {
+        cancelPendingRequest();
+
+        isLoading.setValue(true);
+        pendingRequest = request;
+        lastIssuedQuery = issuedQuery;
+
+        searchResults.addSource(request, recipes -> {
+            isLoading.setValue(false);
+            searchResults.setValue(recipes);
+            if (recipes == null || recipes.isEmpty()) {
+                // Failed or found nothing - typing the same query again should retry it
+                lastIssuedQuery = null;
+                errorMessage.setValue(emptyMessage);
+            }
+        });
+    }
+
+    /**
+     * Stop waiting for the last API request
+     * The HTTP call itself keeps running if another screen is waiting for the same data
+     */
+    private void cancelPendingRequest() {
+        if (pendingRequest != null) {
+            pendingRequest.cancel();
+            searchResults.removeSource(pendingRequest);
+            pendingRequest = null;
+            lastIssuedQuery = null;  // Its results may never arrive
+        }
+    }
+
+    /**
+     * Drop a scheduled (debounced) search that hasn't started yet
+     */
+    private void cancelPendingSearch() {
+        if (pendingSearch != null) {
+            debounceHandler.removeCallbacks(pendingSearch);
+            pendingSearch = null;
+        }
+    }
+
+    /**
+     * Start queued prefetches until the concurrency cap is reached
+     */
+    private void startQueuedPrefetches() {
+        while (prefetchesInFlight.size() < MAX_CONCURRENT_PREFETCHES && !prefetchQueue.isEmpty()) {
+            String recipeId = prefetchQueue.poll();
+            PrefetchRequest prefetch = new PrefetchRequest(recipeId, repository.getRecipeDetails(recipeId));
+            prefetchesInFlight.put(recipeId, prefetch);
+            prefetch.start();
+        }
+    }
+
+    /**
+     * Stop every running and queued prefetch
+     */
+    private void cancelPrefetches() {
+        prefetchQueue.clear();
+        for (PrefetchRequest prefetch : prefetchesInFlight.values()) {
+            prefetch.cancel();
+        }
+        prefetchesInFlight.clear();
+    }
+
+    /**
+     * Trim and lower-case a query so "Pasta " and "pasta" count as the same
+     */
+    private static String normalize(String query) {
+        return query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        cancelPendingSearch();
+        cancelPendingRequest();
+        cancelPrefetches();
+    }
+
+    /**
+     * One running detail prefetch
+     */
+    private class PrefetchRequest implements Observer<Recipe> {
+
+        private final String recipeId;
+        private final RequestLiveData<Recipe> request;
+
+        PrefetchRequest(String recipeId, RequestLiveData<Recipe> request) {
+            this.recipeId = recipeId;
+            this.request = request;
+        }
+
+        void start() {
+            request.observeForever(this);
+        }
+
+        void cancel() {
+            request.removeObserver(this);
+            request.cancel();
+        }
+
+        @Override
+        public void onChanged(Recipe recipe) {
+            request.removeObserver(this);
+            if (prefetchesInFlight.get(recipeId) == this) {
+                prefetchesInFlight.remove(recipeId);
+            }
+
+            if (recipe != null) {
+                prefetchedRecipe.setValue(recipe);
+            }
+
+            // A slot is free - start the next one
+            startQueuedPrefetches();
+        }
+    }
 }
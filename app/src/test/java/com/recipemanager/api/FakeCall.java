@@ -0,0 +1,95 @@
+package com.recipemanager.api;
+
+import java.io.IOException;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Retrofit Call whose result the test decides
+ * - execute() returns the prepared response (or throws the prepared error)
+ * - enqueue() keeps the callback until the test calls complete() / fail()
+ */
+class FakeCall<T> implements Call<T> {
+
+    private final Response<T> response;
+    private final IOException error;
+
+    private Callback<T> callback;
+    private boolean executed;
+    private volatile boolean canceled;
+
+    FakeCall(Response<T> response) {
+        this(response, null);
+    }
+
+    FakeCall(Response<T> response, IOException error) {
+        this.response = response;
+        this.error = error;
+    }
+
+    /**
+     * Deliver the prepared response to the enqueued callback
+     */
+    void complete() {
+        callback.onResponse(this, response);
+    }
+
+    /**
+     * Deliver an error to the enqueued callback
+     */
+    void fail(Throwable t) {
+        callback.onFailure(this, t);
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        executed = true;
+        if (canceled) {
+            throw new IOException("Canceled");
+        }
+        if (error != null) {
+            throw error;
+        }
+        return response;
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        executed = true;
+        this.callback = callback;
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return executed;
+    }
+
+    @Override
+    public void cancel() {
+        canceled = true;
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    @Override
+    public Call<T> clone() {
+        return new FakeCall<>(response, error);
+    }
+
+    @Override
+    public Request request() {
+        return new Request.Builder().url("https://www.themealdb.com/api/json/v1/1/filter.php").build();
+    }
+
+    @Override
+    public Timeout timeout() {
+        return Timeout.NONE;
+    }
+}
@@ -0,0 +1,68 @@
+package com.recipemanager.api;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * HedgingPolicy budget: hedges are taken from the budget when they are sent,
+ * and each endpoint has its own budget
+ */
+public class HedgingPolicyTest {
+
+    private final HedgingPolicy policy = new HedgingPolicy(new ResilienceConfig.Builder()
+            .hedgeBudgetRatio(0.1)
+            .build());
+
+    @Test
+    public void burstOfSlowRequestsOnlyHedgesWithinTheBudget() {
+        HedgingPolicy.HedgeBudget budget = policy.budgetFor("lookup.php");
+
+        // 20 hedged calls created at once, all slow enough to want a hedge
+        for (int i = 0; i < 20; i++) {
+            budget.recordRequest();
+        }
+        int sent = 0;
+        for (int i = 0; i < 20; i++) {
+            if (budget.trySpend()) {
+                sent++;
+            }
+        }
+        assertEquals(2, sent);
+    }
+
+    @Test
+    public void budgetGrowsWithRequests() {
+        HedgingPolicy.HedgeBudget budget = policy.budgetFor("lookup.php");
+
+        budget.recordRequest();
+        assertTrue(budget.trySpend());
+        assertFalse(budget.trySpend());
+
+        for (int i = 0; i < 9; i++) {
+            budget.recordRequest();
+        }
+        assertFalse("1 hedge per 10 requests", budget.trySpend());
+        budget.recordRequest();
+        assertTrue(budget.trySpend());
+    }
+
+    @Test
+    public void endpointsHaveTheirOwnBudget() {
+        HedgingPolicy.HedgeBudget lookup = policy.budgetFor("lookup.php");
+        HedgingPolicy.HedgeBudget search = policy.budgetFor("search.php");
+        assertSame(lookup, policy.budgetFor("lookup.php"));
+        assertNotSame(lookup, search);
+
+        for (int i = 0; i < 10; i++) {
+            lookup.recordRequest();
+        }
+        // search.php made no requests - lookup.php's requests don't pay for its hedges
+        assertFalse(search.trySpend());
+        assertTrue(lookup.trySpend());
+    }
+}
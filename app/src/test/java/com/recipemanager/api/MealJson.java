@@ -0,0 +1,55 @@
+package com.recipemanager.api;
+
+/**
+ * Builds TheMealDB-shaped JSON responses for tests
+ */
+public final class MealJson {
+
+    private MealJson() {
+    }
+
+    /**
+     * { "meals": [ ... ] } with `count` filter.php-style entries (name, thumbnail, ID)
+     */
+    public static String filterResponse(int count) {
+        StringBuilder json = new StringBuilder("{\"meals\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"strMeal\":\"Meal ").append(i)
+                    .append("\",\"strMealThumb\":\"https://www.themealdb.com/images/media/meals/").append(i)
+                    .append(".jpg\",\"idMeal\":\"").append(52000 + i).append("\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * { "meals": [ ... ] } with `count` lookup.php-style entries (every field, 20 ingredient slots)
+     */
+    public static String fullResponse(int count) {
+        StringBuilder json = new StringBuilder("{\"meals\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"idMeal\":\"").append(52000 + i)
+                    .append("\",\"strMeal\":\"Meal ").append(i)
+                    .append("\",\"strDrinkAlternate\":null,\"strCategory\":\"Seafood\",\"strArea\":\"Italian\"")
+                    .append(",\"strInstructions\":\"Heat the oil in a large pan. Add the garlic and cook for 1 minute.\\r\\n")
+                    .append("Add the prawns and cook until pink, then season and serve with pasta.\"")
+                    .append(",\"strMealThumb\":\"https://www.themealdb.com/images/media/meals/").append(i).append(".jpg\"")
+                    .append(",\"strTags\":\"Pasta,Seafood\",\"strYoutube\":\"https://www.youtube.com/watch?v=").append(i).append('"');
+            for (int slot = 1; slot <= 20; slot++) {
+                boolean used = slot <= 9;
+                json.append(",\"strIngredient").append(slot).append("\":\"").append(used ? "Ingredient " + slot : "").append('"');
+            }
+            for (int slot = 1; slot <= 20; slot++) {
+                boolean used = slot <= 9;
+                json.append(",\"strMeasure").append(slot).append("\":\"").append(used ? slot + " tbs" : " ").append('"');
+            }
+            json.append(",\"strSource\":null,\"strImageSource\":null,\"strCreativeCommonsConfirmed\":null,\"dateModified\":null}");
+        }
+        return json.append("]}").toString();
+    }
+}
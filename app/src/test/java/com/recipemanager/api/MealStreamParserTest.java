@@ -0,0 +1,114 @@
+package com.recipemanager.api;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.recipemanager.model.Recipe;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * MealStreamParser: growing chunks (6, 12, 24, 48, 48...), snapshots that
+ * stay valid, "no meals" answers and malformed JSON (checked and unchecked)
+ */
+public class MealStreamParserTest {
+
+    private MealStreamParser parser;
+
+    @Before
+    public void setUp() {
+        Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new RecipeTypeAdapterFactory())
+                .create();
+        parser = new MealStreamParser(gson);
+    }
+
+    @Test
+    public void chunksGrowUpToFortyEight() throws IOException {
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<Recipe> meals = parser.parse(body(MealJson.filterResponse(200)),
+                recipesSoFar -> chunkSizes.add(recipesSoFar.size()));
+
+        // Published after 6, 6+12, 18+24, 42+48, 90+48, 138+48
+        assertEquals(Arrays.asList(6, 18, 42, 90, 138, 186), chunkSizes);
+        assertEquals(200, meals.size());
+        assertEquals("52000", meals.get(0).getId());
+        assertEquals("Meal 199", meals.get(199).getName());
+    }
+
+    @Test
+    public void smallListHasNoChunkButIsReturned() throws IOException {
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<Recipe> meals = parser.parse(body(MealJson.filterResponse(4)),
+                recipesSoFar -> chunkSizes.add(recipesSoFar.size()));
+
+        assertTrue(chunkSizes.isEmpty());
+        assertEquals(4, meals.size());
+    }
+
+    @Test
+    public void chunksAreSnapshots() throws IOException {
+        List<List<Recipe>> chunks = new ArrayList<>();
+        parser.parse(body(MealJson.filterResponse(30)), chunks::add);
+
+        // Later parsing did not grow the lists already handed out
+        assertEquals(6, chunks.get(0).size());
+        assertEquals(18, chunks.get(1).size());
+        assertEquals("52005", chunks.get(0).get(5).getId());
+    }
+
+    @Test
+    public void noMealsIsNull() throws IOException {
+        assertNull(parser.parse(body("{\"meals\":null}"), recipesSoFar -> { }));
+        assertNull(parser.parse(body("{\"meals\":[]}"), recipesSoFar -> { }));
+        assertNull(parser.parse(body("{\"other\":1}"), recipesSoFar -> { }));
+    }
+
+    @Test
+    public void unknownFieldsAroundTheListAreSkipped() throws IOException {
+        List<Recipe> meals = parser.parse(
+                body("{\"version\":{\"a\":[1,2]},\"meals\":[{\"idMeal\":\"1\",\"strTags\":\"x\"}],\"z\":null}"),
+                recipesSoFar -> { });
+        assertEquals(1, meals.size());
+        assertEquals("1", meals.get(0).getId());
+    }
+
+    @Test
+    public void truncatedJsonFailsAfterEarlierChunks() {
+        String json = MealJson.filterResponse(20);
+        String truncated = json.substring(0, json.length() / 2) + "}}}";
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        try {
+            parser.parse(body(truncated), recipesSoFar -> chunkSizes.add(recipesSoFar.size()));
+            fail("expected MalformedJsonException");
+        } catch (IOException expected) {
+            // MalformedJsonException
+        }
+        // The first chunk was already published before the bad part
+        assertEquals(Arrays.asList(6), chunkSizes);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void unexpectedShapeThrowsUncheckedException() throws IOException {
+        // A number where a meal object should be - not an IOException
+        parser.parse(body("{\"meals\":[{\"idMeal\":\"1\"},42]}"), recipesSoFar -> { });
+    }
+
+    private static ResponseBody body(String json) {
+        return ResponseBody.create(json, MediaType.get("application/json"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.recipemanager.api;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.recipemanager.model.MealResponse;
+import com.recipemanager.model.Recipe;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * RecipeTypeAdapterFactory: every field and ingredient slot, "" stored as null,
+ * unknown or odd keys skipped
+ * Parse time and allocations against reflective Gson: GsonParseBenchmark
+ */
+public class RecipeTypeAdapterFactoryTest {
+
+    private Gson gson;
+
+    @Before
+    public void setUp() {
+        gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new RecipeTypeAdapterFactory())
+                .create();
+    }
+
+    @Test
+    public void lookupResponseFillsEveryField() {
+        MealResponse response = gson.fromJson(MealJson.fullResponse(2), MealResponse.class);
+
+        assertEquals(2, response.getMeals().size());
+        Recipe recipe = response.getMeals().get(1);
+        assertEquals("52001", recipe.getId());
+        assertEquals("Meal 1", recipe.getName());
+        assertEquals("Seafood", recipe.getCategory());
+        assertEquals("Italian", recipe.getArea());
+        assertEquals("https://www.themealdb.com/images/media/meals/1.jpg", recipe.getImageUrl());
+        assertEquals("https://www.youtube.com/watch?v=1", recipe.getVideoUrl());
+        assertNotNull(recipe.getInstructions());
+
+        assertEquals("Ingredient 1", recipe.getIngredient(0));
+        assertEquals("9 tbs", recipe.getMeasure(8));
+        // Unused slots are "" in the JSON
+        assertNull(recipe.getIngredient(9));
+        assertNull(recipe.getIngredient(19));
+        assertEquals(9, recipe.getFormattedIngredients().split("\n").length);
+        assertEquals("• 1 tbs - Ingredient 1", recipe.getFormattedIngredients().split("\n")[0]);
+    }
+
+    @Test
+    public void filterResponseLeavesIngredientsEmpty() {
+        MealResponse response = gson.fromJson(MealJson.filterResponse(3), MealResponse.class);
+
+        Recipe recipe = response.getMeals().get(0);
+        assertEquals("52000", recipe.getId());
+        assertEquals("Meal 0", recipe.getName());
+        assertNull(recipe.getCategory());
+        assertNull(recipe.getIngredient(0));
+        assertEquals("", recipe.getFormattedIngredients());
+    }
+
+    @Test
+    public void noMealsIsNull() {
+        assertNull(gson.fromJson("{\"meals\":null}", MealResponse.class).getMeals());
+        assertNull(gson.fromJson("{\"other\":[1,2]}", MealResponse.class).getMeals());
+    }
+
+    @Test
+    public void oddKeysAndValuesAreSkipped() {
+        Recipe recipe = gson.fromJson("{"
+                + "\"idMeal\":52772,"                    // Number instead of string
+                + "\"strMeal\":{\"nested\":true},"       // Object instead of string
+                + "\"strIngredient0\":\"zero\","
+                + "\"strIngredient21\":\"too far\","
+                + "\"strIngredientX\":\"not a number\","
+                + "\"strIngredient2\":\"Salt\","
+                + "\"strMeasure2\":null,"
+                + "\"strTags\":[\"a\",\"b\"]"
+                + "}", Recipe.class);
+
+        assertEquals("52772", recipe.getId());
+        assertNull(recipe.getName());
+        assertNull(recipe.getIngredient(0));
+        assertEquals("Salt", recipe.getIngredient(1));
+        assertNull(recipe.getMeasure(1));
+        assertEquals("• Salt", recipe.getFormattedIngredients());
+    }
+
+    @Test
+    public void writtenRecipeReadsBackTheSame() {
+        Recipe recipe = gson.fromJson(MealJson.fullResponse(1), MealResponse.class).getMeals().get(0);
+
+        Recipe copy = gson.fromJson(gson.toJson(recipe), Recipe.class);
+        assertEquals(recipe.getId(), copy.getId());
+        assertEquals(recipe.getInstructions(), copy.getInstructions());
+        assertEquals(recipe.getFormattedIngredients(), copy.getFormattedIngredients());
+    }
+}
@@ -0,0 +1,371 @@
+package com.recipemanager.api;
+
+import com.google.gson.GsonBuilder;
+import com.recipemanager.model.MealResponse;
+import com.recipemanager.model.Recipe;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * RequestCoalescer: identical requests share one call, every caller gets
+ * the result, and the call is only cancelled when the last caller leaves
+ * Same for streamed responses, where a late caller first gets what was parsed so far
+ */
+public class RequestCoalescerTest {
+
+    private RequestCoalescer coalescer;
+
+    // Calls created by the factories, in order
+    private final List<FakeCall<MealResponse>> calls = new ArrayList<>();
+    private final List<FakeCall<ResponseBody>> streamCalls = new ArrayList<>();
+
+    // Streams wait here until the test runs them
+    private final Deque<Runnable> streamTasks = new ArrayDeque<>();
+
+    private MealStreamParser parser;
+
+    @Before
+    public void setUp() {
+        coalescer = new RequestCoalescer(streamTasks::add);
+        parser = new MealStreamParser(new GsonBuilder()
+                .registerTypeAdapterFactory(new RecipeTypeAdapterFactory())
+                .create());
+    }
+
+    @Test
+    public void identicalRequestsShareOneCall() {
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+
+        coalescer.enqueue("search:chicken", this::newCall, first);
+        coalescer.enqueue("search:chicken", this::newCall, second);
+
+        assertEquals(1, calls.size());
+        assertEquals(1, coalescer.getNetworkCallCount());
+        assertEquals(1, coalescer.getCoalescedCount());
+
+        calls.get(0).complete();
+        assertEquals(1, first.responses.size());
+        assertEquals(1, second.responses.size());
+        assertSame(first.responses.get(0), second.responses.get(0));
+    }
+
+    @Test
+    public void differentKeysMakeDifferentCalls() {
+        coalescer.enqueue("search:chicken", this::newCall, new RecordingCallback());
+        coalescer.enqueue("search:beef", this::newCall, new RecordingCallback());
+
+        assertEquals(2, calls.size());
+        assertEquals(0, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    public void failureReachesEveryCaller() {
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+        coalescer.enqueue("lookup:1", this::newCall, first);
+        coalescer.enqueue("lookup:1", this::newCall, second);
+
+        calls.get(0).fail(new IOException("offline"));
+
+        assertEquals(1, first.failures.size());
+        assertEquals(1, second.failures.size());
+    }
+
+    @Test
+    public void callIsCancelledOnlyWhenTheLastCallerLeaves() {
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+        RequestCoalescer.Subscription firstSubscription = coalescer.enqueue("search:pie", this::newCall, first);
+        RequestCoalescer.Subscription secondSubscription = coalescer.enqueue("search:pie", this::newCall, second);
+
+        firstSubscription.cancel();
+        assertFalse(calls.get(0).isCanceled());
+
+        secondSubscription.cancel();
+        assertTrue(calls.get(0).isCanceled());
+
+        // Nobody is listening anymore
+        calls.get(0).complete();
+        assertTrue(first.responses.isEmpty());
+        assertTrue(second.responses.isEmpty());
+    }
+
+    @Test
+    public void cancelledCallerStopsGettingResults() {
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+        RequestCoalescer.Subscription firstSubscription = coalescer.enqueue("search:pie", this::newCall, first);
+        coalescer.enqueue("search:pie", this::newCall, second);
+        firstSubscription.cancel();
+
+        calls.get(0).complete();
+        assertTrue(first.responses.isEmpty());
+        assertEquals(1, second.responses.size());
+    }
+
+    @Test
+    public void requestAfterTheSharedOneFinishedMakesANewCall() {
+        coalescer.enqueue("search:soup", this::newCall, new RecordingCallback());
+        calls.get(0).complete();
+
+        coalescer.enqueue("search:soup", this::newCall, new RecordingCallback());
+        assertEquals(2, calls.size());
+        assertEquals(2, coalescer.getNetworkCallCount());
+    }
+
+    @Test
+    public void requestAfterEveryoneCancelledMakesANewCall() {
+        coalescer.enqueue("search:soup", this::newCall, new RecordingCallback()).cancel();
+
+        RecordingCallback late = new RecordingCallback();
+        coalescer.enqueue("search:soup", this::newCall, late);
+        assertEquals(2, calls.size());
+
+        calls.get(1).complete();
+        assertEquals(1, late.responses.size());
+    }
+
+    @Test
+    public void identicalStreamsShareOneDownload() {
+        RecordingStream first = new RecordingStream();
+        RecordingStream second = new RecordingStream();
+        coalescer.enqueueStream("filter:seafood", () -> newStream(MealJson.filterResponse(20)), parser, first);
+        coalescer.enqueueStream("filter:seafood", () -> newStream(MealJson.filterResponse(20)), parser, second);
+
+        assertEquals(1, streamCalls.size());
+        assertEquals(1, coalescer.getCoalescedCount());
+        runStreams();
+
+        assertEquals(Arrays.asList(6, 18), first.chunkSizes);
+        assertEquals(Arrays.asList(6, 18), second.chunkSizes);
+        assertEquals(20, first.completed.size());
+        assertEquals(20, second.completed.size());
+    }
+
+    @Test
+    public void lateStreamCallerStartsFromTheRecipesParsedSoFar() {
+        RecordingStream late = new RecordingStream();
+        RecordingStream first = new RecordingStream() {
+            @Override
+            public void onChunk(List<Recipe> recipesSoFar) {
+                super.onChunk(recipesSoFar);
+                if (recipesSoFar.size() == 6) {
+                    // Joins while the download is running
+                    coalescer.enqueueStream("filter:beef", () -> newStream("{}"), parser, late);
+                }
+            }
+        };
+        coalescer.enqueueStream("filter:beef", () -> newStream(MealJson.filterResponse(50)), parser, first);
+        runStreams();
+
+        assertEquals(1, streamCalls.size());
+        assertEquals(Arrays.asList(6, 18, 42), first.chunkSizes);
+        assertEquals(Arrays.asList(6, 18, 42), late.chunkSizes);
+        assertEquals(50, late.completed.size());
+    }
+
+    @Test
+    public void catchUpIsNeverOvertakenByNewerChunks() throws Exception {
+        // Real stream thread, held inside the first chunk's delivery
+        RequestCoalescer threaded = new RequestCoalescer(task -> new Thread(task, "stream").start());
+        CountDownLatch inFirstChunk = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingStream first = new RecordingStream() {
+            @Override
+            public void onChunk(List<Recipe> recipesSoFar) {
+                super.onChunk(recipesSoFar);
+                if (recipesSoFar.size() == 6) {
+                    inFirstChunk.countDown();
+                    awaitQuietly(release);
+                }
+            }
+        };
+        CountDownLatch lateDone = new CountDownLatch(1);
+        List<String> lateEvents = Collections.synchronizedList(new ArrayList<>());
+        RequestCoalescer.StreamCallback late = new RequestCoalescer.StreamCallback() {
+            @Override
+            public void onChunk(List<Recipe> recipesSoFar) {
+                lateEvents.add("chunk " + recipesSoFar.size());
+            }
+
+            @Override
+            public void onComplete(List<Recipe> recipes) {
+                lateEvents.add("complete " + recipes.size());
+                lateDone.countDown();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                lateEvents.add("failure");
+                lateDone.countDown();
+            }
+        };
+
+        threaded.enqueueStream("filter:beef", () -> newStream(MealJson.filterResponse(50)), parser, first);
+        assertTrue(inFirstChunk.await(5, TimeUnit.SECONDS));
+
+        // Joins mid-delivery: its catch-up waits in the stream's queue instead
+        // of racing the stream thread from this one
+        threaded.enqueueStream("filter:beef", () -> newStream("{}"), parser, late);
+        assertTrue(lateEvents.isEmpty());
+
+        release.countDown();
+        assertTrue(lateDone.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("chunk 6", "chunk 18", "chunk 42", "complete 50"), lateEvents);
+        assertEquals(1, streamCalls.size());
+    }
+
+    @Test
+    public void streamFinishedMeansNextCallerDownloadsAgain() {
+        coalescer.enqueueStream("filter:pasta", () -> newStream(MealJson.filterResponse(3)), parser, new RecordingStream());
+        runStreams();
+        coalescer.enqueueStream("filter:pasta", () -> newStream(MealJson.filterResponse(3)), parser, new RecordingStream());
+
+        assertEquals(2, streamCalls.size());
+        assertEquals(2, coalescer.getNetworkCallCount());
+    }
+
+    @Test
+    public void unexpectedJsonIsReportedToEveryStreamCaller() {
+        RecordingStream first = new RecordingStream();
+        RecordingStream second = new RecordingStream();
+        String json = "{\"meals\":[{\"idMeal\":\"1\"},42]}";
+        coalescer.enqueueStream("filter:x", () -> newStream(json), parser, first);
+        coalescer.enqueueStream("filter:x", () -> newStream(json), parser, second);
+        runStreams();
+
+        assertTrue(first.failure instanceof IllegalStateException);
+        assertTrue(second.failure instanceof IllegalStateException);
+        assertNull(first.completed);
+    }
+
+    @Test
+    public void httpErrorIsReportedAsAStreamFailure() {
+        RecordingStream caller = new RecordingStream();
+        coalescer.enqueueStream("filter:x", () -> {
+            FakeCall<ResponseBody> call = new FakeCall<>(Response.error(500,
+                    ResponseBody.create("oops", MediaType.get("text/plain"))));
+            streamCalls.add(call);
+            return call;
+        }, parser, caller);
+        runStreams();
+
+        assertTrue(caller.failure instanceof IOException);
+    }
+
+    @Test
+    public void streamIsCancelledWhenTheLastCallerLeaves() {
+        RecordingStream first = new RecordingStream();
+        RecordingStream second = new RecordingStream();
+        RequestCoalescer.Subscription firstSubscription = coalescer.enqueueStream(
+                "filter:lamb", () -> newStream(MealJson.filterResponse(10)), parser, first);
+        RequestCoalescer.Subscription secondSubscription = coalescer.enqueueStream(
+                "filter:lamb", () -> newStream(MealJson.filterResponse(10)), parser, second);
+
+        firstSubscription.cancel();
+        assertFalse(streamCalls.get(0).isCanceled());
+        secondSubscription.cancel();
+        assertTrue(streamCalls.get(0).isCanceled());
+
+        // The cancelled call fails, but nobody is listening anymore
+        runStreams();
+        assertNull(first.failure);
+        assertNull(second.failure);
+        assertTrue(first.chunkSizes.isEmpty());
+    }
+
+    private Call<ResponseBody> newStream(String json) {
+        FakeCall<ResponseBody> call = new FakeCall<>(Response.success(
+                ResponseBody.create(json, MediaType.get("application/json"))));
+        streamCalls.add(call);
+        return call;
+    }
+
+    private void runStreams() {
+        Runnable task;
+        while ((task = streamTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Call<MealResponse> newCall() {
+        Recipe recipe = new Recipe();
+        recipe.setId("52772");
+        MealResponse body = new MealResponse();
+        body.setMeals(Collections.singletonList(recipe));
+
+        FakeCall<MealResponse> call = new FakeCall<>(Response.success(body));
+        calls.add(call);
+        return call;
+    }
+
+    private static class RecordingCallback implements Callback<MealResponse> {
+
+        final List<MealResponse> responses = new ArrayList<>();
+        final List<Throwable> failures = new ArrayList<>();
+
+        @Override
+        public void onResponse(Call<MealResponse> call, Response<MealResponse> response) {
+            responses.add(response.body());
+        }
+
+        @Override
+        public void onFailure(Call<MealResponse> call, Throwable t) {
+            failures.add(t);
+        }
+    }
+
+    private static class RecordingStream implements RequestCoalescer.StreamCallback {
+
+        final List<Integer> chunkSizes = new ArrayList<>();
+        List<Recipe> completed;
+        Throwable failure;
+
+        @Override
+        public void onChunk(List<Recipe> recipesSoFar) {
+            chunkSizes.add(recipesSoFar.size());
+        }
+
+        @Override
+        public void onComplete(List<Recipe> recipes) {
+            completed = recipes;
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            failure = t;
+        }
+    }
+}
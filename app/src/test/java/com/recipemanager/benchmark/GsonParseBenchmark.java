@@ -0,0 +1,182 @@
+package com.recipemanager.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.recipemanager.api.MealJson;
+import com.recipemanager.api.RecipeTypeAdapterFactory;
+import com.recipemanager.model.MealResponse;
+import com.recipemanager.model.Recipe;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Parse time and allocated bytes of the hand-written Gson adapters
+ * (RecipeTypeAdapterFactory) against plain reflective Gson
+ * The reflection side parses into the old model, which had a field per JSON key;
+ * reflecting into today's Recipe would skip the 40 ingredient keys
+ *
+ * Skipped unless enabled:
+ *   ./gradlew testDebugUnitTest -Pbenchmark --tests '*GsonParseBenchmark'
+ * Results: app/build/benchmark/gson-parse.json - per payload and parser:
+ * median / p90 time in microseconds, median allocated bytes per parse
+ */
+public class GsonParseBenchmark {
+
+    // System properties set in app/build.gradle (testOptions)
+    private static final String ENABLED_PROPERTY = "recipemanager.benchmark";
+    private static final String OUTPUT_DIR_PROPERTY = "recipemanager.benchmark.dir";
+
+    private static final int MEALS = 300;
+    private static final int WARM_UP = 200;
+    private static final int ROUNDS = 100;
+
+    private com.sun.management.ThreadMXBean threads;
+    private Gson adapters;
+    private Gson reflection;
+    private final List<ParseResult> results = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        assumeTrue("Gson benchmark is off (run with -Pbenchmark)", Boolean.getBoolean(ENABLED_PROPERTY));
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue("JVM can't count allocated bytes", threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        adapters = new GsonBuilder()
+                .registerTypeAdapterFactory(new RecipeTypeAdapterFactory())
+                .create();  // Same setup as RetrofitClient
+        reflection = new Gson();
+    }
+
+    @Test
+    public void parseAdaptersAgainstReflection() throws IOException {
+        String lookup = MealJson.fullResponse(MEALS);
+        String filter = MealJson.filterResponse(MEALS);
+
+        MealResponse parsed = adapters.fromJson(lookup, MealResponse.class);
+        ReflectedResponse expected = reflection.fromJson(lookup, ReflectedResponse.class);
+        assertSameMeals(expected, parsed);
+
+        measure("lookup x" + MEALS, "adapters", () -> adapters.fromJson(lookup, MealResponse.class));
+        measure("lookup x" + MEALS, "reflection", () -> reflection.fromJson(lookup, ReflectedResponse.class));
+        measure("filter x" + MEALS, "adapters", () -> adapters.fromJson(filter, MealResponse.class));
+        measure("filter x" + MEALS, "reflection", () -> reflection.fromJson(filter, ReflectedResponse.class));
+
+        writeResults();
+    }
+
+    private interface Parse {
+        Object run();
+    }
+
+    /**
+     * Warm up, then time ROUNDS parses and count the bytes each one allocates
+     * on this thread
+     */
+    private void measure(String payload, String parser, Parse parse) {
+        Object sink = null;
+        for (int i = 0; i < WARM_UP; i++) {
+            sink = parse.run();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long[] nanos = new long[ROUNDS];
+        long[] bytes = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            sink = parse.run();
+            nanos[i] = System.nanoTime() - start;
+            bytes[i] = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        }
+        if (sink == null) {
+            throw new IllegalStateException(parser + " parsed nothing");
+        }
+        results.add(new ParseResult(payload, parser, nanos, bytes));
+    }
+
+    private static void assertSameMeals(ReflectedResponse expected, MealResponse actual) {
+        assertEquals(expected.meals.size(), actual.getMeals().size());
+        for (int i : Arrays.asList(0, MEALS / 2, MEALS - 1)) {
+            ReflectedMeal meal = expected.meals.get(i);
+            Recipe recipe = actual.getMeals().get(i);
+            assertEquals(meal.idMeal, recipe.getId());
+            assertEquals(meal.strMeal, recipe.getName());
+            assertEquals(meal.strIngredient9, recipe.getIngredient(8));
+            assertEquals(meal.strMeasure9, recipe.getMeasure(8));
+        }
+    }
+
+    private void writeResults() throws IOException {
+        File directory = new File(System.getProperty(OUTPUT_DIR_PROPERTY, "build/benchmark"));
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        File file = new File(directory, "gson-parse.json");
+        try (Writer writer = new FileWriter(file)) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(results, writer);
+        }
+
+        System.out.println("gson-parse (" + file + ")");
+        for (ParseResult result : results) {
+            System.out.println(String.format("  %-12s %-10s median %9.1f us   p90 %9.1f us   %,11d bytes",
+                    result.payload, result.parser, result.medianUs, result.p90Us, result.medianBytes));
+        }
+    }
+
+    /**
+     * One line of the results file
+     */
+    private static class ParseResult {
+        final String payload;
+        final String parser;
+        final int rounds;
+        final double medianUs;
+        final double p90Us;
+        final long medianBytes;
+
+        ParseResult(String payload, String parser, long[] nanos, long[] bytes) {
+            long[] sortedNanos = nanos.clone();
+            long[] sortedBytes = bytes.clone();
+            Arrays.sort(sortedNanos);
+            Arrays.sort(sortedBytes);
+            this.payload = payload;
+            this.parser = parser;
+            this.rounds = nanos.length;
+            this.medianUs = sortedNanos[sortedNanos.length / 2] / 1000.0;
+            this.p90Us = sortedNanos[(int) Math.ceil(sortedNanos.length * 0.9) - 1] / 1000.0;
+            this.medianBytes = sortedBytes[sortedBytes.length / 2];
+        }
+    }
+
+    // Shape of the model before the hand-written adapters
+    private static class ReflectedResponse {
+        List<ReflectedMeal> meals;
+    }
+
+    @SuppressWarnings("unused")
+    private static class ReflectedMeal {
+        String idMeal, strMeal, strCategory, strArea, strInstructions, strMealThumb, strYoutube;
+        String strIngredient1, strIngredient2, strIngredient3, strIngredient4, strIngredient5,
+                strIngredient6, strIngredient7, strIngredient8, strIngredient9, strIngredient10,
+                strIngredient11, strIngredient12, strIngredient13, strIngredient14, strIngredient15,
+                strIngredient16, strIngredient17, strIngredient18, strIngredient19, strIngredient20;
+        String strMeasure1, strMeasure2, strMeasure3, strMeasure4, strMeasure5,
+                strMeasure6, strMeasure7, strMeasure8, strMeasure9, strMeasure10,
+                strMeasure11, strMeasure12, strMeasure13, strMeasure14, strMeasure15,
+                strMeasure16, strMeasure17, strMeasure18, strMeasure19, strMeasure20;
+    }
+}
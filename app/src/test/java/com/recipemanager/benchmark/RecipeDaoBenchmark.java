@@ -0,0 +1,475 @@
+package com.recipemanager.benchmark;
+
+import android.app.Application;
+import android.content.Context;
+import android.os.Looper;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.paging.PagingSource;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.google.gson.GsonBuilder;
+import com.recipemanager.database.FavoriteRecipe;
+import com.recipemanager.database.IngredientDao;
+import com.recipemanager.database.IngredientLine;
+import com.recipemanager.database.RecipeDao;
+import com.recipemanager.database.RecipeDatabase;
+import com.recipemanager.utils.FullTextSearch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import kotlin.Result;
+import kotlin.coroutines.Continuation;
+import kotlin.coroutines.CoroutineContext;
+import kotlin.coroutines.EmptyCoroutineContext;
+import kotlin.coroutines.intrinsics.IntrinsicsKt;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Times every RecipeDao method on 1k, 10k and 100k synthetic favorites
+ * Room on real SQLite (Robolectric native mode), file database in WAL mode like the app
+ *
+ * Skipped unless enabled:
+ *   ./gradlew testDebugUnitTest -Pbenchmark --tests '*RecipeDaoBenchmark'
+ * Results: app/build/benchmark/recipe-dao-<rows>.json - per method: iterations,
+ * median / p90 / min / mean in microseconds
+ * LIKE vs full-text search at 10k favorites: recipe-dao-search-10000.json
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)  // Not RecipeManagerApplication: no network prewarm
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class RecipeDaoBenchmark {
+
+    // System properties set in app/build.gradle (testOptions)
+    private static final String ENABLED_PROPERTY = "recipemanager.benchmark";
+    private static final String OUTPUT_DIR_PROPERTY = "recipemanager.benchmark.dir";
+
+    // First load of the favorites list (FavoritesViewModel: PAGE_SIZE * 2)
+    private static final int FIRST_PAGE_SIZE = 40;
+
+    // Full-text hits loaded per search (RecipeRepository.FULL_TEXT_LIMIT)
+    private static final int FULL_TEXT_LIMIT = 200;
+
+    // Favorites written per seeding transaction
+    private static final int SEED_BATCH = 2000;
+
+    private static final String[] CATEGORIES = {"Beef", "Breakfast", "Chicken", "Dessert", "Goat", "Lamb",
+            "Miscellaneous", "Pasta", "Pork", "Seafood", "Side", "Starter", "Vegan", "Vegetarian"};
+    private static final String[] AREAS = {"British", "Chinese", "French", "Greek", "Indian", "Italian",
+            "Japanese", "Mexican", "Moroccan", "Thai", "Turkish", "Vietnamese"};
+    private static final String[] DISHES = {"Chicken Curry", "Garlic Prawns", "Beef Stew", "Apple Pie",
+            "Lamb Tagine", "Pad Thai", "Mushroom Risotto", "Fish Pie", "Pancakes", "Lasagne",
+            "Chickpea Salad", "Pork Ramen", "Lemon Tart", "Vegetable Soup", "Teriyaki Chicken"};
+    private static final String[] SENTENCES = {"Heat the oil in a large pan over a medium heat.",
+            "Add the onion and garlic and cook for 5 minutes until soft.",
+            "Stir in the spices and cook for another minute.",
+            "Pour in the stock, bring to the boil, then simmer for 20 minutes.",
+            "Season with salt and pepper and serve with rice.",
+            "Preheat the oven to 180C and grease a baking dish.",
+            "Whisk the eggs with the milk and a pinch of sugar.",
+            "Scatter over the parsley and a squeeze of lemon before serving."};
+    private static final String[] MEASURES = {"1 tbs", "2 tsp", "200g", "1 cup", "pinch", "2", "400ml", "to taste"};
+    private static final String[] INGREDIENTS = buildIngredientNames();
+
+    private Context context;
+    private RecipeDatabase database;
+    private String databaseName;
+    private RecipeDao dao;
+    private IngredientDao ingredientDao;
+    private final List<Timing> timings = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        assumeTrue("DAO benchmark is off (run with -Pbenchmark)", Boolean.getBoolean(ENABLED_PROPERTY));
+        context = ApplicationProvider.getApplicationContext();
+    }
+
+    @After
+    public void tearDown() {
+        if (database != null) {
+            database.close();
+            context.deleteDatabase(databaseName);
+        }
+    }
+
+    @Test
+    public void thousandFavorites() throws Exception {
+        run(1_000);
+    }
+
+    @Test
+    public void tenThousandFavorites() throws Exception {
+        run(10_000);
+    }
+
+    @Test
+    public void hundredThousandFavorites() throws Exception {
+        run(100_000);
+    }
+
+    /**
+     * LIKE scan vs FTS index on the same 10k favorites, same word
+     * Writes recipe-dao-search-10000.json with both timings and the ratio;
+     * fails if the full-text search is not the faster one
+     */
+    @Test
+    public void fullTextSearchBeatsLikeAtTenThousand() throws Exception {
+        int rows = 10_000;
+        openDatabase(rows);
+        seed(rows);
+
+        String word = "chick";
+        String ftsQuery = FullTextSearch.buildQuery(word);
+        Timing like = time("searchFavorites", rows, 50, i -> observe(dao.searchFavorites(word)));
+        Timing fullText = time("searchFavoritesFullText", rows, 50,
+                i -> observe(dao.searchFavoritesFullText(ftsQuery, FULL_TEXT_LIMIT)));
+
+        SearchComparison comparison = new SearchComparison(rows, word, like, fullText);
+        writeResults("recipe-dao-search-" + rows, comparison);
+        System.out.println(String.format("  LIKE / FTS median: %.1fx", comparison.likeOverFullText));
+
+        assertTrue("FTS (" + fullText.medianUs + " us) not faster than LIKE (" + like.medianUs + " us)",
+                fullText.medianUs < like.medianUs);
+    }
+
+    private void run(int rows) throws Exception {
+        openDatabase(rows);
+
+        long seedStart = System.nanoTime();
+        seed(rows);
+        timings.add(new Timing("seed", rows, new long[]{System.nanoTime() - seedStart}));
+
+        // Fewer rounds where one call loads every favorite
+        int iterations = rows >= 100_000 ? 20 : rows >= 10_000 ? 50 : 200;
+        int fullListIterations = Math.max(3, iterations / 10);
+        Random random = new Random(rows);
+        String ftsQuery = FullTextSearch.buildQuery("garlic chick");
+
+        // Reads
+        time("getRecipeByIdNow", rows, iterations, i -> dao.getRecipeByIdNow(randomId(random, rows)));
+        time("isRecipeFavorited", rows, iterations, i -> dao.isRecipeFavorited(randomId(random, rows)));
+        time("getAllFavoriteIds", rows, fullListIterations, i -> dao.getAllFavoriteIds());
+        time("getRecipeById", rows, iterations, i -> observe(dao.getRecipeById(randomId(random, rows))));
+        time("getAllFavorites", rows, fullListIterations, i -> observe(dao.getAllFavorites()));
+        time("searchFavorites", rows, fullListIterations, i -> observe(dao.searchFavorites("chick")));
+        time("searchFavoritesFullText", rows, iterations,
+                i -> observe(dao.searchFavoritesFullText(ftsQuery, FULL_TEXT_LIMIT)));
+        time("getFavoritesByCategory", rows, fullListIterations, i -> observe(dao.getFavoritesByCategory("Seafood")));
+        time("getTopRatedRecipes", rows, fullListIterations, i -> observe(dao.getTopRatedRecipes(4f)));
+        time("getFavoritesCount", rows, iterations, i -> observe(dao.getFavoritesCount()));
+        time("getFavoritesSummaryRows", rows, iterations, i -> observe(dao.getFavoritesSummaryRows()));
+        time("getAllFavoritesPaged", rows, iterations, i -> firstPage(dao.getAllFavoritesPaged()));
+        time("getFavoritesByCategoryPaged", rows, iterations,
+                i -> firstPage(dao.getFavoritesByCategoryPaged("Seafood")));
+        time("getTopRatedRecipesPaged", rows, iterations, i -> firstPage(dao.getTopRatedRecipesPaged(4f)));
+        time("searchFavoritesPaged", rows, iterations, i -> firstPage(dao.searchFavoritesPaged("chick")));
+        time("getFavoritesWithIngredientPaged", rows, iterations,
+                i -> firstPage(dao.getFavoritesWithIngredientPaged("butter")));
+
+        // Writes - each one is undone (untimed) so the table keeps its size
+        FavoriteRecipe[] current = new FavoriteRecipe[1];
+        time("insertRecipe (new)", rows, iterations,
+                i -> current[0] = favorite(random, "new-" + i, rows + i),
+                i -> dao.insertRecipe(current[0]),
+                i -> dao.deleteRecipeById(current[0].getId()));
+        time("insertRecipe (existing)", rows, iterations,
+                i -> current[0] = favorite(random, randomId(random, rows), i),
+                i -> dao.insertRecipe(current[0]),
+                null);
+        time("updateRecipe", rows, iterations,
+                i -> {
+                    current[0] = dao.getRecipeByIdNow(randomId(random, rows));
+                    current[0].setRating(1 + random.nextInt(5));
+                },
+                i -> dao.updateRecipe(current[0]),
+                null);
+        time("updateNotesAndRating", rows, iterations, null,
+                i -> dao.updateNotesAndRating(randomId(random, rows), "Edited " + i, 4.5f),
+                null);
+        time("deleteRecipe", rows, iterations,
+                i -> current[0] = dao.getRecipeByIdNow(randomId(random, rows)),
+                i -> dao.deleteRecipe(current[0]),
+                i -> dao.insertRecipe(current[0]));
+        time("deleteRecipeById", rows, iterations,
+                i -> current[0] = dao.getRecipeByIdNow(randomId(random, rows)),
+                i -> dao.deleteRecipeById(current[0].getId()),
+                i -> dao.insertRecipe(current[0]));
+        time("deleteAllRecipes", rows, 1, i -> dao.deleteAllRecipes());
+
+        writeResults("recipe-dao-" + rows, timings);
+    }
+
+    private void openDatabase(int rows) {
+        databaseName = "recipe-dao-benchmark-" + rows;
+        context.deleteDatabase(databaseName);
+        database = Room.databaseBuilder(context, RecipeDatabase.class, databaseName)
+                .setJournalMode(RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING)
+                // Everything runs on the test thread: the timings are the queries, not thread hops
+                .setQueryExecutor(Runnable::run)
+                .setTransactionExecutor(Runnable::run)
+                .allowMainThreadQueries()
+                .build();
+        dao = database.recipeDao();
+        ingredientDao = database.ingredientDao();
+    }
+
+    /**
+     * Favorites the way the app saves them: the row, its FTS entry (triggers)
+     * and its normalized ingredients
+     */
+    private void seed(int rows) {
+        Random random = new Random(42);
+        for (int start = 0; start < rows; start += SEED_BATCH) {
+            int end = Math.min(rows, start + SEED_BATCH);
+            int from = start;
+            database.runInTransaction(() -> {
+                for (int i = from; i < end; i++) {
+                    List<IngredientLine> lines = new ArrayList<>();
+                    FavoriteRecipe recipe = favorite(random, id(i), i, lines);
+                    dao.insertRecipe(recipe);
+                    ingredientDao.replaceIngredients(recipe.getId(), lines);
+                }
+            });
+        }
+    }
+
+    private static FavoriteRecipe favorite(Random random, String id, long order) {
+        return favorite(random, id, order, new ArrayList<>());
+    }
+
+    private static FavoriteRecipe favorite(Random random, String id, long order, List<IngredientLine> lines) {
+        // Ingredients: a few common ones show up in most recipes, like in TheMealDB
+        StringBuilder formatted = new StringBuilder();
+        List<String> used = new ArrayList<>();
+        int count = 5 + random.nextInt(8);
+        while (used.size() < count) {
+            double skew = random.nextDouble();
+            String name = INGREDIENTS[(int) (INGREDIENTS.length * skew * skew)];
+            if (used.contains(name)) {
+                continue;
+            }
+            String measure = MEASURES[random.nextInt(MEASURES.length)];
+            lines.add(new IngredientLine(used.size(), name, measure));
+            used.add(name);
+            formatted.append(formatted.length() > 0 ? "\n" : "").append("• ").append(measure).append(" - ").append(name);
+        }
+
+        StringBuilder instructions = new StringBuilder();
+        for (int s = 3 + random.nextInt(6); s > 0; s--) {
+            instructions.append(SENTENCES[random.nextInt(SENTENCES.length)]).append("\r\n");
+        }
+
+        float rating = random.nextInt(10) < 4 ? 0f : 1 + random.nextInt(9) / 2f;
+        String notes = random.nextInt(10) < 3 ? "Less salt next time, " + SENTENCES[random.nextInt(SENTENCES.length)] : null;
+        return new FavoriteRecipe(id, DISHES[random.nextInt(DISHES.length)] + " " + id,
+                "https://www.themealdb.com/images/media/meals/" + id + ".jpg",
+                CATEGORIES[random.nextInt(CATEGORIES.length)], AREAS[random.nextInt(AREAS.length)],
+                instructions.toString(), formatted.toString(), null, notes, rating,
+                1_600_000_000_000L + order * 60_000L + random.nextInt(60_000));
+    }
+
+    private static String id(int index) {
+        return String.valueOf(100_000 + index);
+    }
+
+    private static String randomId(Random random, int rows) {
+        return id(random.nextInt(rows));
+    }
+
+    private static String[] buildIngredientNames() {
+        List<String> names = new ArrayList<>(Arrays.asList("Salt", "Olive Oil", "Garlic", "Onion", "Butter",
+                "Black Pepper", "Water", "Eggs", "Flour", "Sugar", "Milk", "Chicken", "Tomatoes", "Lemon",
+                "Ginger", "Parsley", "Rice", "Beef", "Soy Sauce", "Cumin", "Paprika", "Carrots", "Potatoes",
+                "Chilli", "Coriander", "Lamb", "Prawns", "Mushrooms", "Cheddar Cheese", "Honey"));
+        while (names.size() < 300) {
+            names.add("Spice " + names.size());
+        }
+        return names.toArray(new String[0]);
+    }
+
+    // ==================== Timing ====================
+
+    private interface Step {
+        void run(int iteration) throws Exception;
+    }
+
+    private Timing time(String method, int rows, int iterations, Step timed) throws Exception {
+        return time(method, rows, iterations, null, timed, null);
+    }
+
+    /**
+     * Run `timed` a few times untimed (warm-up), then `iterations` times timed
+     * A single run (iterations = 1) has no warm-up: it is for destructive calls
+     * like deleteAllRecipes, which can only be timed the first time
+     * `before` / `after` run around every call without being timed (null = nothing)
+     */
+    private Timing time(String method, int rows, int iterations, Step before, Step timed, Step after) throws Exception {
+        int warmUp = iterations > 1 ? Math.min(5, iterations) : 0;
+        long[] samples = new long[iterations];
+        for (int i = -warmUp; i < iterations; i++) {
+            if (before != null) {
+                before.run(i + warmUp);
+            }
+            long start = System.nanoTime();
+            timed.run(i + warmUp);
+            long elapsed = System.nanoTime() - start;
+            if (after != null) {
+                after.run(i + warmUp);
+            }
+            if (i >= 0) {
+                samples[i] = elapsed;
+            }
+        }
+        Timing timing = new Timing(method, rows, samples);
+        timings.add(timing);
+        return timing;
+    }
+
+    /**
+     * Value of a Room LiveData query
+     * The query runs when the observer is added (direct query executor);
+     * the result is posted to the main looper
+     */
+    private static <T> T observe(LiveData<T> liveData) {
+        List<T> values = new ArrayList<>(1);
+        Observer<T> observer = values::add;
+        liveData.observeForever(observer);
+        shadowOf(Looper.getMainLooper()).idle();
+        liveData.removeObserver(observer);
+        if (values.isEmpty()) {
+            throw new IllegalStateException("LiveData query produced no value");
+        }
+        return values.get(0);
+    }
+
+    /**
+     * First page of a Room PagingSource (count + first FIRST_PAGE_SIZE cards),
+     * like the favorites list's first load
+     * PagingSource.load() is a Kotlin suspend function: it either returns the
+     * result or COROUTINE_SUSPENDED and hands the result to the continuation
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> List<V> firstPage(PagingSource<Integer, V> source) throws Exception {
+        CountDownLatch resumed = new CountDownLatch(1);
+        Object[] resumedWith = new Object[1];
+        Object result = source.load(new PagingSource.LoadParams.Refresh<>(null, FIRST_PAGE_SIZE, false),
+                new Continuation<Object>() {
+                    @Override
+                    public CoroutineContext getContext() {
+                        return EmptyCoroutineContext.INSTANCE;
+                    }
+
+                    @Override
+                    public void resumeWith(Object value) {
+                        resumedWith[0] = value;
+                        resumed.countDown();
+                    }
+                });
+        if (result == IntrinsicsKt.getCOROUTINE_SUSPENDED()) {
+            if (!resumed.await(60, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("page load did not finish");
+            }
+            result = resumedWith[0];
+        }
+        source.invalidate();  // Done with it, like Paging when it drops a source
+
+        if (result instanceof Result.Failure) {
+            throw new Exception(((Result.Failure) result).exception);
+        }
+        if (!(result instanceof PagingSource.LoadResult.Page)) {
+            throw new IllegalStateException("page not loaded: " + result);
+        }
+        return ((PagingSource.LoadResult.Page<Integer, V>) result).getData();
+    }
+
+    /**
+     * Write `results` to <name>.json in the output directory and print the timings
+     */
+    private void writeResults(String name, Object results) throws IOException {
+        File directory = new File(System.getProperty(OUTPUT_DIR_PROPERTY, "build/benchmark"));
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        File file = new File(directory, name + ".json");
+        try (Writer writer = new FileWriter(file)) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(results, writer);
+        }
+
+        System.out.println(name + " (" + file + ")");
+        for (Timing timing : timings) {
+            System.out.println(String.format("  %-34s median %10.1f us   p90 %10.1f us", timing.method,
+                    timing.medianUs, timing.p90Us));
+        }
+    }
+
+    /**
+     * Search comparison results file: both timings and LIKE median / FTS median
+     */
+    private static class SearchComparison {
+        final int rows;
+        final String word;
+        final Timing like;
+        final Timing fullText;
+        final double likeOverFullText;
+
+        SearchComparison(int rows, String word, Timing like, Timing fullText) {
+            this.rows = rows;
+            this.word = word;
+            this.like = like;
+            this.fullText = fullText;
+            this.likeOverFullText = like.medianUs / fullText.medianUs;
+        }
+    }
+
+    /**
+     * One line of the results file
+     */
+    private static class Timing {
+        final String method;
+        final int rows;
+        final int iterations;
+        final double medianUs;
+        final double p90Us;
+        final double minUs;
+        final double meanUs;
+
+        Timing(String method, int rows, long[] samplesNs) {
+            long[] sorted = samplesNs.clone();
+            Arrays.sort(sorted);
+            long total = 0;
+            for (long sample : sorted) {
+                total += sample;
+            }
+            this.method = method;
+            this.rows = rows;
+            this.iterations = sorted.length;
+            this.medianUs = sorted[sorted.length / 2] / 1000.0;
+            this.p90Us = sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.9) - 1)] / 1000.0;
+            this.minUs = sorted[0] / 1000.0;
+            this.meanUs = total / 1000.0 / sorted.length;
+        }
+    }
+}
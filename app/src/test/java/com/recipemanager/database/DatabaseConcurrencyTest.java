@@ -0,0 +1,268 @@
+package com.recipemanager.database;
+
+import android.app.Application;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.google.gson.GsonBuilder;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The real database setup (WAL, one writer thread, reader pool) under a mixed
+ * read/write load: readers don't wait for the writer, never see half a
+ * transaction, and nothing fails with "database is locked"
+ *
+ * Runs on Robolectric's native SQLite with a file database, like on a device
+ * The mixed load reports throughput and p95/p99 latency of reads and writes
+ * (printed, and written to database-concurrency.json next to the benchmark results)
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)  // Not RecipeManagerApplication: no network prewarm
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class DatabaseConcurrencyTest {
+
+    // Set in app/build.gradle (testOptions), same directory as RecipeDaoBenchmark
+    private static final String OUTPUT_DIR_PROPERTY = "recipemanager.benchmark.dir";
+
+    private RecipeDatabase database;
+    private RecipeDao dao;
+    private ExecutorService writeExecutor;
+    private ExecutorService readExecutor;
+
+    @Before
+    public void setUp() {
+        RecipeDatabase.destroyInstance();
+        database = RecipeDatabase.getInstance(ApplicationProvider.getApplicationContext());
+        dao = database.recipeDao();
+        writeExecutor = DatabaseExecutors.getInstance().getWriteExecutor();
+        readExecutor = DatabaseExecutors.getInstance().getReadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+        RecipeDatabase.destroyInstance();
+    }
+
+    @Test
+    public void readsDoNotWaitForAnOpenWriteTransaction() throws Exception {
+        writeExecutor.submit(() -> dao.insertRecipe(favorite("committed", 1))).get(5, TimeUnit.SECONDS);
+
+        CountDownLatch inTransaction = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> write = writeExecutor.submit(() -> database.runInTransaction(() -> {
+            dao.insertRecipe(favorite("uncommitted", 2));
+            inTransaction.countDown();
+            awaitQuietly(release);
+        }));
+        assertTrue(inTransaction.await(5, TimeUnit.SECONDS));
+
+        // The writer holds its transaction open; readers still get the last committed state
+        Future<Boolean> committed = readExecutor.submit(() -> dao.isRecipeFavorited("committed"));
+        Future<Boolean> uncommitted = readExecutor.submit(() -> dao.isRecipeFavorited("uncommitted"));
+        assertTrue(committed.get(2, TimeUnit.SECONDS));
+        assertFalse(uncommitted.get(2, TimeUnit.SECONDS));
+
+        release.countDown();
+        write.get(5, TimeUnit.SECONDS);
+        assertTrue(readExecutor.submit(() -> dao.isRecipeFavorited("uncommitted")).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void mixedLoadNeverShowsHalfATransaction() throws Exception {
+        int pairs = 300;
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Queue<Long> readLatencies = new ConcurrentLinkedQueue<>();
+        Queue<Long> writeLatencies = new ConcurrentLinkedQueue<>();
+        long loadStart = System.nanoTime();
+
+        // Readers: every pair is either fully there or fully gone
+        int readerCount = DatabaseExecutors.READER_THREADS;
+        CountDownLatch readersDone = new CountDownLatch(readerCount);
+        for (int r = 0; r < readerCount; r++) {
+            readExecutor.execute(() -> {
+                try {
+                    while (writing.get()) {
+                        long start = System.nanoTime();
+                        Set<String> ids = new HashSet<>(dao.getAllFavoriteIds());
+                        readLatencies.add(System.nanoTime() - start);
+                        for (String id : ids) {
+                            if (id.endsWith("-a") && !ids.contains(id.substring(0, id.length() - 2) + "-b")) {
+                                throw new AssertionError("half a pair visible: " + id);
+                            }
+                        }
+                        start = System.nanoTime();
+                        dao.isRecipeFavorited("pair-0-a");
+                        readLatencies.add(System.nanoTime() - start);
+                    }
+                } catch (Throwable t) {
+                    errors.add(t);
+                } finally {
+                    readersDone.countDown();
+                }
+            });
+        }
+
+        // Writer: pairs added in one transaction, every third pair removed again,
+        // notes written in between
+        List<Future<?>> writes = new ArrayList<>();
+        for (int i = 0; i < pairs; i++) {
+            int pair = i;
+            writes.add(writeExecutor.submit(timed(writeLatencies, () -> database.runInTransaction(() -> {
+                dao.insertRecipe(favorite("pair-" + pair + "-a", pair));
+                dao.insertRecipe(favorite("pair-" + pair + "-b", pair));
+            }))));
+            writes.add(writeExecutor.submit(timed(writeLatencies,
+                    () -> dao.updateNotesAndRating("pair-" + pair + "-a", "note " + pair, 4f))));
+            if (pair % 3 == 0) {
+                writes.add(writeExecutor.submit(timed(writeLatencies, () -> database.runInTransaction(() -> {
+                    dao.deleteRecipeById("pair-" + pair + "-b");
+                    dao.deleteRecipeById("pair-" + pair + "-a");
+                }))));
+            }
+        }
+        try {
+            for (Future<?> write : writes) {
+                write.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            writing.set(false);
+        }
+        assertTrue(readersDone.await(10, TimeUnit.SECONDS));
+        long loadNanos = System.nanoTime() - loadStart;
+
+        if (!errors.isEmpty()) {
+            throw new AssertionError("reader failed", errors.peek());
+        }
+        assertTrue("readers did not run alongside the writer", readLatencies.size() > 0);
+        report(new LoadReport(loadNanos, readLatencies, writeLatencies));
+
+        List<String> ids = readExecutor.submit(dao::getAllFavoriteIds).get(5, TimeUnit.SECONDS);
+        assertEquals(2 * (pairs - (pairs + 2) / 3), ids.size());
+        FavoriteRecipe kept = readExecutor.submit(() -> dao.getRecipeByIdNow("pair-1-a")).get(5, TimeUnit.SECONDS);
+        assertEquals("note 1", kept.getUserNotes());
+    }
+
+    /**
+     * `operation`, with its run time (not its time in the queue) added to `latencies`
+     */
+    private static Runnable timed(Queue<Long> latencies, Runnable operation) {
+        return () -> {
+            long start = System.nanoTime();
+            operation.run();
+            latencies.add(System.nanoTime() - start);
+        };
+    }
+
+    private static void report(LoadReport report) throws IOException {
+        File directory = new File(System.getProperty(OUTPUT_DIR_PROPERTY, "build/benchmark"));
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        File file = new File(directory, "database-concurrency.json");
+        try (Writer writer = new FileWriter(file)) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(report, writer);
+        }
+
+        System.out.println("Mixed read/write load, " + report.seconds + " s (" + file + ")");
+        for (Latency latency : new Latency[]{report.reads, report.writes}) {
+            System.out.println(String.format("  %-6s %6d ops  %8.0f ops/s  p95 %9.1f us  p99 %9.1f us  max %9.1f us",
+                    latency.name, latency.count, latency.opsPerSecond, latency.p95Us, latency.p99Us, latency.maxUs));
+        }
+    }
+
+    private static FavoriteRecipe favorite(String id, long dateAdded) {
+        return new FavoriteRecipe(id, "Recipe " + id, null, "Beef", "British",
+                "Instructions", "• 1 - Salt", null, null, 0f, dateAdded);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Results file of the mixed load
+     */
+    private static class LoadReport {
+        final double seconds;
+        final Latency reads;
+        final Latency writes;
+
+        LoadReport(long nanos, Collection<Long> readNanos, Collection<Long> writeNanos) {
+            this.seconds = nanos / 1e9;
+            this.reads = new Latency("reads", readNanos, seconds);
+            this.writes = new Latency("writes", writeNanos, seconds);
+        }
+    }
+
+    /**
+     * Throughput and latency percentiles of one kind of operation
+     */
+    private static class Latency {
+        final String name;
+        final int count;
+        final double opsPerSecond;
+        final double medianUs;
+        final double p95Us;
+        final double p99Us;
+        final double maxUs;
+
+        Latency(String name, Collection<Long> samplesNs, double seconds) {
+            long[] sorted = new long[samplesNs.size()];
+            int i = 0;
+            for (long sample : samplesNs) {
+                sorted[i++] = sample;
+            }
+            Arrays.sort(sorted);
+            this.name = name;
+            this.count = sorted.length;
+            this.opsPerSecond = sorted.length / seconds;
+            this.medianUs = percentile(sorted, 0.5);
+            this.p95Us = percentile(sorted, 0.95);
+            this.p99Us = percentile(sorted, 0.99);
+            this.maxUs = sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000.0;
+        }
+
+        private static double percentile(long[] sorted, double fraction) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(sorted.length * fraction) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1000.0;
+        }
+    }
+}
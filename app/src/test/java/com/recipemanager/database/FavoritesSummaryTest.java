@@ -0,0 +1,100 @@
+package com.recipemanager.database;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * FavoritesSummary: figures built from the per-category rows, and equality
+ * by value so unchanged results can be skipped
+ */
+public class FavoritesSummaryTest {
+
+    @Test
+    public void noRowsIsEmpty() {
+        assertSame(FavoritesSummary.EMPTY, FavoritesSummary.of(null));
+        assertSame(FavoritesSummary.EMPTY, FavoritesSummary.of(Collections.emptyList()));
+
+        assertEquals(0, FavoritesSummary.EMPTY.getCount());
+        assertEquals(0f, FavoritesSummary.EMPTY.getAverageRating(), 0f);
+        assertEquals(0, FavoritesSummary.EMPTY.getLastAdded());
+        assertEquals(0, FavoritesSummary.EMPTY.getCountByCategory().size());
+    }
+
+    @Test
+    public void figuresAddUpOverCategories() {
+        FavoritesSummary summary = FavoritesSummary.of(Arrays.asList(
+                row("Seafood", 5, 16.0, 4, 3000),
+                row("Dessert", 3, 5.0, 1, 9000),
+                row(null, 1, 0, 0, 1000)));
+
+        assertEquals(9, summary.getCount());
+        // Only rated favorites count towards the average: (16 + 5) / 5
+        assertEquals(4.2f, summary.getAverageRating(), 1e-6f);
+        assertEquals(9000, summary.getLastAdded());
+    }
+
+    @Test
+    public void countByCategoryKeepsQueryOrder() {
+        FavoritesSummary summary = FavoritesSummary.of(Arrays.asList(
+                row("Seafood", 5, 0, 0, 1),
+                row("Dessert", 3, 0, 0, 1),
+                row(null, 1, 0, 0, 1)));
+
+        assertEquals(Arrays.asList("Seafood", "Dessert", null),
+                new ArrayList<>(summary.getCountByCategory().keySet()));
+        assertEquals(Integer.valueOf(3), summary.getCountByCategory().get("Dessert"));
+        assertEquals(Integer.valueOf(1), summary.getCountByCategory().get(null));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void countByCategoryIsReadOnly() {
+        FavoritesSummary.of(Collections.singletonList(row("Beef", 1, 0, 0, 1)))
+                .getCountByCategory().put("Lamb", 2);
+    }
+
+    @Test
+    public void noRatedFavoritesAveragesZero() {
+        FavoritesSummary summary = FavoritesSummary.of(Collections.singletonList(row("Beef", 4, 0, 0, 1)));
+        assertEquals(4, summary.getCount());
+        assertEquals(0f, summary.getAverageRating(), 0f);
+    }
+
+    @Test
+    public void equalRowsMakeEqualSummaries() {
+        FavoritesSummary first = FavoritesSummary.of(Arrays.asList(row("Beef", 2, 7.5, 2, 50), row("Pasta", 1, 0, 0, 40)));
+        FavoritesSummary second = FavoritesSummary.of(Arrays.asList(row("Beef", 2, 7.5, 2, 50), row("Pasta", 1, 0, 0, 40)));
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    public void anyChangedFigureMakesADifferentSummary() {
+        FavoritesSummary base = FavoritesSummary.of(Collections.singletonList(row("Beef", 2, 7.5, 2, 50)));
+
+        assertNotEquals(base, FavoritesSummary.of(Collections.singletonList(row("Lamb", 2, 7.5, 2, 50))));
+        assertNotEquals(base, FavoritesSummary.of(Collections.singletonList(row("Beef", 3, 7.5, 2, 50))));
+        assertNotEquals(base, FavoritesSummary.of(Collections.singletonList(row("Beef", 2, 8.0, 2, 50))));
+        assertNotEquals(base, FavoritesSummary.of(Collections.singletonList(row("Beef", 2, 7.5, 1, 50))));
+        assertNotEquals(base, FavoritesSummary.of(Collections.singletonList(row("Beef", 2, 7.5, 2, 60))));
+        assertNotEquals(base, FavoritesSummary.EMPTY);
+    }
+
+    private static CategoryStats row(String category, int count, double ratingSum, int ratedCount, long lastAdded) {
+        CategoryStats row = new CategoryStats();
+        row.category = category;
+        row.count = count;
+        row.ratingSum = ratingSum;
+        row.ratedCount = ratedCount;
+        row.lastAdded = lastAdded;
+        return row;
+    }
+}
@@ -0,0 +1,152 @@
+package com.recipemanager.repository;
+
+import com.recipemanager.model.Recipe;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * RecipeResultCache: LRU eviction by count and size, soft/hard TTL,
+ * negative answers and key normalization
+ */
+public class RecipeResultCacheTest {
+
+    private static final long MINUTE_MS = 60 * 1000;
+
+    private RecipeResultCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new RecipeResultCache();
+    }
+
+    @Test
+    public void keyIgnoresCaseAndSurroundingSpaces() {
+        assertEquals(RecipeResultCache.key("search", "chicken"), RecipeResultCache.key("search", " Chicken "));
+        assertEquals("filter:", RecipeResultCache.key("filter", null));
+        assertFalse(RecipeResultCache.key("search", "beef").equals(RecipeResultCache.key("filter", "beef")));
+    }
+
+    @Test
+    public void freshEntryIsAHit() {
+        List<Recipe> recipes = recipes("chicken", 3);
+        cache.put("search:chicken", recipes);
+
+        RecipeResultCache.Entry entry = cache.get("search:chicken");
+        assertNotNull(entry);
+        assertSame(recipes, entry.getRecipes());
+        assertFalse(entry.isStale());
+        assertFalse(entry.isNegative());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void missingKeyIsAMiss() {
+        assertNull(cache.get("search:nothing"));
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0f, cache.getHitRate(), 0f);
+    }
+
+    @Test
+    public void entryPastSoftTtlIsStaleButStillServed() {
+        cache.put("search:beef", recipes("beef", 2), System.currentTimeMillis() - 2 * MINUTE_MS);
+
+        RecipeResultCache.Entry entry = cache.get("search:beef");
+        assertNotNull(entry);
+        assertTrue(entry.isStale());
+        assertEquals(2, entry.getRecipes().size());
+    }
+
+    @Test
+    public void entryPastHardTtlIsDropped() {
+        cache.put("search:beef", recipes("beef", 2), System.currentTimeMillis() - 31 * MINUTE_MS);
+
+        assertNull(cache.get("search:beef"));
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(0, cache.getSizeBytes());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void noMealsAnswerIsCachedAsNegative() {
+        cache.put("search:xyz", null);
+
+        RecipeResultCache.Entry entry = cache.get("search:xyz");
+        assertNotNull(entry);
+        assertTrue(entry.isNegative());
+        assertNull(entry.getRecipes());
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvictedPastFiftyEntries() {
+        for (int i = 0; i < 50; i++) {
+            cache.put("search:q" + i, recipes("q" + i, 1));
+        }
+        // Touch the oldest one - it becomes the most recently used
+        assertNotNull(cache.get("search:q0"));
+
+        cache.put("search:q50", recipes("q50", 1));
+
+        assertEquals(50, cache.getEntryCount());
+        assertEquals(1, cache.getEvictionCount());
+        assertNotNull(cache.get("search:q0"));
+        assertNull(cache.get("search:q1"));  // Least recently used
+        assertNotNull(cache.get("search:q50"));
+    }
+
+    @Test
+    public void largeListsAreEvictedToStayUnderTheSizeLimit() {
+        // ~800 KB each: the third one pushes the cache over 2 MB
+        cache.put("filter:a", recipes("a", 20, 20_000));
+        cache.put("filter:b", recipes("b", 20, 20_000));
+        cache.put("filter:c", recipes("c", 20, 20_000));
+
+        assertTrue(cache.getSizeBytes() <= 2L * 1024 * 1024);
+        assertEquals(2, cache.getEntryCount());
+        assertNull(cache.get("filter:a"));
+        assertNotNull(cache.get("filter:c"));
+    }
+
+    @Test
+    public void replacingAnEntryKeepsTheSizeAccurate() {
+        cache.put("search:soup", recipes("soup", 10));
+        long sizeOfTen = cache.getSizeBytes();
+
+        cache.put("search:soup", recipes("soup", 1));
+        assertTrue(cache.getSizeBytes() < sizeOfTen);
+        assertEquals(1, cache.getEntryCount());
+
+        cache.clear();
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(0, cache.getSizeBytes());
+    }
+
+    private static List<Recipe> recipes(String prefix, int count) {
+        return recipes(prefix, count, 200);
+    }
+
+    private static List<Recipe> recipes(String prefix, int count, int instructionsLength) {
+        String instructions = String.join("", Collections.nCopies(instructionsLength, "x"));
+        List<Recipe> recipes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Recipe recipe = new Recipe();
+            recipe.setId(prefix + "-" + i);
+            recipe.setName(prefix + " recipe " + i);
+            recipe.setInstructions(instructions);
+            recipes.add(recipe);
+        }
+        return recipes;
+    }
+}
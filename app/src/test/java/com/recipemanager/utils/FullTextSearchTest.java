@@ -0,0 +1,135 @@
+package com.recipemanager.utils;
+
+import com.recipemanager.database.FavoriteCard;
+import com.recipemanager.database.FavoriteMatch;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * FullTextSearch: query building and ranking from matchinfo(..., 'pcx') blobs
+ */
+public class FullTextSearchTest {
+
+    // FavoriteRecipeFts columns: name, ingredients, instructions, category, area, user_notes
+    private static final int COLUMNS = 6;
+    private static final int NAME = 0;
+    private static final int INSTRUCTIONS = 2;
+
+    @Test
+    public void everyWordBecomesAPrefix() {
+        assertEquals("chick* gar*", FullTextSearch.buildQuery("chick gar"));
+        assertEquals("crème* brûlée*", FullTextSearch.buildQuery("  Crème   BRÛLÉE "));
+        assertEquals("pad* thai*", FullTextSearch.buildQuery("pad-thai"));
+    }
+
+    @Test
+    public void ftsOperatorsAreDropped() {
+        // Lowercased OR/NEAR are plain words to FTS4 (operators must be uppercase)
+        assertEquals("beef* or* lamb*", FullTextSearch.buildQuery("\"beef\" OR -lamb*"));
+        assertEquals("name* soup*", FullTextSearch.buildQuery("name:soup"));
+        assertEquals("a* near* 2* b*", FullTextSearch.buildQuery("(a) NEAR/2 b"));
+    }
+
+    @Test
+    public void nothingSearchableIsNull() {
+        assertNull(FullTextSearch.buildQuery(null));
+        assertNull(FullTextSearch.buildQuery(""));
+        assertNull(FullTextSearch.buildQuery("   "));
+        assertNull(FullTextSearch.buildQuery("* - \" ()"));
+    }
+
+    @Test
+    public void nameHitOutranksInstructionsHit() {
+        double inName = FullTextSearch.score(matchInfo(hit(NAME, 1, 5)));
+        double inInstructions = FullTextSearch.score(matchInfo(hit(INSTRUCTIONS, 1, 5)));
+        assertTrue(inName > inInstructions);
+    }
+
+    @Test
+    public void rareWordScoresHigherThanCommonWord() {
+        double rare = FullTextSearch.score(matchInfo(hit(NAME, 1, 2)));
+        double common = FullTextSearch.score(matchInfo(hit(NAME, 1, 200)));
+        assertTrue(rare > common);
+    }
+
+    @Test
+    public void hitsForEveryPhraseAddUp() {
+        double one = FullTextSearch.score(matchInfo(hit(NAME, 1, 10)));
+        double two = FullTextSearch.score(matchInfo(hit(NAME, 1, 10), hit(NAME, 1, 10)));
+        assertEquals(2 * one, two, 1e-9);
+    }
+
+    @Test
+    public void missingOrShortBlobScoresZero() {
+        assertEquals(0, FullTextSearch.score(null), 0);
+        assertEquals(0, FullTextSearch.score(new byte[4]), 0);
+        // Header says one phrase but the per-column data is cut off
+        assertEquals(0, FullTextSearch.score(ints(1, COLUMNS)), 0);
+    }
+
+    @Test
+    public void rankSortsBestFirstAndKeepsTiesInQueryOrder() {
+        List<FavoriteMatch> matches = new ArrayList<>();
+        matches.add(match("instructions-1", hit(INSTRUCTIONS, 1, 5)));
+        matches.add(match("name", hit(NAME, 1, 5)));
+        matches.add(match("instructions-2", hit(INSTRUCTIONS, 1, 5)));
+        matches.add(match("no-info", null));
+
+        List<String> ids = new ArrayList<>();
+        for (FavoriteCard card : FullTextSearch.rank(matches)) {
+            ids.add(card.id);
+        }
+        assertEquals(Arrays.asList("name", "instructions-1", "instructions-2", "no-info"), ids);
+    }
+
+    /**
+     * One phrase's hits: `hitsInRow` in `column` out of `hitsInAllRows`, zero elsewhere
+     */
+    private static int[] hit(int column, int hitsInRow, int hitsInAllRows) {
+        int[] phrase = new int[COLUMNS * 3];
+        phrase[column * 3] = hitsInRow;
+        phrase[column * 3 + 1] = hitsInAllRows;
+        phrase[column * 3 + 2] = 1;
+        return phrase;
+    }
+
+    /**
+     * matchinfo 'pcx' blob: phrase count, column count, then 3 ints per phrase/column
+     */
+    private static byte[] matchInfo(int[]... phrases) {
+        int[] values = new int[2 + phrases.length * COLUMNS * 3];
+        values[0] = phrases.length;
+        values[1] = COLUMNS;
+        for (int p = 0; p < phrases.length; p++) {
+            System.arraycopy(phrases[p], 0, values, 2 + p * COLUMNS * 3, COLUMNS * 3);
+        }
+        return ints(values);
+    }
+
+    // SQLite writes matchinfo() in the machine's byte order
+    private static byte[] ints(int... values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * 4).order(ByteOrder.nativeOrder());
+        for (int value : values) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+
+    private static FavoriteMatch match(String id, int[] phrase) {
+        FavoriteMatch match = new FavoriteMatch();
+        match.card = new FavoriteCard();
+        match.card.id = id;
+        match.matchInfo = phrase != null ? matchInfo(phrase) : null;
+        return match;
+    }
+}
@@ -0,0 +1,325 @@
+package com.recipemanager.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * KeyedSerialExecutor: per-key order under contention, parallel keys,
+ * multi-key tasks and lanes that must not get stuck
+ */
+public class KeyedSerialExecutorTest {
+
+    private ExecutorService writer;
+    private ExecutorService readers;
+    private KeyedSerialExecutor lanes;
+
+    @Before
+    public void setUp() {
+        writer = Executors.newSingleThreadExecutor();
+        readers = Executors.newFixedThreadPool(4);
+        lanes = new KeyedSerialExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        writer.shutdownNow();
+        readers.shutdownNow();
+    }
+
+    @Test
+    public void thousandsOfTogglesKeepPerKeyOrder() throws Exception {
+        int keys = 40;
+        int togglesPerKey = 500;
+        ConcurrentHashMap<Integer, List<Integer>> seen = new ConcurrentHashMap<>();
+        ConcurrentHashMap<Integer, AtomicInteger> running = new ConcurrentHashMap<>();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(keys * togglesPerKey);
+
+        for (int key = 0; key < keys; key++) {
+            seen.put(key, Collections.synchronizedList(new ArrayList<>()));
+            running.put(key, new AtomicInteger());
+        }
+
+        // One submitting thread per key, all submitting at once; lanes alternate
+        // between the writer thread (save/delete) and the reader pool (check)
+        ExecutorService submitters = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int k = 0; k < keys; k++) {
+            int key = k;
+            submitters.execute(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < togglesPerKey; i++) {
+                    int toggle = i;
+                    lanes.execute("recipe-" + key, toggle % 3 == 2 ? readers : writer, () -> {
+                        if (running.get(key).incrementAndGet() > 1) {
+                            overlapped.set(true);
+                        }
+                        seen.get(key).add(toggle);
+                        running.get(key).decrementAndGet();
+                        done.countDown();
+                    });
+                }
+            });
+        }
+        start.countDown();
+
+        assertTrue("toggles did not finish", done.await(30, TimeUnit.SECONDS));
+        submitters.shutdown();
+        assertFalse("two tasks of one key ran at the same time", overlapped.get());
+        for (int key = 0; key < keys; key++) {
+            List<Integer> order = seen.get(key);
+            assertEquals(togglesPerKey, order.size());
+            for (int i = 0; i < togglesPerKey; i++) {
+                assertEquals("key " + key, i, (int) order.get(i));
+            }
+        }
+        awaitIdle();
+    }
+
+    @Test
+    public void differentKeysRunInParallel() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch secondRan = new CountDownLatch(1);
+        CountDownLatch firstDone = new CountDownLatch(1);
+
+        lanes.execute("a", readers, () -> {
+            firstStarted.countDown();
+            // Only finishes if "b" is not queued behind it
+            if (awaitQuietly(secondRan)) {
+                firstDone.countDown();
+            }
+        });
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+        lanes.execute("b", readers, secondRan::countDown);
+
+        assertTrue(firstDone.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void multiKeyTaskWaitsForEveryLaneAndBlocksThem() throws Exception {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(4);
+
+        lanes.execute("a", readers, () -> {
+            awaitQuietly(release);
+            order.add("a1");
+            done.countDown();
+        });
+        lanes.execute("b", readers, () -> {
+            order.add("b1");
+            done.countDown();
+        });
+        lanes.execute(Arrays.asList("a", "b"), writer, () -> {
+            order.add("ab");
+            done.countDown();
+        });
+        lanes.execute("b", readers, () -> {
+            order.add("b2");
+            done.countDown();
+        });
+
+        // "ab" waits for a1 (still blocked), and b2 waits for "ab"
+        Thread.sleep(100);
+        assertEquals(Collections.singletonList("b1"), new ArrayList<>(order));
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("b1", "a1", "ab", "b2"), new ArrayList<>(order));
+        awaitIdle();
+    }
+
+    @Test
+    public void randomMultiKeyTasksKeepOrderWithoutDeadlock() throws Exception {
+        int keys = 10;
+        int tasks = 5000;
+        Random random = new Random(42);
+        List<List<Integer>> expected = new ArrayList<>();
+        List<List<Integer>> seen = new ArrayList<>();
+        for (int key = 0; key < keys; key++) {
+            expected.add(new ArrayList<>());
+            seen.add(Collections.synchronizedList(new ArrayList<>()));
+        }
+        CountDownLatch done = new CountDownLatch(tasks);
+
+        for (int i = 0; i < tasks; i++) {
+            // 1 to 3 keys per task, like a batched notes flush
+            List<Integer> taskKeys = new ArrayList<>();
+            int count = 1 + random.nextInt(3);
+            while (taskKeys.size() < count) {
+                int key = random.nextInt(keys);
+                if (!taskKeys.contains(key)) {
+                    taskKeys.add(key);
+                }
+            }
+            int task = i;
+            for (int key : taskKeys) {
+                expected.get(key).add(task);
+            }
+            lanes.execute(taskKeys, random.nextBoolean() ? writer : readers, () -> {
+                for (int key : taskKeys) {
+                    seen.get(key).add(task);
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue("multi-key tasks deadlocked", done.await(30, TimeUnit.SECONDS));
+        for (int key = 0; key < keys; key++) {
+            assertEquals("key " + key, expected.get(key), new ArrayList<>(seen.get(key)));
+        }
+        awaitIdle();
+    }
+
+    @Test
+    public void executeAfterAllRunsBetweenEarlierAndLaterTasks() throws Exception {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(5);
+
+        lanes.execute("a", readers, () -> {
+            awaitQuietly(release);
+            order.add("save a");
+            done.countDown();
+        });
+        lanes.execute("b", writer, () -> {
+            order.add("save b");
+            done.countDown();
+        });
+        lanes.executeAfterAll(writer, () -> {
+            order.add("delete all");
+            done.countDown();
+        });
+        // New keys too: submitted after "delete all", so they wait for it
+        lanes.execute("c", readers, () -> {
+            order.add("save c");
+            done.countDown();
+        });
+        lanes.execute("a", readers, () -> {
+            order.add("check a");
+            done.countDown();
+        });
+
+        Thread.sleep(100);
+        assertEquals(Collections.singletonList("save b"), new ArrayList<>(order));
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("save b", "save a", "delete all"), new ArrayList<>(order).subList(0, 3));
+        assertTrue(order.containsAll(Arrays.asList("save c", "check a")));
+        awaitIdle();
+    }
+
+    @Test
+    public void executeAfterAllOnIdleLanesRunsRightAway() throws Exception {
+        CountDownLatch ran = new CountDownLatch(2);
+        lanes.executeAfterAll(writer, ran::countDown);
+        lanes.execute("a", readers, ran::countDown);
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        awaitIdle();
+    }
+
+    @Test
+    public void keysQueuedBehindExecuteAfterAllStillRunInParallel() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean deletedAll = new AtomicBoolean();
+        AtomicBoolean ranBeforeDelete = new AtomicBoolean();
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        CountDownLatch done = new CountDownLatch(2);
+
+        lanes.execute("a", readers, () -> awaitQuietly(release));
+        lanes.executeAfterAll(writer, () -> deletedAll.set(true));
+
+        // "b" and "c" only wait for "delete all" - each one waits for the
+        // other to start, so running them one after the other times out
+        for (String key : Arrays.asList("b", "c")) {
+            lanes.execute(key, readers, () -> {
+                if (!deletedAll.get()) {
+                    ranBeforeDelete.set(true);
+                }
+                bothRunning.countDown();
+                if (awaitQuietly(bothRunning)) {
+                    done.countDown();
+                }
+            });
+        }
+
+        Thread.sleep(100);
+        assertFalse(deletedAll.get());
+        assertEquals(2, bothRunning.getCount());
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertFalse(ranBeforeDelete.get());
+        awaitIdle();
+    }
+
+    @Test
+    public void refusedTaskDoesNotBlockItsLane() throws Exception {
+        ExecutorService closed = Executors.newSingleThreadExecutor();
+        closed.shutdown();
+
+        try {
+            lanes.execute("a", closed, () -> fail("should not run"));
+            fail("expected RejectedExecutionException");
+        } catch (RejectedExecutionException expected) {
+            // Lane released
+        }
+
+        CountDownLatch ran = new CountDownLatch(1);
+        lanes.execute("a", writer, ran::countDown);
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        awaitIdle();
+    }
+
+    @Test
+    public void failingTaskReleasesItsLane() throws Exception {
+        CountDownLatch ran = new CountDownLatch(1);
+        lanes.execute("a", writer, () -> {
+            throw new IllegalStateException("boom");
+        });
+        lanes.execute("a", writer, ran::countDown);
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        awaitIdle();
+    }
+
+    /**
+     * Lanes are forgotten once their last task finished
+     */
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (lanes.getActiveLanes() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, lanes.getActiveLanes());
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+#!/bin/sh
+# Export the Room schemas of the old database versions (1-5) with the Room
+# annotation processor, into app/schemas/com.recipemanager.database.RecipeDatabase
+#
+# Each version is compiled from the commit that introduced it. Those commits
+# were built with exportSchema = false (before version 5) and no schema
+# location, so both are switched on in a temporary worktree first.
+# The current version (6.json) is written by every normal build.
+#
+# Needs the Android SDK (local.properties or ANDROID_HOME) and Google Maven.
+# Usage: scripts/export-room-schemas.sh [version...]   (default: 1 2 3 4 5)
+set -e
+
+ROOT=$(git rev-parse --show-toplevel)
+OUT="$ROOT/app/schemas/com.recipemanager.database.RecipeDatabase"
+WORK=$(mktemp -d)
+TREE="$WORK/tree"
+
+cleanup() {
+    git -C "$ROOT" worktree remove --force "$TREE" 2>/dev/null || true
+    rm -rf "$WORK"
+}
+trap cleanup EXIT
+
+commit_of() {
+    case "$1" in
+        1) echo 398e18e ;;  # baseline: FavoriteRecipe only
+        2) echo 7663e2e ;;  # catalog_recipes
+        3) echo 0f527b3 ;;  # taxonomy
+        4) echo 64ebaf1 ;;  # favorite_recipes_fts
+        5) echo b184411 ;;  # favorites list indexes
+        *) echo "No commit known for version $1" >&2; exit 1 ;;
+    esac
+}
+
+export_version() {
+    version=$1
+    commit=$(commit_of "$version")
+    echo "Version $version: compiling $commit"
+
+    git -C "$ROOT" worktree add --detach "$TREE" "$commit" >/dev/null
+    sed -i.bak 's/exportSchema = false/exportSchema = true/' \
+        "$TREE/app/src/main/java/com/recipemanager/database/RecipeDatabase.java"
+    cat >> "$TREE/app/build.gradle" <<EOF
+
+android.defaultConfig.javaCompileOptions.annotationProcessorOptions.arguments.put(
+        "room.schemaLocation", "$WORK/schemas")
+EOF
+    if [ -f "$ROOT/local.properties" ]; then
+        cp "$ROOT/local.properties" "$TREE/"
+    fi
+
+    (cd "$TREE" && sh ./gradlew -q :app:compileDebugJavaWithJavac)
+
+    schema="$WORK/schemas/com.recipemanager.database.RecipeDatabase/$version.json"
+    if [ ! -f "$schema" ]; then
+        echo "Room did not export $version.json" >&2
+        exit 1
+    fi
+    cp "$schema" "$OUT/$version.json"
+    git -C "$ROOT" worktree remove --force "$TREE"
+}
+
+versions=${*:-1 2 3 4 5}
+for version in $versions; do
+    export_version "$version"
+done
+echo "Exported to $OUT - run MigrationTest, then commit the files"